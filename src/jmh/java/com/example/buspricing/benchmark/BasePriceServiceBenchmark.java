@@ -0,0 +1,71 @@
+package com.example.buspricing.benchmark;
+
+import com.example.buspricing.BusTicketPricingApplication;
+import com.example.buspricing.controller.response.ApiError;
+import com.example.buspricing.domain.BusTerminal;
+import com.example.buspricing.exception.ApiErrors;
+import com.example.buspricing.exception.ValidationErrorException;
+import com.example.buspricing.repository.BusTerminalRepository;
+import com.example.buspricing.service.BasePriceService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code BasePriceService.getBasePrice} against the in-memory H2 database of a real
+ * application context, next to the bare repository lookup it saves, and the lookup of a
+ * route that does not exist up to the error body the client receives.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class BasePriceServiceBenchmark {
+
+    private static final String UNKNOWN_ROUTE = "Atlantis";
+
+    private ConfigurableApplicationContext context;
+    private BasePriceService basePriceService;
+    private BusTerminalRepository repository;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(BusTicketPricingApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--logging.level.root=warn",
+                        "--logging.level.org.hibernate.SQL=warn",
+                        "--logging.level.org.hibernate.type.descriptor.sql=warn",
+                        "--logging.level.org.springframework.jdbc.core=warn");
+        basePriceService = context.getBean(BasePriceService.class);
+        repository = context.getBean(BusTerminalRepository.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public BigDecimal getBasePrice() {
+        return basePriceService.getBasePrice(BenchmarkFixtures.ROUTE);
+    }
+
+    @Benchmark
+    public ApiError unknownRoute() {
+        try {
+            basePriceService.getBasePrice(UNKNOWN_ROUTE);
+            throw new IllegalStateException(UNKNOWN_ROUTE + " exists");
+        } catch (ValidationErrorException ex) {
+            return ApiErrors.validationError("/api/pricing/draft", ex);
+        }
+    }
+
+    @Benchmark
+    public Optional<BusTerminal> repositoryFindById() {
+        return repository.findById(BenchmarkFixtures.ROUTE);
+    }
+}
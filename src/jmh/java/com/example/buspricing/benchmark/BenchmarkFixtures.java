@@ -0,0 +1,67 @@
+package com.example.buspricing.benchmark;
+
+import com.example.buspricing.controller.request.DraftPriceRequest;
+import com.example.buspricing.controller.request.Passenger;
+import com.example.buspricing.config.PricingRuleProperties;
+import com.example.buspricing.config.TaxRateProperties;
+import com.example.buspricing.model.EffectiveTaxRate;
+import com.example.buspricing.model.PricingRules;
+import com.example.buspricing.service.InMemoryPricingRuleService;
+import com.example.buspricing.service.InMemoryTaxRateService;
+import com.example.buspricing.service.PricingRuleService;
+import com.example.buspricing.service.TaxRateService;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Deterministic inputs shared by the benchmarks.
+ */
+final class BenchmarkFixtures {
+
+    static final String ROUTE = "Vilnius, Lithuania";
+    static final BigDecimal BASE_PRICE = new BigDecimal("10.00");
+    static final List<EffectiveTaxRate> TAX_RATES =
+            List.of(new EffectiveTaxRate("VAT", new BigDecimal("21"), null, null));
+
+    private BenchmarkFixtures() {
+    }
+
+    static TaxRateService taxRateService() {
+        return new InMemoryTaxRateService(new TaxRateProperties(TAX_RATES), Clock.systemDefaultZone(), event -> {
+        });
+    }
+
+    /**
+     * The rules application.yml ships with.
+     */
+    static PricingRuleService pricingRuleService() {
+        return new InMemoryPricingRuleService(new PricingRuleProperties(
+                Map.of(Passenger.Type.CHILD, new BigDecimal("50")),
+                List.of(new PricingRules.LuggageTier(1, new BigDecimal("30"))),
+                null,
+                List.of()), event -> {
+        });
+    }
+
+    /**
+     * A group booking of {@code passengerCount} passengers: two adults to every child,
+     * luggage counts cycling through 0..3.
+     */
+    static DraftPriceRequest request(int passengerCount) {
+        List<Passenger> passengers = new ArrayList<>(passengerCount);
+        for (int i = 0; i < passengerCount; i++) {
+            passengers.add(Passenger.builder()
+                    .type(i % 3 == 2 ? Passenger.Type.CHILD : Passenger.Type.ADULT)
+                    .luggageCount(i % 4)
+                    .build());
+        }
+        return DraftPriceRequest.builder()
+                .route(ROUTE)
+                .passengers(passengers)
+                .build();
+    }
+}
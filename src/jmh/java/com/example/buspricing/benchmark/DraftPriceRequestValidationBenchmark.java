@@ -0,0 +1,68 @@
+package com.example.buspricing.benchmark;
+
+import com.example.buspricing.controller.request.DraftPriceRequest;
+import com.example.buspricing.controller.request.Passenger;
+import com.example.buspricing.controller.response.ApiError;
+import com.example.buspricing.validation.DraftPriceRequestValidator;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validation of a valid draft request, and of one where every passenger has an invalid luggage count:
+ * the hand-written {@link DraftPriceRequestValidator} against Hibernate Validator mapped to the same field errors.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class DraftPriceRequestValidationBenchmark {
+
+    @Param({"1", "10", "100", "1000"})
+    private int passengers;
+
+    @Param({"true", "false"})
+    private boolean valid;
+
+    private DraftPriceRequest request;
+    private DraftPriceRequestValidator validator;
+    private Validator beanValidator;
+
+    @Setup
+    public void setUp() {
+        request = BenchmarkFixtures.request(passengers);
+        if (!valid) {
+            List<Passenger> invalid = new ArrayList<>();
+            for (Passenger passenger : request.getPassengers()) {
+                invalid.add(Passenger.builder().type(passenger.getType()).luggageCount(-1).build());
+            }
+            request.setPassengers(invalid);
+        }
+        validator = new DraftPriceRequestValidator();
+        beanValidator = Validation.buildDefaultValidatorFactory().getValidator();
+    }
+
+    @Benchmark
+    public List<ApiError.FieldErrorItem> handWritten() {
+        return validator.validate(request);
+    }
+
+    @Benchmark
+    public List<ApiError.FieldErrorItem> beanValidation() {
+        return beanValidator.validate(request).stream()
+                .map(DraftPriceRequestValidationBenchmark::toFieldItem)
+                .toList();
+    }
+
+    private static ApiError.FieldErrorItem toFieldItem(ConstraintViolation<DraftPriceRequest> violation) {
+        return ApiError.FieldErrorItem.builder()
+                .field(violation.getPropertyPath().toString())
+                .message(violation.getMessage())
+                .rejectedValue(violation.getInvalidValue())
+                .build();
+    }
+}
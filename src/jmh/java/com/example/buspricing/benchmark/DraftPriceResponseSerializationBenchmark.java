@@ -0,0 +1,102 @@
+package com.example.buspricing.benchmark;
+
+import com.example.buspricing.controller.request.DraftPriceRequest;
+import com.example.buspricing.controller.response.DraftPriceResponse;
+import com.example.buspricing.json.PricingJsonModule;
+import com.example.buspricing.metrics.PricingMetrics;
+import com.example.buspricing.service.PricingServiceImpl;
+import com.example.buspricing.service.QuoteCache;
+import com.example.buspricing.util.PriceDescriptionFormatter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson encoding and decoding of draft price requests and responses in each wire format
+ * the API negotiates, with the object mapper configured the way Spring MVC configures it.
+ * {@code serializers} compares Jackson's bean serializers with the {@link PricingJsonModule} ones the
+ * application installs. Encoded sizes are printed once per trial ("payload bytes").
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class DraftPriceResponseSerializationBenchmark {
+
+    @Param({"1", "10", "100", "1000"})
+    private int passengers;
+
+    @Param({"json", "smile", "cbor"})
+    private String format;
+
+    @Param({"bean", "module"})
+    private String serializers;
+
+    private ObjectWriter writer;
+    private ObjectReader responseReader;
+    private ObjectReader requestReader;
+    private DraftPriceResponse response;
+    private byte[] encodedResponse;
+    private byte[] encodedRequest;
+
+    @Setup
+    public void setUp() throws IOException {
+        Jackson2ObjectMapperBuilder builder = switch (format) {
+            case "json" -> Jackson2ObjectMapperBuilder.json();
+            case "smile" -> Jackson2ObjectMapperBuilder.smile();
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor();
+            default -> throw new IllegalArgumentException("Unknown format " + format);
+        };
+        if (serializers.equals("module")) {
+            builder.modulesToInstall(new PricingJsonModule());
+        }
+        ObjectMapper mapper = builder.build();
+        writer = mapper.writerFor(DraftPriceResponse.class);
+        responseReader = mapper.readerFor(DraftPriceResponse.class);
+        requestReader = mapper.readerFor(DraftPriceRequest.class);
+
+        DraftPriceRequest request = BenchmarkFixtures.request(passengers);
+        response = new PricingServiceImpl(route -> BenchmarkFixtures.BASE_PRICE,
+                (origin, destination) -> BenchmarkFixtures.BASE_PRICE,
+                BenchmarkFixtures.taxRateService(),
+                BenchmarkFixtures.pricingRuleService(),
+                new PriceDescriptionFormatter(),
+                new PricingMetrics(new SimpleMeterRegistry()),
+                QuoteCache.disabled(),
+                Runnable::run)
+                .calculateDraftPrice(request);
+        encodedResponse = writer.writeValueAsBytes(response);
+        encodedRequest = mapper.writeValueAsBytes(request);
+        System.out.printf("%npayload bytes (%s, %d passengers): request %d, response %d%n",
+                format, passengers, encodedRequest.length, encodedResponse.length);
+    }
+
+    @Benchmark
+    public byte[] writeValueAsBytes() throws IOException {
+        return writer.writeValueAsBytes(response);
+    }
+
+    /**
+     * What the message converters do: encode straight into the response stream, with no byte array in between.
+     */
+    @Benchmark
+    public void writeToStream() throws IOException {
+        writer.writeValue(OutputStream.nullOutputStream(), response);
+    }
+
+    @Benchmark
+    public DraftPriceResponse readResponse() throws IOException {
+        return responseReader.readValue(encodedResponse);
+    }
+
+    @Benchmark
+    public DraftPriceRequest readRequest() throws IOException {
+        return requestReader.readValue(encodedRequest);
+    }
+}
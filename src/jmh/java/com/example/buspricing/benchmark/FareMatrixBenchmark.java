@@ -0,0 +1,53 @@
+package com.example.buspricing.benchmark;
+
+import com.example.buspricing.service.FareMatrix;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Origin-destination fare lookups in a full matrix of 5,000 terminals, cycling through
+ * pairs spread across the array so most reads miss the CPU cache.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class FareMatrixBenchmark {
+
+    private static final int TERMINALS = 5_000;
+    private static final int PAIRS = 1 << 12;
+
+    private FareMatrix matrix;
+    private String[] origins;
+    private String[] destinations;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        List<String> names = new ArrayList<>(TERMINALS);
+        for (int i = 0; i < TERMINALS; i++) {
+            names.add("Terminal " + i);
+        }
+        matrix = new FareMatrix();
+        matrix.internAll(names);
+        for (int o = 0; o < TERMINALS; o++) {
+            for (int d = 0; d < TERMINALS; d++) {
+                matrix.put(names.get(o), names.get(d), 100 + (o + d) % 5000);
+            }
+        }
+        origins = new String[PAIRS];
+        destinations = new String[PAIRS];
+        for (int i = 0; i < PAIRS; i++) {
+            origins[i] = names.get(i * 7919 % TERMINALS);
+            destinations[i] = names.get(i * 104_729 % TERMINALS);
+        }
+    }
+
+    @Benchmark
+    public int fareCents() {
+        int i = next++ & (PAIRS - 1);
+        return matrix.fareCents(origins[i], destinations[i]);
+    }
+}
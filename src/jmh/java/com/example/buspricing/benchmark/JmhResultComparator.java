@@ -0,0 +1,104 @@
+package com.example.buspricing.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Prints the change of every benchmark score and normalized allocation rate between two
+ * JMH JSON result files. Used by the {@code jmhCompare} Gradle task.
+ * <p>
+ * Usage: {@code JmhResultComparator <baseline.json> <current.json> [regressionThresholdPercent]}
+ */
+public final class JmhResultComparator {
+
+    private static final String ALLOC_RATE_NORM = "gc.alloc.rate.norm";
+
+    private JmhResultComparator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: JmhResultComparator <baseline.json> <current.json> [regressionThresholdPercent]");
+            System.exit(2);
+        }
+        File baselineFile = new File(args[0]);
+        File currentFile = new File(args[1]);
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+        if (!baselineFile.isFile()) {
+            System.err.println("No baseline at " + baselineFile + "; run the jmh and jmhSaveBaseline tasks first.");
+            System.exit(2);
+        }
+
+        ObjectMapper mapper = new ObjectMapper();
+        Map<String, JsonNode> baseline = index(mapper.readTree(baselineFile));
+        Map<String, JsonNode> current = index(mapper.readTree(currentFile));
+
+        System.out.printf("%-90s %14s %14s %9s %14s %14s%n",
+                "Benchmark", "Baseline", "Current", "Change", "Baseline B/op", "Current B/op");
+        int regressions = 0;
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode now = entry.getValue();
+            JsonNode before = baseline.get(entry.getKey());
+            double nowScore = now.path("primaryMetric").path("score").asDouble();
+            String unit = now.path("primaryMetric").path("scoreUnit").asText();
+            if (before == null) {
+                System.out.printf("%-90s %14s %14.3f %9s %14s %14s  (new, %s)%n",
+                        entry.getKey(), "-", nowScore, "-", "-", allocation(now), unit);
+                continue;
+            }
+            double beforeScore = before.path("primaryMetric").path("score").asDouble();
+            double change = beforeScore == 0 ? 0 : (nowScore - beforeScore) / beforeScore * 100;
+            boolean regression = higherIsWorse(now) ? change > threshold : change < -threshold;
+            if (regression) {
+                regressions++;
+            }
+            System.out.printf("%-90s %14.3f %14.3f %+8.1f%% %14s %14s  %s%s%n",
+                    entry.getKey(), beforeScore, nowScore, change, allocation(before), allocation(now), unit,
+                    regression ? "  REGRESSION" : "");
+        }
+        System.out.printf("%n%d benchmark(s) regressed by more than %.1f%%%n", regressions, threshold);
+    }
+
+    private static Map<String, JsonNode> index(JsonNode results) {
+        Map<String, JsonNode> byKey = new TreeMap<>();
+        for (JsonNode result : results) {
+            byKey.put(key(result), result);
+        }
+        return byKey;
+    }
+
+    private static String key(JsonNode result) {
+        Map<String, String> params = new LinkedHashMap<>();
+        Iterator<Map.Entry<String, JsonNode>> fields = result.path("params").fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            params.put(field.getKey(), field.getValue().asText());
+        }
+        String benchmark = result.path("benchmark").asText().replace("com.example.buspricing.benchmark.", "");
+        return params.isEmpty() ? benchmark : benchmark + params;
+    }
+
+    private static boolean higherIsWorse(JsonNode result) {
+        // Average time and sample time modes report time per operation; throughput reports operations per time
+        return !"thrpt".equals(result.path("mode").asText());
+    }
+
+    private static String allocation(JsonNode result) {
+        Iterator<Map.Entry<String, JsonNode>> metrics = result.path("secondaryMetrics").fields();
+        while (metrics.hasNext()) {
+            Map.Entry<String, JsonNode> metric = metrics.next();
+            // Older JMH versions prefix profiler metrics with a middle dot
+            if (metric.getKey().endsWith(ALLOC_RATE_NORM)) {
+                return String.format("%.1f", metric.getValue().path("score").asDouble());
+            }
+        }
+        return "-";
+    }
+}
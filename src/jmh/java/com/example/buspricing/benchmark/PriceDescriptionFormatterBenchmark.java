@@ -0,0 +1,56 @@
+package com.example.buspricing.benchmark;
+
+import com.example.buspricing.controller.request.Passenger;
+import com.example.buspricing.model.FareRules;
+import com.example.buspricing.util.PriceDescriptionFormatter;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class PriceDescriptionFormatterBenchmark {
+
+    private final PriceDescriptionFormatter formatter = new PriceDescriptionFormatter();
+    private final Passenger adult = Passenger.builder().type(Passenger.Type.ADULT).luggageCount(1).build();
+    private final Passenger child = Passenger.builder().type(Passenger.Type.CHILD).luggageCount(0).build();
+    private final FareRules rules = BenchmarkFixtures.pricingRuleService().getFareRules(BenchmarkFixtures.ROUTE);
+    private final BigDecimal base = new BigDecimal("10.00");
+    private final BigDecimal adultWithTax = new BigDecimal("12.10");
+    private final BigDecimal childWithTax = new BigDecimal("6.05");
+    private final BigDecimal luggageWithTax = new BigDecimal("7.26");
+    private final String taxPercent = "21";
+    private final BigDecimal total = new BigDecimal("25.41");
+
+    @Benchmark
+    public String passengerDescription() {
+        return formatter.passengerDescription(3, adult);
+    }
+
+    @Benchmark
+    public String adultPriceDescription() {
+        return formatter.passengerPriceDescription(adult.getType(), rules, base, adultWithTax, taxPercent);
+    }
+
+    @Benchmark
+    public String childPriceDescription() {
+        return formatter.passengerPriceDescription(child.getType(), rules, base, childWithTax, taxPercent);
+    }
+
+    @Benchmark
+    public String luggageDescription() {
+        return formatter.luggageDescription(3, 2);
+    }
+
+    @Benchmark
+    public String luggagePriceDescription() {
+        return formatter.luggagePriceDescription(2, rules, base, luggageWithTax, taxPercent);
+    }
+
+    @Benchmark
+    public String totalDescription() {
+        return formatter.totalDescription(total);
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.buspricing.benchmark;
+
+import com.example.buspricing.config.PriceCardProperties;
+import com.example.buspricing.controller.request.DraftPriceRequest;
+import com.example.buspricing.controller.request.DraftPriceView;
+import com.example.buspricing.controller.response.DraftPriceResponse;
+import com.example.buspricing.metrics.PricingMetrics;
+import com.example.buspricing.service.BasePriceService;
+import com.example.buspricing.service.FixedPointPricingServiceImpl;
+import com.example.buspricing.service.PriceCardPricingServiceImpl;
+import com.example.buspricing.service.PriceCardStore;
+import com.example.buspricing.service.PricingRuleService;
+import com.example.buspricing.service.PricingService;
+import com.example.buspricing.service.PricingServiceImpl;
+import com.example.buspricing.service.QuoteCache;
+import com.example.buspricing.service.RouteFareService;
+import com.example.buspricing.service.TaxRateService;
+import com.example.buspricing.util.PriceDescriptionFormatter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code calculateDraftPrice} with in-memory base price and tax lookups, so only the
+ * pricing arithmetic and description rendering are measured. {@code decimal-cached} repeats
+ * the same request against an enabled quote cache, i.e. measures a cache hit.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class PricingServiceBenchmark {
+
+    @Param({"1", "10", "100", "1000"})
+    private int passengers;
+
+    @Param({"decimal", "fixed-point", "price-card", "decimal-cached"})
+    private String engine;
+
+    private PricingService pricingService;
+    private DraftPriceRequest request;
+
+    @Setup
+    public void setUp() {
+        BasePriceService basePriceService = route -> BenchmarkFixtures.BASE_PRICE;
+        RouteFareService routeFareService = (origin, destination) -> BenchmarkFixtures.BASE_PRICE;
+        TaxRateService taxRateService = BenchmarkFixtures.taxRateService();
+        PricingRuleService pricingRuleService = BenchmarkFixtures.pricingRuleService();
+        PriceDescriptionFormatter formatter = new PriceDescriptionFormatter();
+        PricingMetrics metrics = new PricingMetrics(new SimpleMeterRegistry());
+
+        pricingService = switch (engine) {
+            case "decimal" -> new PricingServiceImpl(basePriceService, routeFareService, taxRateService, pricingRuleService, formatter, metrics, QuoteCache.disabled(), Runnable::run);
+            case "fixed-point" -> new FixedPointPricingServiceImpl(basePriceService, routeFareService, taxRateService, pricingRuleService, formatter, metrics, QuoteCache.disabled(), Runnable::run);
+            // Cards are built on first use; the store's repository is only read by buildAll()
+            case "price-card" -> new PriceCardPricingServiceImpl(basePriceService, routeFareService, taxRateService, pricingRuleService, formatter, metrics,
+                    QuoteCache.disabled(), new PriceCardStore(null, taxRateService, pricingRuleService, formatter, new PriceCardProperties(3), Runnable::run),
+                    Runnable::run);
+            case "decimal-cached" -> new PricingServiceImpl(basePriceService, routeFareService, taxRateService, pricingRuleService, formatter, metrics,
+                    QuoteCache.bounded(DataSize.ofMegabytes(32).toBytes(), Duration.ofMinutes(10)), Runnable::run);
+            default -> throw new IllegalArgumentException("Unknown engine " + engine);
+        };
+        request = BenchmarkFixtures.request(passengers);
+    }
+
+    @Benchmark
+    public DraftPriceResponse calculateDraftPrice() {
+        return pricingService.calculateDraftPrice(request);
+    }
+
+    @Benchmark
+    public DraftPriceResponse calculateDraftPriceCompact() {
+        return pricingService.calculateDraftPrice(request, DraftPriceView.COMPACT);
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.buspricing.benchmark;
+
+import com.example.buspricing.repository.BusTerminalRepository;
+import com.example.buspricing.service.TerminalSearchService;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Terminal name autocomplete against an index of 40,000 names, for a short prefix
+ * (thousands of matches) and a long one (a handful).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class TerminalSearchBenchmark {
+
+    private static final int TERMINALS = 40_000;
+
+    @Param({"v", "vilnius 12"})
+    private String prefix;
+
+    private TerminalSearchService searchService;
+
+    @Setup
+    public void setUp() {
+        List<String> names = new ArrayList<>(TERMINALS);
+        String[] cities = {"Vilnius", "Šiauliai", "Rīga", "Tallinn", "Kaunas"};
+        for (int i = 0; i < TERMINALS; i++) {
+            names.add(cities[i % cities.length] + " " + i + ", Stop");
+        }
+        BusTerminalRepository repository = (BusTerminalRepository) Proxy.newProxyInstance(
+                BusTerminalRepository.class.getClassLoader(),
+                new Class<?>[]{BusTerminalRepository.class},
+                (proxy, method, args) -> method.getName().equals("findAllTerminalNames") ? names : null);
+        searchService = new TerminalSearchService(repository);
+        searchService.loadIndex();
+    }
+
+    @Benchmark
+    public List<String> search() {
+        return searchService.search(prefix, 10);
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.buspricing.load;
+
+import com.example.buspricing.BusTicketPricingApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Closed-model load test of {@code POST /api/pricing/draft}, run once on Tomcat platform threads, once
+ * with the {@code virtual-threads} profile and once on the reactive stack ({@code reactive} profile).
+ * Each run boots the application on a random port with the base price cache disabled, so every quote
+ * does a JDBC lookup, and with a simulated database round trip on every statement. Prints throughput
+ * and latency percentiles for each mode.
+ * <p>
+ * Usage: {@code PricingLoadTest [concurrency] [durationSeconds] [warmupSeconds] [dbLatencyMillis]}
+ */
+public final class PricingLoadTest {
+
+    private static final String BODY = """
+            {"route":"Vilnius, Lithuania","passengers":[{"type":"ADULT","luggageCount":1},{"type":"CHILD","luggageCount":0}]}
+            """;
+
+    private static final String PLATFORM = "platform";
+    // Every mode other than PLATFORM is the name of the profile that enables it
+    private static final List<String> MODES = List.of(PLATFORM, "virtual-threads", "reactive");
+
+    private PricingLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int concurrency = args.length > 0 ? Integer.parseInt(args[0]) : 400;
+        Duration duration = Duration.ofSeconds(args.length > 1 ? Long.parseLong(args[1]) : 20);
+        Duration warmup = Duration.ofSeconds(args.length > 2 ? Long.parseLong(args[2]) : 5);
+        Duration dbLatency = Duration.ofMillis(args.length > 3 ? Long.parseLong(args[3]) : 5);
+
+        List<Result> results = new ArrayList<>();
+        for (String mode : MODES) {
+            try (ConfigurableApplicationContext context = start(mode, dbLatency)) {
+                int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+                URI uri = URI.create("http://localhost:" + port + "/api/pricing/draft");
+                run(uri, concurrency, warmup);
+                results.add(run(uri, concurrency, duration).named(mode));
+            }
+        }
+
+        System.out.printf("%nconcurrency=%d, duration=%ss, simulated db latency=%dms%n",
+                concurrency, duration.toSeconds(), dbLatency.toMillis());
+        System.out.printf("%-16s %10s %8s %12s %9s %9s %9s%n", "mode", "requests", "errors", "req/s", "p50 ms", "p99 ms", "max ms");
+        for (Result result : results) {
+            System.out.printf("%-16s %10d %8d %12.1f %9.2f %9.2f %9.2f%n", result.mode, result.latencies.length,
+                    result.errors, result.latencies.length / (double) result.seconds,
+                    result.percentileMillis(50), result.percentileMillis(99), result.percentileMillis(100));
+        }
+    }
+
+    private static ConfigurableApplicationContext start(String mode, Duration dbLatency) {
+        return new SpringApplicationBuilder(BusTicketPricingApplication.class)
+                .profiles(PLATFORM.equals(mode) ? new String[0] : new String[]{mode})
+                .initializers(context -> context.getBeanFactory()
+                        .addBeanPostProcessor(new SimulatedDatabaseLatency(dbLatency)))
+                .run("--server.port=0",
+                        "--pricing.base-price-cache.maximum-size=0",
+                        // application.yml logs every statement, which would serialize the run on console output
+                        "--logging.level.root=warn",
+                        "--logging.level.org.springframework.jdbc.core=warn",
+                        "--logging.level.org.hibernate.SQL=warn",
+                        "--logging.level.org.hibernate.type.descriptor.sql=warn");
+    }
+
+    private static Result run(URI uri, int concurrency, Duration duration) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(BODY))
+                .build();
+        long deadline = System.nanoTime() + duration.toNanos();
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).executor(clients).build()) {
+            List<Future<Worker>> workers = new ArrayList<>(concurrency);
+            for (int i = 0; i < concurrency; i++) {
+                workers.add(clients.submit(() -> new Worker().drive(http, request, deadline)));
+            }
+            LongList latencies = new LongList();
+            int errors = 0;
+            for (Future<Worker> future : workers) {
+                Worker worker = future.get();
+                latencies.addAll(worker.latencies);
+                errors += worker.errors;
+            }
+            long[] sorted = latencies.toArray();
+            Arrays.sort(sorted);
+            return new Result(null, sorted, errors, duration.toSeconds());
+        }
+    }
+
+    private static final class Worker {
+        final LongList latencies = new LongList();
+        int errors;
+
+        Worker drive(HttpClient http, HttpRequest request, long deadline) {
+            while (System.nanoTime() < deadline) {
+                long start = System.nanoTime();
+                try {
+                    HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                    if (response.statusCode() == 200) {
+                        latencies.add(System.nanoTime() - start);
+                    } else {
+                        errors++;
+                    }
+                } catch (Exception ex) {
+                    errors++;
+                }
+            }
+            return this;
+        }
+    }
+
+    private static final class LongList {
+        private long[] values = new long[1024];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        void addAll(LongList other) {
+            for (int i = 0; i < other.size; i++) {
+                add(other.values[i]);
+            }
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+
+    private record Result(String mode, long[] latencies, int errors, long seconds) {
+
+        Result named(String name) {
+            return new Result(name, latencies, errors, seconds);
+        }
+
+        double percentileMillis(double percentile) {
+            if (latencies.length == 0) {
+                return Double.NaN;
+            }
+            int index = (int) Math.ceil(percentile / 100.0 * latencies.length) - 1;
+            return latencies[Math.max(0, Math.min(index, latencies.length - 1))] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.buspricing.load;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Request types {@link TrafficMixLoadTest} mixes, with the status each one must return. Requests are
+ * generated from the run's seeded random source, so the same seed replays the same sequence.
+ */
+enum Scenario {
+
+    /** Quote for 1-3 passengers on a seeded route. */
+    DRAFT("draft", 200) {
+        @Override
+        HttpRequest request(URI base, SplittableRandom random, long sequence) {
+            return draft(base, ROUTE, passengers(random, 1 + random.nextInt(3), false));
+        }
+    },
+    /** Quote for a group of {@value #GROUP_SIZE} passengers. */
+    GROUP_DRAFT("group-draft", 200) {
+        @Override
+        HttpRequest request(URI base, SplittableRandom random, long sequence) {
+            return draft(base, ROUTE, passengers(random, GROUP_SIZE, false));
+        }
+    },
+    /** Quote for a route that is not in BUS_TERMINALS. */
+    UNKNOWN_ROUTE("unknown-route", 404) {
+        @Override
+        HttpRequest request(URI base, SplittableRandom random, long sequence) {
+            return draft(base, "Unknown route " + random.nextInt(1000), passengers(random, 1, false));
+        }
+    },
+    /** Quote with a negative luggage count, rejected by validation. */
+    INVALID("invalid", 400) {
+        @Override
+        HttpRequest request(URI base, SplittableRandom random, long sequence) {
+            return draft(base, ROUTE, passengers(random, 1, true));
+        }
+    },
+    /** New terminal with a name unique to the run. */
+    CREATE_TERMINAL("create-terminal", 201) {
+        @Override
+        HttpRequest request(URI base, SplittableRandom random, long sequence) {
+            String body = """
+                    {"terminalName":"Load terminal %d","basePrice":%d.%02d}""".formatted(
+                    sequence, 5 + random.nextInt(50), random.nextInt(100));
+            return json(base.resolve("/api/bus-terminals"), body);
+        }
+    },
+    /** Terminal name autocomplete. */
+    SEARCH("search", 200) {
+        @Override
+        HttpRequest request(URI base, SplittableRandom random, long sequence) {
+            String prefix = SEARCH_PREFIXES[random.nextInt(SEARCH_PREFIXES.length)];
+            return HttpRequest.newBuilder(base.resolve("/api/bus-terminals/search?prefix="
+                            + URLEncoder.encode(prefix, StandardCharsets.UTF_8)))
+                    .GET()
+                    .build();
+        }
+    };
+
+    static final int GROUP_SIZE = 100;
+    private static final String ROUTE = "Vilnius, Lithuania";
+    private static final String[] SEARCH_PREFIXES = {"v", "vil", "load", "load terminal 1", "xyz"};
+
+    final String id;
+    final int expectedStatus;
+
+    Scenario(String id, int expectedStatus) {
+        this.id = id;
+        this.expectedStatus = expectedStatus;
+    }
+
+    abstract HttpRequest request(URI base, SplittableRandom random, long sequence);
+
+    static Scenario byId(String id) {
+        return Arrays.stream(values())
+                .filter(scenario -> scenario.id.equals(id))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown scenario '" + id + "', expected one of "
+                        + Arrays.stream(values()).map(scenario -> scenario.id).toList()));
+    }
+
+    private static String passengers(SplittableRandom random, int count, boolean invalid) {
+        StringBuilder passengers = new StringBuilder("[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                passengers.append(',');
+            }
+            passengers.append("{\"type\":\"").append(random.nextInt(4) == 0 ? "CHILD" : "ADULT")
+                    .append("\",\"luggageCount\":").append(invalid ? -1 : random.nextInt(3))
+                    .append('}');
+        }
+        return passengers.append(']').toString();
+    }
+
+    private static HttpRequest draft(URI base, String route, String passengers) {
+        return json(base.resolve("/api/pricing/draft"), """
+                {"route":"%s","passengers":%s}""".formatted(route, passengers));
+    }
+
+    private static HttpRequest json(URI uri, String body) {
+        return HttpRequest.newBuilder(uri)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+}
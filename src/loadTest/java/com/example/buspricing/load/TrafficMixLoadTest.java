@@ -0,0 +1,274 @@
+package com.example.buspricing.load;
+
+import com.example.buspricing.BusTicketPricingApplication;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load test: boots the application on a random port with the in-memory H2 database and
+ * sends a weighted mix of {@link Scenario requests} at a constant arrival rate, whether or not earlier
+ * requests have completed. Latency is measured from each request's scheduled send time, so a stalled
+ * server shows up as queueing delay instead of fewer requests sent (no coordinated omission); the time
+ * from the actual send is reported separately as service time.
+ * <p>
+ * Writes throughput and p50/p99/p99.9/max per scenario, plus the full corrected latency distribution,
+ * to a report file. The request sequence is reproducible for a given seed.
+ * <p>
+ * Options ({@code --name=value}): {@code rate} (requests/s, default 200), {@code duration} and {@code warmup}
+ * (seconds, default 30 each; the warmup is sent but not measured), {@code mix} (scenario:weight list, default
+ * {@code draft:70,group-draft:5,unknown-route:10,invalid:5,create-terminal:2,search:8}), {@code seed} (default 1),
+ * {@code profiles} (comma-separated Spring profiles), {@code db-latency} (ms added per statement, default 0),
+ * {@code max-in-flight} (requests beyond it are dropped and counted, default 10000) and {@code report} (file path).
+ */
+public final class TrafficMixLoadTest {
+
+    private static final Map<String, String> DEFAULTS = Map.of(
+            "rate", "200",
+            "duration", "30",
+            "warmup", "30",
+            "mix", "draft:70,group-draft:5,unknown-route:10,invalid:5,create-terminal:2,search:8",
+            "seed", "1",
+            "profiles", "",
+            "db-latency", "0",
+            "max-in-flight", "10000",
+            "report", "build/reports/load-test/traffic-mix.txt");
+
+    // Recorded in microseconds, from 1 µs to 1 min at 3 significant digits
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private TrafficMixLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = options(args);
+        int rate = Integer.parseInt(options.get("rate"));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.get("duration")));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.get("warmup")));
+        Mix mix = Mix.parse(options.get("mix"));
+        long seed = Long.parseLong(options.get("seed"));
+        String[] profiles = options.get("profiles").isBlank() ? new String[0] : options.get("profiles").split(",");
+        Duration dbLatency = Duration.ofMillis(Long.parseLong(options.get("db-latency")));
+        int maxInFlight = Integer.parseInt(options.get("max-in-flight"));
+        Path report = Path.of(options.get("report"));
+
+        Map<Scenario, Stats> stats;
+        try (ConfigurableApplicationContext context = start(profiles, dbLatency)) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            stats = run(URI.create("http://localhost:" + port), rate, warmup, duration, mix, seed, maxInFlight);
+        }
+
+        String header = "rate=%d/s duration=%ds warmup=%ds seed=%d profiles=%s db-latency=%dms mix=%s".formatted(
+                rate, duration.toSeconds(), warmup.toSeconds(), seed,
+                profiles.length == 0 ? "default" : String.join(",", profiles), dbLatency.toMillis(), mix);
+        String text = report(header, stats, duration);
+        System.out.println(text);
+        if (report.getParent() != null) {
+            Files.createDirectories(report.getParent());
+        }
+        Files.writeString(report, text);
+        System.out.println("Report written to " + report.toAbsolutePath());
+    }
+
+    private static ConfigurableApplicationContext start(String[] profiles, Duration dbLatency) {
+        return new SpringApplicationBuilder(BusTicketPricingApplication.class)
+                .profiles(profiles)
+                .initializers(context -> context.getBeanFactory()
+                        .addBeanPostProcessor(new SimulatedDatabaseLatency(dbLatency)))
+                .run("--server.port=0",
+                        // application.yml logs every statement, which would serialize the run on console output
+                        "--logging.level.root=warn",
+                        "--logging.level.org.springframework.jdbc.core=warn",
+                        "--logging.level.org.hibernate.SQL=warn",
+                        "--logging.level.org.hibernate.type.descriptor.sql=warn");
+    }
+
+    private static Map<Scenario, Stats> run(URI base, int rate, Duration warmup, Duration duration,
+                                            Mix mix, long seed, int maxInFlight) throws InterruptedException {
+        Map<Scenario, Stats> stats = new EnumMap<>(Scenario.class);
+        for (Scenario scenario : mix.scenarios()) {
+            stats.put(scenario, new Stats());
+        }
+        SplittableRandom random = new SplittableRandom(seed);
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        long interval = TimeUnit.SECONDS.toNanos(1) / rate;
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).executor(clients).build()) {
+            for (long sequence = 0; ; sequence++) {
+                long scheduled = start + sequence * interval;
+                if (scheduled >= end) {
+                    break;
+                }
+                long wait = scheduled - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                // Generated on this thread in schedule order, so the sequence depends on the seed only
+                Scenario scenario = mix.next(random);
+                HttpRequest request = scenario.request(base, random, sequence);
+                Stats scenarioStats = scheduled >= measureFrom ? stats.get(scenario) : null;
+                if (!inFlight.tryAcquire()) {
+                    if (scenarioStats != null) {
+                        scenarioStats.dropped.increment();
+                    }
+                    continue;
+                }
+                long sent = System.nanoTime();
+                http.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                        .whenComplete((response, error) -> {
+                            long completed = System.nanoTime();
+                            inFlight.release();
+                            if (scenarioStats != null) {
+                                scenarioStats.record(scenario, response, error, scheduled, sent, completed);
+                            }
+                        });
+            }
+            inFlight.acquire(maxInFlight);
+        }
+        return stats;
+    }
+
+    private static String report(String header, Map<Scenario, Stats> stats, Duration duration) {
+        Histogram all = new Histogram(MAX_LATENCY_MICROS, 3);
+        StringBuilder text = new StringBuilder(header).append(System.lineSeparator()).append(System.lineSeparator());
+        text.append("%-16s %9s %7s %7s %9s | %9s %9s %9s %9s | %11s%n".formatted("scenario", "requests", "errors",
+                "dropped", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "service p99"));
+        for (Map.Entry<Scenario, Stats> entry : stats.entrySet()) {
+            Stats scenarioStats = entry.getValue();
+            all.add(scenarioStats.latency);
+            text.append(row(entry.getKey().id, scenarioStats.latency, scenarioStats.errors.sum(),
+                    scenarioStats.dropped.sum(), duration, scenarioStats.service));
+        }
+        long errors = stats.values().stream().mapToLong(s -> s.errors.sum()).sum();
+        long dropped = stats.values().stream().mapToLong(s -> s.dropped.sum()).sum();
+        Histogram allService = new Histogram(MAX_LATENCY_MICROS, 3);
+        stats.values().forEach(s -> allService.add(s.service));
+        text.append(row("all", all, errors, dropped, duration, allService));
+
+        text.append(System.lineSeparator())
+                .append("Latency from scheduled send time, all scenarios (ms):")
+                .append(System.lineSeparator());
+        ByteArrayOutputStream distribution = new ByteArrayOutputStream();
+        all.outputPercentileDistribution(new PrintStream(distribution, true, StandardCharsets.UTF_8), MICROS_PER_MILLI);
+        return text.append(distribution.toString(StandardCharsets.UTF_8)).toString();
+    }
+
+    private static String row(String name, Histogram latency, long errors, long dropped, Duration duration,
+                              Histogram service) {
+        return "%-16s %9d %7d %7d %9.1f | %9.2f %9.2f %9.2f %9.2f | %11.2f%n".formatted(name,
+                latency.getTotalCount(), errors, dropped, latency.getTotalCount() / (double) duration.toSeconds(),
+                millis(latency, 50), millis(latency, 99), millis(latency, 99.9),
+                latency.getMaxValue() / MICROS_PER_MILLI, millis(service, 99));
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / MICROS_PER_MILLI;
+    }
+
+    private static Map<String, String> options(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>(DEFAULTS);
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0 || !DEFAULTS.containsKey(arg.substring(2, separator))) {
+                throw new IllegalArgumentException("Expected --name=value with a name in " + DEFAULTS.keySet() + ": " + arg);
+            }
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return options;
+    }
+
+    /**
+     * Completed requests of one scenario within the measured window. Responses with an unexpected status
+     * count as errors but are still timed; requests that failed without a response are only counted.
+     */
+    private static final class Stats {
+        final Histogram latency = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+        final Histogram service = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+        final LongAdder errors = new LongAdder();
+        final LongAdder dropped = new LongAdder();
+
+        void record(Scenario scenario, HttpResponse<?> response, Throwable error,
+                    long scheduled, long sent, long completed) {
+            if (error != null) {
+                errors.increment();
+                return;
+            }
+            if (response.statusCode() != scenario.expectedStatus) {
+                errors.increment();
+            }
+            latency.recordValue(Math.min(micros(completed - scheduled), MAX_LATENCY_MICROS));
+            service.recordValue(Math.min(micros(completed - sent), MAX_LATENCY_MICROS));
+        }
+
+        private static long micros(long nanos) {
+            return Math.max(1, TimeUnit.NANOSECONDS.toMicros(nanos));
+        }
+    }
+
+    /**
+     * Weighted scenario choice: a scenario with weight {@code w} out of a total {@code W} makes up {@code w/W} of requests.
+     */
+    private record Mix(List<Scenario> scenarios, int[] cumulativeWeights, String spec) {
+
+        static Mix parse(String spec) {
+            List<Scenario> scenarios = new ArrayList<>();
+            List<Integer> cumulative = new ArrayList<>();
+            int total = 0;
+            for (String part : spec.split(",")) {
+                String[] idAndWeight = part.trim().split(":");
+                int weight = idAndWeight.length == 2 ? Integer.parseInt(idAndWeight[1]) : 0;
+                if (weight <= 0) {
+                    throw new IllegalArgumentException("Expected <scenario>:<positive weight>: " + part);
+                }
+                scenarios.add(Scenario.byId(idAndWeight[0]));
+                total += weight;
+                cumulative.add(total);
+            }
+            return new Mix(List.copyOf(scenarios), cumulative.stream().mapToInt(Integer::intValue).toArray(), spec);
+        }
+
+        Scenario next(SplittableRandom random) {
+            int pick = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+            for (int i = 0; ; i++) {
+                if (pick < cumulativeWeights[i]) {
+                    return scenarios.get(i);
+                }
+            }
+        }
+
+        @Override
+        public String toString() {
+            return spec;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.buspricing.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.math.BigDecimal;
+
+/**
+ * Bounded base price cache (Caffeine, W-TinyLFU eviction), and a smaller short-lived one
+ * remembering routes that are not in BUS_TERMINALS.
+ * Hit/miss/eviction counters are published as cache.* metrics under the "basePrices"
+ * and "unknownRoutes" names.
+ */
+@Configuration
+@EnableConfigurationProperties(BasePriceCacheProperties.class)
+public class BasePriceCacheConfig {
+
+    public static final String CACHE_NAME = "basePrices";
+    public static final String UNKNOWN_ROUTES_CACHE_NAME = "unknownRoutes";
+
+    @Bean
+    public Cache<String, BigDecimal> basePriceCache(BasePriceCacheProperties properties) {
+        return Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfterWrite(properties.timeToLive())
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Values are always {@code TRUE}; only the presence of a route matters.
+     */
+    @Bean
+    public Cache<String, Boolean> unknownRouteCache(BasePriceCacheProperties properties) {
+        return Caffeine.newBuilder()
+                .maximumSize(properties.unknownRouteMaximumSize())
+                .expireAfterWrite(properties.unknownRouteTimeToLive())
+                .recordStats()
+                .build();
+    }
+
+    @Bean
+    public MeterBinder basePriceCacheMetrics(Cache<String, BigDecimal> basePriceCache,
+                                             Cache<String, Boolean> unknownRouteCache) {
+        return registry -> {
+            CaffeineCacheMetrics.monitor(registry, basePriceCache, CACHE_NAME);
+            CaffeineCacheMetrics.monitor(registry, unknownRouteCache, UNKNOWN_ROUTES_CACHE_NAME);
+        };
+    }
+}
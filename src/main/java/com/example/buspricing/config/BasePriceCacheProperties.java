@@ -0,0 +1,23 @@
+package com.example.buspricing.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Sizing of the in-process base price cache in front of BUS_TERMINALS.
+ *
+ * @param loadTimeout how long a lookup waits for a load of the same route already started by another request
+ * @param unknownRouteMaximumSize  bound on remembered routes that are not in BUS_TERMINALS
+ * @param unknownRouteTimeToLive   how long a route stays known as missing; creating it clears the entry at once
+ *                                 on this instance, other instances see it when the entry expires
+ */
+@ConfigurationProperties(prefix = "pricing.base-price-cache")
+public record BasePriceCacheProperties(
+        @DefaultValue("10000") long maximumSize,
+        @DefaultValue("10m") Duration timeToLive,
+        @DefaultValue("2s") Duration loadTimeout,
+        @DefaultValue("10000") long unknownRouteMaximumSize,
+        @DefaultValue("30s") Duration unknownRouteTimeToLive) {
+}
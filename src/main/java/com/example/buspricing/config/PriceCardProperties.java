@@ -0,0 +1,14 @@
+package com.example.buspricing.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Per-route price cards used by {@code pricing.engine=price-card}.
+ *
+ * @param eagerLuggageCounts luggage prices built with each card (1 to this many bags); larger counts are added on first use
+ */
+@ConfigurationProperties(prefix = "pricing.price-cards")
+public record PriceCardProperties(
+        @DefaultValue("3") int eagerLuggageCounts) {
+}
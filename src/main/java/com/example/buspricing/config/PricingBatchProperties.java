@@ -0,0 +1,20 @@
+package com.example.buspricing.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Limits for batch draft pricing.
+ *
+ * @param parallelism  worker threads used to price batch entries; 0 means one per available core
+ * @param maxBatchSize largest number of requests accepted in a single batch call
+ */
+@ConfigurationProperties(prefix = "pricing.batch")
+public record PricingBatchProperties(
+        @DefaultValue("0") int parallelism,
+        @DefaultValue("500") int maxBatchSize) {
+
+    public int effectiveParallelism() {
+        return parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.buspricing.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Bounded worker pool that batch pricing spreads its per-request work across.
+ * In virtual-thread mode each entry gets a virtual thread instead; they are still
+ * bounded by the carrier pool, which has one platform thread per core.
+ */
+@Configuration
+@EnableConfigurationProperties({PricingBatchProperties.class, VirtualThreadProperties.class})
+public class PricingExecutorConfig {
+
+    @Bean
+    public ExecutorService pricingExecutor(PricingBatchProperties properties, VirtualThreadProperties virtualThreads) {
+        if (virtualThreads.enabled()) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("pricing-", 0).factory());
+        }
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("pricing-");
+        threadFactory.setDaemon(true);
+        return Executors.newFixedThreadPool(properties.effectiveParallelism(), threadFactory);
+    }
+}
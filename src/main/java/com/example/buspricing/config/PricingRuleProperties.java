@@ -0,0 +1,23 @@
+package com.example.buspricing.config;
+
+import com.example.buspricing.controller.request.Passenger;
+import com.example.buspricing.model.PricingRules;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pricing rules loaded at startup; see {@link PricingRules} for their meaning.
+ */
+@ConfigurationProperties(prefix = "pricing.rules")
+public record PricingRuleProperties(Map<Passenger.Type, BigDecimal> discountPercent,
+                                    List<PricingRules.LuggageTier> luggageTiers,
+                                    Integer maxChargedBags,
+                                    List<PricingRules.RouteRules> routes) {
+
+    public PricingRules toRules() {
+        return new PricingRules(discountPercent, luggageTiers, maxChargedBags, routes);
+    }
+}
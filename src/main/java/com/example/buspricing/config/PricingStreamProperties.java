@@ -0,0 +1,17 @@
+package com.example.buspricing.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Limits for NDJSON streaming draft pricing.
+ *
+ * @param maxInFlight   lines read ahead of the line being written; bounds memory and parallelism per stream
+ * @param maxLineLength longest accepted request line; longer lines are skipped and reported as errors
+ */
+@ConfigurationProperties(prefix = "pricing.stream")
+public record PricingStreamProperties(
+        @DefaultValue("64") int maxInFlight,
+        @DefaultValue("1MB") DataSize maxLineLength) {
+}
@@ -0,0 +1,30 @@
+package com.example.buspricing.config;
+
+import com.example.buspricing.service.QuoteCache;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Draft quote cache. Hit/miss/eviction counters are published as cache.* metrics under the
+ * "draftQuotes" name, alongside the estimated memory in use and the hit ratio.
+ */
+@Configuration
+@EnableConfigurationProperties(QuoteCacheProperties.class)
+public class QuoteCacheConfig {
+
+    public static final String CACHE_NAME = "draftQuotes";
+
+    @Bean
+    public QuoteCache quoteCache(QuoteCacheProperties properties) {
+        return properties.enabled()
+                ? QuoteCache.bounded(properties.maximumMemory().toBytes(), properties.timeToLive())
+                : QuoteCache.disabled();
+    }
+
+    @Bean
+    public MeterBinder quoteCacheMetrics(QuoteCache quoteCache) {
+        return registry -> quoteCache.bindTo(registry, CACHE_NAME);
+    }
+}
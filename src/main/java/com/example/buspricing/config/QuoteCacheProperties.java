@@ -0,0 +1,19 @@
+package com.example.buspricing.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Optional cache of whole draft price responses, keyed by route, passengers and the prices they were computed from.
+ *
+ * @param maximumMemory bound on the estimated size of all cached responses
+ */
+@ConfigurationProperties(prefix = "pricing.quote-cache")
+public record QuoteCacheProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("32MB") DataSize maximumMemory,
+        @DefaultValue("10m") Duration timeToLive) {
+}
@@ -0,0 +1,17 @@
+package com.example.buspricing.config;
+
+import com.example.buspricing.model.EffectiveTaxRate;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+
+/**
+ * Tax rates loaded at startup, each with an optional validity interval, e.g. a VAT change at a year boundary.
+ */
+@ConfigurationProperties(prefix = "pricing.tax")
+public record TaxRateProperties(List<EffectiveTaxRate> rates) {
+
+    public TaxRateProperties {
+        rates = rates == null ? List.of() : List.copyOf(rates);
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.buspricing.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(TerminalImportProperties.class)
+public class TerminalImportConfig {
+}
@@ -0,0 +1,17 @@
+package com.example.buspricing.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Bulk terminal import.
+ *
+ * @param chunkSize     rows checked for duplicates with one query and inserted with one JDBC batch, in one transaction
+ * @param maxLineLength longest accepted CSV line
+ */
+@ConfigurationProperties(prefix = "pricing.terminal-import")
+public record TerminalImportProperties(
+        @DefaultValue("1000") int chunkSize,
+        @DefaultValue("64KB") DataSize maxLineLength) {
+}
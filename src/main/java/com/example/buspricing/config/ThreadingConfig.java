@@ -0,0 +1,42 @@
+package com.example.buspricing.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.task.TaskExecutorBuilder;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import java.util.concurrent.Executors;
+
+/**
+ * Request and async task threads. With {@code pricing.virtual-threads.enabled=true} Tomcat
+ * handles each request on its own virtual thread, so a request blocked on JDBC no longer holds
+ * one of a fixed number of platform threads; the connection pool becomes the limit instead.
+ * <p>
+ * The application task executor (used for async MVC requests) is declared here because the
+ * {@code pricingExecutor} bean makes Boot's auto-configured one back off.
+ */
+@Configuration
+@EnableConfigurationProperties(VirtualThreadProperties.class)
+public class ThreadingConfig {
+
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME, "taskExecutor"})
+    public AsyncTaskExecutor applicationTaskExecutor(VirtualThreadProperties properties, TaskExecutorBuilder builder) {
+        if (properties.enabled()) {
+            return new TaskExecutorAdapter(Executors.newThreadPerTaskExecutor(
+                    Thread.ofVirtual().name("task-", 0).factory()));
+        }
+        return builder.build();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "pricing.virtual-threads.enabled", havingValue = "true")
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("http-", 0).factory()));
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.buspricing.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Virtual-thread execution mode.
+ *
+ * @param enabled run Tomcat request handling, application async tasks and batch pricing on virtual threads
+ */
+@ConfigurationProperties(prefix = "pricing.virtual-threads")
+public record VirtualThreadProperties(@DefaultValue("false") boolean enabled) {
+}
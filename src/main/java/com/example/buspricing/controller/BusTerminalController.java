@@ -1,25 +1,53 @@
 package com.example.buspricing.controller;
 
 import com.example.buspricing.controller.request.BusTerminalRequest;
+import com.example.buspricing.controller.response.BusTerminalPage;
+import com.example.buspricing.controller.response.TerminalImportResult;
 import com.example.buspricing.domain.BusTerminal;
+import com.example.buspricing.event.BusTerminalChangedEvent;
 import com.example.buspricing.repository.BusTerminalRepository;
+import com.example.buspricing.repository.BusTerminalSummary;
 import com.example.buspricing.exception.ValidationErrorException;
+import com.example.buspricing.service.BusTerminalImportService;
+import com.example.buspricing.service.TerminalSearchService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/bus-terminals")
 public class BusTerminalController {
 
+    static final int MAX_SEARCH_LIMIT = 100;
+    static final int MAX_PAGE_LIMIT = 1000;
+
     private final BusTerminalRepository repository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BusTerminalImportService importService;
+    private final TerminalSearchService searchService;
 
-    public BusTerminalController(BusTerminalRepository repository) {
+    public BusTerminalController(BusTerminalRepository repository,
+                                 ApplicationEventPublisher eventPublisher,
+                                 BusTerminalImportService importService,
+                                 TerminalSearchService searchService) {
         this.repository = repository;
+        this.eventPublisher = eventPublisher;
+        this.importService = importService;
+        this.searchService = searchService;
     }
 
     @PostMapping
@@ -38,8 +66,68 @@ public class BusTerminalController {
                 .build();
 
         BusTerminal saved = repository.save(entity);
+        // Drop any cached copy of this terminal (e.g. base price)
+        eventPublisher.publishEvent(new BusTerminalChangedEvent(entity.getTerminalName()));
         return ResponseEntity.status(HttpStatus.CREATED).body(saved);
     }
 
-}
+    /**
+     * Lists terminals in name order, one page at a time: pass the previous page's {@code next} as {@code after}.
+     * Optionally only terminals whose base price is within {@code minPrice}..{@code maxPrice}.
+     */
+    @GetMapping
+    public BusTerminalPage list(@RequestParam(defaultValue = "") String after,
+                                @RequestParam(required = false) BigDecimal minPrice,
+                                @RequestParam(required = false) BigDecimal maxPrice,
+                                @RequestParam(defaultValue = "100") int limit) {
+        if (limit < 1 || limit > MAX_PAGE_LIMIT) {
+            throw new ValidationErrorException("limit",
+                    "limit must be between 1 and " + MAX_PAGE_LIMIT,
+                    limit,
+                    HttpStatus.BAD_REQUEST);
+        }
+        if (minPrice != null && maxPrice != null && minPrice.compareTo(maxPrice) > 0) {
+            throw new ValidationErrorException("maxPrice",
+                    "maxPrice must not be less than minPrice",
+                    maxPrice,
+                    HttpStatus.BAD_REQUEST);
+        }
+        List<BusTerminalSummary> items = repository.findPageAfter(after, minPrice, maxPrice, PageRequest.ofSize(limit));
+        // A full page may be followed by more; the caller finds out with one more, possibly empty, request
+        String next = items.size() == limit ? items.get(limit - 1).terminalName() : null;
+        return BusTerminalPage.builder().items(items).next(next).build();
+    }
 
+    /**
+     * Creates many terminals from a JSON array, reading the body as it arrives.
+     * Always 200 with one result per element; existing terminals are left untouched.
+     */
+    @PostMapping(path = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public TerminalImportResult importJson(HttpServletRequest httpRequest) throws IOException {
+        return importService.importJson(httpRequest.getInputStream());
+    }
+
+    /**
+     * Creates many terminals from CSV lines {@code terminalName,basePrice} (header optional).
+     */
+    @PostMapping(path = "/import", consumes = "text/csv")
+    public TerminalImportResult importCsv(HttpServletRequest httpRequest) throws IOException {
+        return importService.importCsv(httpRequest.getInputStream());
+    }
+
+    /**
+     * Terminal names starting with {@code prefix}, ignoring case and diacritics, for autocomplete.
+     * Served from memory; an empty prefix lists the first names.
+     */
+    @GetMapping("/search")
+    public List<String> search(@RequestParam(defaultValue = "") String prefix,
+                               @RequestParam(defaultValue = "10") int limit) {
+        if (limit < 1 || limit > MAX_SEARCH_LIMIT) {
+            throw new ValidationErrorException("limit",
+                    "limit must be between 1 and " + MAX_SEARCH_LIMIT,
+                    limit,
+                    HttpStatus.BAD_REQUEST);
+        }
+        return searchService.search(prefix, limit);
+    }
+}
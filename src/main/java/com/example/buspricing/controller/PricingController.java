@@ -1,27 +1,137 @@
 package com.example.buspricing.controller;
 
+import com.example.buspricing.config.PricingBatchProperties;
 import com.example.buspricing.controller.request.DraftPriceRequest;
+import com.example.buspricing.controller.request.DraftPriceView;
+import com.example.buspricing.controller.response.ApiError;
+import com.example.buspricing.controller.response.DraftPriceBatchItem;
 import com.example.buspricing.controller.response.DraftPriceResponse;
+import com.example.buspricing.exception.ApiErrors;
+import com.example.buspricing.exception.ValidationErrorException;
+import com.example.buspricing.metrics.PricingMetrics;
+import com.example.buspricing.service.DraftPriceResult;
+import com.example.buspricing.service.DraftPriceStreamService;
 import com.example.buspricing.service.PricingService;
-import jakarta.validation.Valid;
+import com.example.buspricing.validation.DraftPriceRequestValidator;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/pricing")
 public class PricingController {
+    private static final Logger log = LoggerFactory.getLogger(PricingController.class);
 
     private final PricingService pricingService;
+    private final DraftPriceRequestValidator requestValidator;
+    private final PricingBatchProperties batchProperties;
+    private final PricingMetrics metrics;
+    private final DraftPriceStreamService streamService;
 
-    public PricingController(PricingService pricingService) {
+    public PricingController(PricingService pricingService,
+                             DraftPriceRequestValidator requestValidator,
+                             PricingBatchProperties batchProperties,
+                             PricingMetrics metrics,
+                             DraftPriceStreamService streamService) {
         this.pricingService = pricingService;
+        this.requestValidator = requestValidator;
+        this.batchProperties = batchProperties;
+        this.metrics = metrics;
+        this.streamService = streamService;
     }
 
+    /**
+     * {@code view=compact} returns item prices and the total only, without rendering any descriptions.
+     * The request is validated by {@link DraftPriceRequestValidator} rather than {@code @Valid}; errors are the same.
+     */
     @PostMapping("/draft")
-    public ResponseEntity<DraftPriceResponse> draft(@Valid @RequestBody DraftPriceRequest request) {
-        DraftPriceResponse response = pricingService.calculateDraftPrice(request);
+    public ResponseEntity<DraftPriceResponse> draft(@RequestBody DraftPriceRequest request,
+                                                    @RequestParam(name = DraftPriceView.PARAM, defaultValue = "full") String view) {
+        requestValidator.check(request);
+        DraftPriceView priceView = DraftPriceView.fromParam(view);
+        DraftPriceResponse response = metrics.draft().record(() -> pricingService.calculateDraftPrice(request, priceView));
         return ResponseEntity.ok(response);
     }
 
-}
+    /**
+     * Prices many requests in one call. Entries are validated and priced independently;
+     * the result list has one item per request, in request order. Accepts {@code view} like {@code /draft}.
+     */
+    @PostMapping("/draft/batch")
+    public ResponseEntity<List<DraftPriceBatchItem>> draftBatch(@RequestBody List<DraftPriceRequest> requests,
+                                                                @RequestParam(name = DraftPriceView.PARAM, defaultValue = "full") String view,
+                                                                HttpServletRequest httpRequest) {
+        DraftPriceView priceView = DraftPriceView.fromParam(view);
+        if (requests.isEmpty() || requests.size() > batchProperties.maxBatchSize()) {
+            throw new ValidationErrorException("requests",
+                    "batch must contain between 1 and " + batchProperties.maxBatchSize() + " requests",
+                    requests.size(),
+                    HttpStatus.BAD_REQUEST);
+        }
+        String path = httpRequest.getRequestURI();
+
+        DraftPriceBatchItem[] items = new DraftPriceBatchItem[requests.size()];
+        List<DraftPriceRequest> valid = new ArrayList<>(requests.size());
+        List<Integer> validPositions = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            List<ApiError.FieldErrorItem> fieldErrors = requestValidator.validate(requests.get(i));
+            if (fieldErrors.isEmpty()) {
+                valid.add(requests.get(i));
+                validPositions.add(i);
+            } else {
+                items[i] = failure(ApiErrors.validationFailed(path, fieldErrors));
+            }
+        }
+
+        List<DraftPriceResult> results = valid.isEmpty() ? List.of() : pricingService.calculateDraftPrices(valid, priceView);
+        for (int i = 0; i < results.size(); i++) {
+            DraftPriceResult result = results.get(i);
+            if (!result.isSuccess() && !(result.error() instanceof ValidationErrorException)) {
+                log.error("Something went wrong while pricing a batch entry", result.error());
+            }
+            if (result.isSuccess()) {
+                items[validPositions.get(i)] = DraftPriceBatchItem.builder()
+                        .status(HttpStatus.OK.value())
+                        .response(result.response())
+                        .build();
+            } else {
+                DraftPriceBatchItem failure = failure(ApiErrors.from(result.error(), path));
+                metrics.countError(result.error(), failure.getStatus());
+                items[validPositions.get(i)] = failure;
+            }
+        }
+
+        return ResponseEntity.ok(List.of(items));
+    }
 
+    /**
+     * Prices newline-delimited requests as they arrive and writes one newline-delimited result
+     * per non-blank request line, in order, while the request body is still being read.
+     * Clients must read the response concurrently with sending the request. Accepts {@code view} like {@code /draft}.
+     */
+    @PostMapping(path = "/draft/stream",
+            consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void draftStream(@RequestParam(name = DraftPriceView.PARAM, defaultValue = "full") String view,
+                            HttpServletRequest httpRequest, HttpServletResponse httpResponse) throws IOException {
+        DraftPriceView priceView = DraftPriceView.fromParam(view);
+        httpResponse.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        httpResponse.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        streamService.price(httpRequest.getInputStream(), httpResponse.getOutputStream(), httpRequest.getRequestURI(), priceView);
+    }
+
+    private static DraftPriceBatchItem failure(ApiError error) {
+        return DraftPriceBatchItem.builder().status(error.getStatus()).error(error).build();
+    }
+
+}
@@ -0,0 +1,35 @@
+package com.example.buspricing.controller;
+
+import com.example.buspricing.model.PricingRules;
+import com.example.buspricing.service.PricingRuleService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/pricing-rules")
+public class PricingRuleController {
+
+    private final PricingRuleService pricingRuleService;
+
+    public PricingRuleController(PricingRuleService pricingRuleService) {
+        this.pricingRuleService = pricingRuleService;
+    }
+
+    @GetMapping
+    public ResponseEntity<PricingRules> get() {
+        return ResponseEntity.ok(pricingRuleService.getRules());
+    }
+
+    /**
+     * Replaces all pricing rules, including every route override; takes effect for the next quote.
+     */
+    @PutMapping
+    public ResponseEntity<PricingRules> replace(@RequestBody PricingRules rules) {
+        pricingRuleService.replaceRules(rules);
+        return ResponseEntity.ok(pricingRuleService.getRules());
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.buspricing.controller;
+
+import com.example.buspricing.controller.request.DraftPriceRequest;
+import com.example.buspricing.controller.request.DraftPriceView;
+import com.example.buspricing.controller.response.ApiError;
+import com.example.buspricing.exception.ApiErrors;
+import com.example.buspricing.exception.ValidationErrorException;
+import com.example.buspricing.metrics.PricingMetrics;
+import com.example.buspricing.service.PricingService;
+import com.example.buspricing.service.ReactiveBasePriceService;
+import com.example.buspricing.validation.DraftPriceRequestValidator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code POST /api/pricing/draft} on the reactive stack. Same request, responses and error bodies
+ * as {@link PricingController#draft}; only the base price lookup differs (see {@link ReactiveBasePriceService}).
+ * Pricing itself is CPU-bound and runs on the event loop through the shared {@link PricingService}.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactivePricingHandler {
+    private static final Logger log = LoggerFactory.getLogger(ReactivePricingHandler.class);
+
+    private final PricingService pricingService;
+    private final ReactiveBasePriceService basePriceService;
+    private final DraftPriceRequestValidator requestValidator;
+    private final PricingMetrics metrics;
+
+    public ReactivePricingHandler(PricingService pricingService,
+                                  ReactiveBasePriceService basePriceService,
+                                  DraftPriceRequestValidator requestValidator,
+                                  PricingMetrics metrics) {
+        this.pricingService = pricingService;
+        this.basePriceService = basePriceService;
+        this.requestValidator = requestValidator;
+        this.metrics = metrics;
+    }
+
+    public Mono<ServerResponse> draft(ServerRequest serverRequest) {
+        String path = serverRequest.path();
+        return Mono.defer(() -> {
+                    DraftPriceView view = DraftPriceView.fromParam(serverRequest.queryParam(DraftPriceView.PARAM).orElse("full"));
+                    return serverRequest.bodyToMono(DraftPriceRequest.class)
+                            .flatMap(request -> draft(request, view, path));
+                })
+                .onErrorResume(ValidationErrorException.class, ex -> {
+                    metrics.countError(ex, ex.getHttpStatus().value());
+                    return error(ApiErrors.validationError(path, ex));
+                })
+                .onErrorResume(ex -> {
+                    log.error("Something went wrong", ex);
+                    metrics.countError(ex, HttpStatus.INTERNAL_SERVER_ERROR.value());
+                    return error(ApiErrors.unexpected(path));
+                });
+    }
+
+    private Mono<ServerResponse> draft(DraftPriceRequest request, DraftPriceView view, String path) {
+        List<ApiError.FieldErrorItem> fieldErrors = requestValidator.validate(request);
+        if (!fieldErrors.isEmpty()) {
+            metrics.countError(WebExchangeBindException.class, HttpStatus.BAD_REQUEST.value());
+            return error(ApiErrors.validationFailed(path, fieldErrors));
+        }
+        long start = System.nanoTime();
+        return basePriceService.getBasePrice(request.getRoute(), request.getDestination())
+                .map(base -> pricingService.calculateDraftPrice(request, base, view))
+                .doOnNext(response -> metrics.draft().record(System.nanoTime() - start, TimeUnit.NANOSECONDS))
+                .flatMap(response -> ServerResponse.ok().bodyValue(response));
+    }
+
+    private static Mono<ServerResponse> error(ApiError body) {
+        return ServerResponse.status(body.getStatus()).bodyValue(body);
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.buspricing.controller;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.POST;
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+/**
+ * Routes served when the application runs on the reactive stack
+ * ({@code spring.main.web-application-type=reactive}, see the {@code reactive} profile).
+ * Only draft pricing is available there; the annotated controllers need the servlet stack.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactivePricingRoutes {
+
+    @Bean
+    public RouterFunction<ServerResponse> pricingRoutes(ReactivePricingHandler handler) {
+        return route(POST("/api/pricing/draft"), handler::draft);
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.buspricing.controller;
+
+import com.example.buspricing.controller.response.RouteFareImportResult;
+import com.example.buspricing.domain.RouteFare;
+import com.example.buspricing.service.RouteFareImportService;
+import com.example.buspricing.service.RouteFareService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/api/route-fares")
+public class RouteFareController {
+
+    private final RouteFareService fareService;
+    private final RouteFareImportService importService;
+
+    public RouteFareController(RouteFareService fareService, RouteFareImportService importService) {
+        this.fareService = fareService;
+        this.importService = importService;
+    }
+
+    /**
+     * The fare a quote from {@code origin} to {@code destination} is priced from; 404 if there is none.
+     */
+    @GetMapping
+    public RouteFare get(@RequestParam String origin, @RequestParam String destination) {
+        return new RouteFare(origin, destination, fareService.getFare(origin, destination));
+    }
+
+    /**
+     * Creates or replaces fares from CSV lines {@code origin,destination,fare} (header optional).
+     */
+    @PostMapping(path = "/import", consumes = "text/csv")
+    public RouteFareImportResult importCsv(HttpServletRequest httpRequest) throws IOException {
+        return importService.importCsv(httpRequest.getInputStream());
+    }
+}
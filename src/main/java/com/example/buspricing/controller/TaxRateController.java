@@ -0,0 +1,47 @@
+package com.example.buspricing.controller;
+
+import com.example.buspricing.controller.request.TaxRateRequest;
+import com.example.buspricing.controller.request.TaxRatesRequest;
+import com.example.buspricing.model.EffectiveTaxRate;
+import com.example.buspricing.service.TaxRateService;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/tax-rates")
+public class TaxRateController {
+
+    private final TaxRateService taxRateService;
+
+    public TaxRateController(TaxRateService taxRateService) {
+        this.taxRateService = taxRateService;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<EffectiveTaxRate>> list() {
+        return ResponseEntity.ok(taxRateService.getEffectiveRates());
+    }
+
+    /**
+     * Replaces the whole tax rate schedule; takes effect for the next quote.
+     */
+    @PutMapping
+    public ResponseEntity<List<EffectiveTaxRate>> replace(@Valid @RequestBody TaxRatesRequest request) {
+        List<EffectiveTaxRate> rates = request.getRates().stream()
+                .map(this::toEffectiveRate)
+                .toList();
+        taxRateService.replaceRates(rates);
+        return ResponseEntity.ok(taxRateService.getEffectiveRates());
+    }
+
+    private EffectiveTaxRate toEffectiveRate(TaxRateRequest rate) {
+        return new EffectiveTaxRate(rate.getName(), rate.getRatePercent(), rate.getValidFrom(), rate.getValidTo());
+    }
+}
@@ -2,6 +2,8 @@ package com.example.buspricing.controller.request;
 
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.*;
 
 import java.math.BigDecimal;
@@ -12,8 +14,10 @@ import java.math.BigDecimal;
 @Builder
 public class BusTerminalRequest {
     @NotBlank(message = "Terminal name must not be blank")
+    @Size(max = 255, message = "Terminal name must be at most 255 characters")
     private String terminalName;
 
+    @NotNull(message = "Base price is required")
     @DecimalMin(value = "0.00", message = "Base price must be greater than or equal to 0.00")
     private BigDecimal basePrice;
 }
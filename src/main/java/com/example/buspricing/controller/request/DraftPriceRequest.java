@@ -1,5 +1,6 @@
 package com.example.buspricing.controller.request;
 
+import com.fasterxml.jackson.annotation.JsonAlias;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotEmpty;
@@ -8,6 +9,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @Data
@@ -15,10 +17,24 @@ import java.util.List;
 @AllArgsConstructor
 @Builder
 public class DraftPriceRequest {
+    /**
+     * The terminal the trip starts from; also accepted as {@code origin}.
+     */
     @NotBlank(message = "Route must not be blank")
+    @JsonAlias("origin")
     private String route;
 
+    /**
+     * Where the trip ends. Optional; when given, the fare between the two terminals replaces the route's base price.
+     */
+    private String destination;
+
     @NotEmpty(message = "Passengers list must not be empty")
     @Valid
     private List<Passenger> passengers;
+
+    /**
+     * Date of travel, used to pick the tax rates in effect. Optional; defaults to today.
+     */
+    private LocalDate travelDate;
 }
\ No newline at end of file
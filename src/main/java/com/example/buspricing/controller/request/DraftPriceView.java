@@ -0,0 +1,32 @@
+package com.example.buspricing.controller.request;
+
+import com.example.buspricing.exception.ValidationErrorException;
+import org.springframework.http.HttpStatus;
+
+import java.util.Locale;
+
+/**
+ * How much of a draft price to compute and return, selected with the {@code view} query parameter.
+ */
+public enum DraftPriceView {
+    /** Prices and all description strings. */
+    FULL,
+    /** Item prices and the total only; descriptions are neither rendered nor sent. */
+    COMPACT;
+
+    public static final String PARAM = "view";
+
+    /**
+     * @throws ValidationErrorException (400) for an unknown view
+     */
+    public static DraftPriceView fromParam(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new ValidationErrorException(PARAM,
+                    "view must be one of: full, compact",
+                    value,
+                    HttpStatus.BAD_REQUEST);
+        }
+    }
+}
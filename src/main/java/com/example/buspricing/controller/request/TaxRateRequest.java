@@ -0,0 +1,29 @@
+package com.example.buspricing.controller.request;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaxRateRequest {
+    @NotBlank(message = "Tax name must not be blank")
+    private String name;
+
+    @NotNull(message = "Tax rate percent is required")
+    @DecimalMin(value = "0", message = "Tax rate percent must not be negative")
+    private BigDecimal ratePercent;
+
+    private LocalDate validFrom;
+
+    private LocalDate validTo;
+}
@@ -0,0 +1,19 @@
+package com.example.buspricing.controller.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaxRatesRequest {
+    @NotNull(message = "Rates list is required")
+    private List<@NotNull(message = "Tax rate must not be null") @Valid TaxRateRequest> rates;
+}
@@ -10,6 +10,9 @@ import lombok.NoArgsConstructor;
 import java.time.OffsetDateTime;
 import java.util.List;
 
+/**
+ * Written by {@code json.ApiErrorSerializer}; keep it in step with these fields.
+ */
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
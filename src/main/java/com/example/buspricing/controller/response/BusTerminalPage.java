@@ -0,0 +1,22 @@
+package com.example.buspricing.controller.response;
+
+import com.example.buspricing.repository.BusTerminalSummary;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of the terminal listing. {@code next} is passed back as {@code after} to get the
+ * following page; it is null on the last page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BusTerminalPage {
+    private List<BusTerminalSummary> items;
+    private String next;
+}
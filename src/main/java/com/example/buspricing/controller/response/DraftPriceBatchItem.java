@@ -0,0 +1,22 @@
+package com.example.buspricing.controller.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One entry of a batch draft pricing response, in the same position as its request.
+ * Exactly one of {@code response} and {@code error} is set.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DraftPriceBatchItem {
+    private int status;
+    private DraftPriceResponse response;
+    private ApiError error;
+}
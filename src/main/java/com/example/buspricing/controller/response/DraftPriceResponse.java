@@ -1,5 +1,6 @@
 package com.example.buspricing.controller.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -8,6 +9,9 @@ import lombok.NoArgsConstructor;
 import java.math.BigDecimal;
 import java.util.List;
 
+/**
+ * Serialized by {@code json.DraftPriceResponseSerializer}; a field added here must be written there too.
+ */
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -15,5 +19,7 @@ import java.util.List;
 public class DraftPriceResponse {
     private List<ItemPrice> items;
     private BigDecimal totalPrice;
+    // Null, and then omitted, only in the compact view
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private String totalPriceDescription;
 }
@@ -1,5 +1,6 @@
 package com.example.buspricing.controller.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -7,12 +8,18 @@ import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
 
+/**
+ * JSON shape defined by {@code json.ItemPriceSerializer}, which has to follow any change to the fields.
+ */
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class ItemPrice {
+    // Null, and then omitted, only in the compact view
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private String description;
     private BigDecimal price;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private String priceDescription;
 }
@@ -0,0 +1,24 @@
+package com.example.buspricing.controller.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk route fare import. Fare files are large, so only rejected rows are listed, and only
+ * the first 1000 of them.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RouteFareImportResult {
+    private int total;
+    private int written;
+    private int invalid;
+    private long elapsedMillis;
+    private List<RouteFareImportRow> rejected;
+}
@@ -0,0 +1,24 @@
+package com.example.buspricing.controller.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * A rejected fare row and why it was rejected.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public class RouteFareImportRow {
+    private int row;
+    private String origin;
+    private String destination;
+    private List<ApiError.FieldErrorItem> errors;
+}
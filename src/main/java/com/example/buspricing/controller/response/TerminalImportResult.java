@@ -0,0 +1,24 @@
+package com.example.buspricing.controller.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk terminal import: totals plus one entry per input row, in input order.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TerminalImportResult {
+    private int total;
+    private int created;
+    private int duplicates;
+    private int invalid;
+    private long elapsedMillis;
+    private List<TerminalImportRow> rows;
+}
@@ -0,0 +1,27 @@
+package com.example.buspricing.controller.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Result of one imported row. {@code errors} explains why a row was not created,
+ * in the same shape the single-terminal endpoint reports them.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public class TerminalImportRow {
+    public enum Status { CREATED, DUPLICATE, INVALID }
+
+    private int row;
+    private String terminalName;
+    private Status status;
+    private List<ApiError.FieldErrorItem> errors;
+}
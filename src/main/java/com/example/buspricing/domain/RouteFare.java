@@ -0,0 +1,40 @@
+package com.example.buspricing.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * The fare between two terminals, used instead of the origin's base price when a quote names a destination.
+ * Pricing reads fares from the in-memory fare matrix, which is loaded from this table.
+ */
+@Entity
+@Table(name = "ROUTE_FARES")
+@IdClass(RouteFare.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RouteFare {
+
+    @Id
+    @Column(name = "ORIGIN", nullable = false)
+    private String origin;
+
+    @Id
+    @Column(name = "DESTINATION", nullable = false)
+    private String destination;
+
+    @Column(name = "FARE", nullable = false)
+    private BigDecimal fare;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private String origin;
+        private String destination;
+    }
+}
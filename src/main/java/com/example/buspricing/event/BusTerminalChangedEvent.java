@@ -0,0 +1,8 @@
+package com.example.buspricing.event;
+
+/**
+ * Published after a bus terminal has been written, so that anything caching
+ * terminal data (e.g. base prices) can drop its copy of that terminal.
+ */
+public record BusTerminalChangedEvent(String terminalName) {
+}
@@ -0,0 +1,7 @@
+package com.example.buspricing.event;
+
+/**
+ * Published after the pricing rules have been replaced.
+ */
+public record PricingRulesChangedEvent() {
+}
@@ -0,0 +1,7 @@
+package com.example.buspricing.event;
+
+/**
+ * Published after the configured tax rates have been replaced.
+ */
+public record TaxRatesChangedEvent() {
+}
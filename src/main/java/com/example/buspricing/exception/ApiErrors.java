@@ -0,0 +1,76 @@
+package com.example.buspricing.exception;
+
+import com.example.buspricing.controller.response.ApiError;
+import org.springframework.http.HttpStatus;
+
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Builds {@link ApiError} bodies. Shared by {@link GlobalExceptionHandler} and by
+ * endpoints that report errors per entry instead of failing the whole request.
+ */
+public final class ApiErrors {
+
+    // Error timestamps are rendered to the second, so one instance serves every error within a second
+    private static volatile OffsetDateTime currentSecond = OffsetDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+
+    private ApiErrors() {
+    }
+
+    public static ApiError of(HttpStatus status,
+                              String path,
+                              String error,
+                              List<ApiError.FieldErrorItem> fieldErrors) {
+        return ApiError.builder()
+                .timestamp(timestamp())
+                .status(status.value())
+                .error(error)
+                .path(path)
+                .errors(fieldErrors)
+                .build();
+    }
+
+    public static ApiError validationFailed(String path, List<ApiError.FieldErrorItem> fieldErrors) {
+        return of(HttpStatus.BAD_REQUEST, path, "Validation failed", fieldErrors);
+    }
+
+    public static ApiError validationError(String path, ValidationErrorException ex) {
+        List<ApiError.FieldErrorItem> fieldErrors = List.of(
+                ApiError.FieldErrorItem.builder()
+                        .field(ex.getField())
+                        .message(ex.getMessage())
+                        .rejectedValue(ex.getRejectedValue())
+                        .build()
+        );
+        return of(ex.getHttpStatus(), path, "Validation error", fieldErrors);
+    }
+
+    public static ApiError unexpected(String path) {
+        return of(HttpStatus.INTERNAL_SERVER_ERROR, path, "Unexpected error", null);
+    }
+
+    /**
+     * Maps a failure to the same body {@link GlobalExceptionHandler} would produce for it.
+     */
+    public static ApiError from(Throwable ex, String path) {
+        if (ex instanceof ValidationErrorException validationError) {
+            return validationError(path, validationError);
+        }
+        return unexpected(path);
+    }
+
+    /**
+     * The current time truncated to seconds. Reading the wall clock is cheap; resolving the zone offset
+     * and building the value happens once per second.
+     */
+    static OffsetDateTime timestamp() {
+        OffsetDateTime timestamp = currentSecond;
+        if (System.currentTimeMillis() / 1000 != timestamp.toEpochSecond()) {
+            timestamp = OffsetDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+            currentSecond = timestamp;
+        }
+        return timestamp;
+    }
+}
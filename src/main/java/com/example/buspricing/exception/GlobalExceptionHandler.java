@@ -1,6 +1,7 @@
 package com.example.buspricing.exception;
 
 import com.example.buspricing.controller.response.ApiError;
+import com.example.buspricing.metrics.PricingMetrics;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -12,12 +13,18 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
-import java.time.OffsetDateTime;
 import java.util.List;
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
     private static final Logger log = LoggerFactory.getLogger(GlobalExceptionHandler.class);
+
+    private final PricingMetrics metrics;
+
+    public GlobalExceptionHandler(PricingMetrics metrics) {
+        this.metrics = metrics;
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ApiError> handleMethodArgumentNotValid(MethodArgumentNotValidException ex,
                                                                  HttpServletRequest request) {
@@ -27,7 +34,7 @@ public class GlobalExceptionHandler {
                 .map(this::toFieldItem)
                 .toList();
 
-        return buildError(HttpStatus.BAD_REQUEST, request, "Validation failed", fieldErrors);
+        return buildError(ex, HttpStatus.BAD_REQUEST, request, "Validation failed", fieldErrors);
     }
 
     @ExceptionHandler(BindException.class)
@@ -38,26 +45,27 @@ public class GlobalExceptionHandler {
                 .map(this::toFieldItem)
                 .toList();
 
-        return buildError(HttpStatus.BAD_REQUEST, request, "Validation failed", fieldErrors);
+        return buildError(ex, HttpStatus.BAD_REQUEST, request, "Validation failed", fieldErrors);
+    }
+
+    @ExceptionHandler(RequestValidationException.class)
+    public ResponseEntity<ApiError> handleRequestValidation(RequestValidationException ex,
+                                                            HttpServletRequest request) {
+        return buildError(ex, HttpStatus.BAD_REQUEST, request, "Validation failed", ex.getFieldErrors());
     }
 
     @ExceptionHandler(ValidationErrorException.class)
     public ResponseEntity<ApiError> handleValidationError(ValidationErrorException ex,
                                                       HttpServletRequest request) {
-        List<ApiError.FieldErrorItem> fieldErrors = List.of(
-                ApiError.FieldErrorItem.builder()
-                        .field(ex.getField())
-                        .message(ex.getMessage())
-                        .rejectedValue(ex.getRejectedValue())
-                        .build()
-        );
-        return buildError(ex.getHttpStatus(), request, "Validation error", fieldErrors);
+        ApiError body = ApiErrors.validationError(request.getRequestURI(), ex);
+        metrics.countError(ex, ex.getHttpStatus().value());
+        return ResponseEntity.status(ex.getHttpStatus()).body(body);
     }
 
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiError> handleAny(Exception ex, HttpServletRequest request) {
         log.error("Something went wrong", ex);
-        return buildError(HttpStatus.INTERNAL_SERVER_ERROR, request, "Unexpected error", null);
+        return buildError(ex, HttpStatus.INTERNAL_SERVER_ERROR, request, "Unexpected error", null);
     }
 
     private ApiError.FieldErrorItem toFieldItem(FieldError fe) {
@@ -68,17 +76,13 @@ public class GlobalExceptionHandler {
                 .build();
     }
 
-    private ResponseEntity<ApiError> buildError(HttpStatus status,
+    private ResponseEntity<ApiError> buildError(Exception ex,
+                                                HttpStatus status,
                                                 HttpServletRequest request,
                                                 String error,
                                                 List<ApiError.FieldErrorItem> fieldErrors) {
-        ApiError body = ApiError.builder()
-                .timestamp(OffsetDateTime.now())
-                .status(status.value())
-                .error(error)
-                .path(request.getRequestURI())
-                .errors(fieldErrors)
-                .build();
+        ApiError body = ApiErrors.of(status, request.getRequestURI(), error, fieldErrors);
+        metrics.countError(ex, status.value());
 
         return ResponseEntity.status(status).body(body);
     }
@@ -0,0 +1,21 @@
+package com.example.buspricing.exception;
+
+import com.example.buspricing.controller.response.ApiError;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * A request body that failed validation outside of {@code @Valid} argument binding, with all of
+ * its field errors. Reported like a failed {@code @Valid} ("Validation failed", 400); created
+ * without a stack trace like {@link ValidationErrorException}.
+ */
+@Getter
+public class RequestValidationException extends RuntimeException {
+    private final List<ApiError.FieldErrorItem> fieldErrors;
+
+    public RequestValidationException(List<ApiError.FieldErrorItem> fieldErrors) {
+        super("Validation failed", null, false, false);
+        this.fieldErrors = fieldErrors;
+    }
+}
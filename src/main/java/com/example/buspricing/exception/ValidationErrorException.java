@@ -3,6 +3,11 @@ package com.example.buspricing.exception;
 import lombok.*;
 import org.springframework.http.HttpStatus;
 
+/**
+ * An expected client error (unknown route, duplicate terminal, invalid parameter) reported to the
+ * client as an {@code ApiError}. It is thrown on hot paths (every quote for an unknown route) and never
+ * logged, so it is created without a stack trace or suppressed exceptions.
+ */
 @Getter
 @Setter
 public class ValidationErrorException extends RuntimeException {
@@ -13,7 +18,7 @@ public class ValidationErrorException extends RuntimeException {
                                     String message,
                                     Object rejectedValue,
                                     HttpStatus httpStatus) {
-        super(message);
+        super(message, null, false, false);
         this.field = field;
         this.rejectedValue = rejectedValue;
         this.httpStatus = httpStatus;
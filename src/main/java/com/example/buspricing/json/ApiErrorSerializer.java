@@ -0,0 +1,93 @@
+package com.example.buspricing.json;
+
+import com.example.buspricing.controller.response.ApiError;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * {@link ApiError} as {@code {"timestamp":…,"status":…,"error":…,"path":…,"errors":[…]}}, leaving out
+ * missing or empty field errors. The timestamp uses the pattern of the class's {@code @JsonFormat},
+ * in the timestamp's own offset.
+ */
+final class ApiErrorSerializer extends StdSerializer<ApiError> {
+
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private static final SerializedString TIMESTAMP = new SerializedString("timestamp");
+    private static final SerializedString STATUS = new SerializedString("status");
+    private static final SerializedString ERROR = new SerializedString("error");
+    private static final SerializedString PATH = new SerializedString("path");
+    private static final SerializedString ERRORS = new SerializedString("errors");
+    private static final SerializedString FIELD = new SerializedString("field");
+    private static final SerializedString MESSAGE = new SerializedString("message");
+    private static final SerializedString REJECTED_VALUE = new SerializedString("rejectedValue");
+
+    // ApiErrors hands out one timestamp instance per second, so the last one rendered is usually the next one asked for
+    private volatile FormattedTimestamp lastTimestamp = new FormattedTimestamp(null, null);
+
+    ApiErrorSerializer() {
+        super(ApiError.class);
+    }
+
+    @Override
+    public void serialize(ApiError error, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(error);
+        gen.writeFieldName(TIMESTAMP);
+        gen.writeString(format(error.getTimestamp()));
+        gen.writeFieldName(STATUS);
+        gen.writeNumber(error.getStatus());
+        gen.writeFieldName(ERROR);
+        gen.writeString(error.getError());
+        gen.writeFieldName(PATH);
+        gen.writeString(error.getPath());
+        List<ApiError.FieldErrorItem> fieldErrors = error.getErrors();
+        if (fieldErrors != null && !fieldErrors.isEmpty()) {
+            gen.writeFieldName(ERRORS);
+            gen.writeStartArray(fieldErrors, fieldErrors.size());
+            for (ApiError.FieldErrorItem fieldError : fieldErrors) {
+                if (fieldError == null) {
+                    gen.writeNull();
+                } else {
+                    writeFieldError(fieldError, gen, provider);
+                }
+            }
+            gen.writeEndArray();
+        }
+        gen.writeEndObject();
+    }
+
+    private static void writeFieldError(ApiError.FieldErrorItem fieldError, JsonGenerator gen,
+                                        SerializerProvider provider) throws IOException {
+        gen.writeStartObject(fieldError);
+        gen.writeFieldName(FIELD);
+        gen.writeString(fieldError.getField());
+        gen.writeFieldName(MESSAGE);
+        gen.writeString(fieldError.getMessage());
+        gen.writeFieldName(REJECTED_VALUE);
+        // Anything the client sent; left to the serializer Jackson has for its type
+        provider.defaultSerializeValue(fieldError.getRejectedValue(), gen);
+        gen.writeEndObject();
+    }
+
+    private String format(OffsetDateTime timestamp) {
+        if (timestamp == null) {
+            return null;
+        }
+        FormattedTimestamp last = lastTimestamp;
+        if (last.timestamp() != timestamp) {
+            last = new FormattedTimestamp(timestamp, TIMESTAMP_FORMAT.format(timestamp));
+            lastTimestamp = last;
+        }
+        return last.text();
+    }
+
+    private record FormattedTimestamp(OffsetDateTime timestamp, String text) {
+    }
+}
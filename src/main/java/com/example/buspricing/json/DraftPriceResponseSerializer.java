@@ -0,0 +1,53 @@
+package com.example.buspricing.json;
+
+import com.example.buspricing.controller.response.DraftPriceResponse;
+import com.example.buspricing.controller.response.ItemPrice;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * {@link DraftPriceResponse} as {@code {"items":[…],"totalPrice":…,"totalPriceDescription":…}},
+ * leaving out a null total description.
+ */
+final class DraftPriceResponseSerializer extends StdSerializer<DraftPriceResponse> {
+
+    private static final SerializedString ITEMS = new SerializedString("items");
+    private static final SerializedString TOTAL_PRICE = new SerializedString("totalPrice");
+    private static final SerializedString TOTAL_PRICE_DESCRIPTION = new SerializedString("totalPriceDescription");
+
+    DraftPriceResponseSerializer() {
+        super(DraftPriceResponse.class);
+    }
+
+    @Override
+    public void serialize(DraftPriceResponse response, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(response);
+        gen.writeFieldName(ITEMS);
+        List<ItemPrice> items = response.getItems();
+        if (items == null) {
+            gen.writeNull();
+        } else {
+            gen.writeStartArray(items, items.size());
+            for (ItemPrice item : items) {
+                if (item == null) {
+                    gen.writeNull();
+                } else {
+                    ItemPriceSerializer.write(item, gen);
+                }
+            }
+            gen.writeEndArray();
+        }
+        gen.writeFieldName(TOTAL_PRICE);
+        MoneyJsonWriter.write(gen, response.getTotalPrice());
+        if (response.getTotalPriceDescription() != null) {
+            gen.writeFieldName(TOTAL_PRICE_DESCRIPTION);
+            gen.writeString(response.getTotalPriceDescription());
+        }
+        gen.writeEndObject();
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.buspricing.json;
+
+import com.example.buspricing.controller.response.ItemPrice;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * {@link ItemPrice} as {@code {"description":…,"price":…,"priceDescription":…}}, leaving out null descriptions.
+ */
+final class ItemPriceSerializer extends StdSerializer<ItemPrice> {
+
+    private static final SerializedString DESCRIPTION = new SerializedString("description");
+    private static final SerializedString PRICE = new SerializedString("price");
+    private static final SerializedString PRICE_DESCRIPTION = new SerializedString("priceDescription");
+
+    ItemPriceSerializer() {
+        super(ItemPrice.class);
+    }
+
+    @Override
+    public void serialize(ItemPrice item, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        write(item, gen);
+    }
+
+    /**
+     * Also called directly for the items of a {@code DraftPriceResponse}, skipping the serializer lookup per item.
+     */
+    static void write(ItemPrice item, JsonGenerator gen) throws IOException {
+        gen.writeStartObject(item);
+        if (item.getDescription() != null) {
+            gen.writeFieldName(DESCRIPTION);
+            gen.writeString(item.getDescription());
+        }
+        gen.writeFieldName(PRICE);
+        MoneyJsonWriter.write(gen, item.getPrice());
+        if (item.getPriceDescription() != null) {
+            gen.writeFieldName(PRICE_DESCRIPTION);
+            gen.writeString(item.getPriceDescription());
+        }
+        gen.writeEndObject();
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.buspricing.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+/**
+ * Writes prices as JSON numbers without going through Jackson's number serializer.
+ */
+final class MoneyJsonWriter {
+
+    private static final int MONEY_SCALE = 2;
+
+    private MoneyJsonWriter() {
+    }
+
+    static void write(JsonGenerator gen, BigDecimal value) throws IOException {
+        // At scale 2 toString() is always plain notation, so it is what writeNumber(BigDecimal) would write
+        // under any WRITE_BIGDECIMAL_AS_PLAIN setting. BigDecimal keeps the string, so a price shared between
+        // items or quotes (price cards, the quote cache) is rendered once. Binary formats encode numbers
+        // natively and need the value itself.
+        if (value != null && value.scale() == MONEY_SCALE && gen.canWriteFormattedNumbers()) {
+            gen.writeNumber(value.toString());
+        } else {
+            gen.writeNumber(value);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.buspricing.json;
+
+import com.example.buspricing.controller.response.ApiError;
+import com.example.buspricing.controller.response.DraftPriceResponse;
+import com.example.buspricing.controller.response.ItemPrice;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hand-written serializers for the response bodies that get large or frequent: draft prices
+ * (hundreds of items for a group quote) and errors. Spring Boot installs every Jackson module bean
+ * into its object mapper, so they apply to JSON, CBOR and Smile on both web stacks and to the
+ * NDJSON stream.
+ * <p>
+ * Output is byte-identical to what the bean serializers produce from the classes' Jackson
+ * annotations ({@code PricingJsonModuleTest} compares both); a field added to one of these classes
+ * must be added to its serializer too.
+ */
+@Component
+public class PricingJsonModule extends SimpleModule {
+
+    public PricingJsonModule() {
+        super(PricingJsonModule.class.getSimpleName());
+        addSerializer(DraftPriceResponse.class, new DraftPriceResponseSerializer());
+        addSerializer(ItemPrice.class, new ItemPriceSerializer());
+        addSerializer(ApiError.class, new ApiErrorSerializer());
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.buspricing.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Meters for each stage of the pricing pipeline, published as {@code pricing.stage} timers tagged
+ * with the stage name (percentile histograms, so p99 per stage can be computed in Prometheus),
+ * plus counters for priced lines and for errors returned to clients.
+ * <p>
+ * Item computation and description rendering are timed once per request, not per item, so the
+ * instrumentation cost does not grow with the passenger count.
+ */
+@Component
+public class PricingMetrics {
+
+    public static final String STAGE_TIMER = "pricing.stage";
+    public static final String LINES_COUNTER = "pricing.lines";
+    public static final String ERRORS_COUNTER = "pricing.errors";
+
+    private final MeterRegistry registry;
+    private final Timer draft;
+    private final Timer basePrice;
+    private final Timer taxRates;
+    private final Timer items;
+    private final Timer descriptions;
+    private final Counter passengerLines;
+    private final Counter luggageLines;
+    // Saves building and sorting the tags of an error counter on every error response
+    private final ConcurrentMap<ErrorKey, Counter> errorCounters = new ConcurrentHashMap<>();
+
+    public PricingMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.draft = stageTimer(registry, "draft");
+        this.basePrice = stageTimer(registry, "base_price");
+        this.taxRates = stageTimer(registry, "tax_rates");
+        this.items = stageTimer(registry, "items");
+        this.descriptions = stageTimer(registry, "descriptions");
+        this.passengerLines = lineCounter(registry, "passenger");
+        this.luggageLines = lineCounter(registry, "luggage");
+    }
+
+    /**
+     * Whole draft quote as handled by the controller.
+     */
+    public Timer draft() {
+        return draft;
+    }
+
+    public Timer basePrice() {
+        return basePrice;
+    }
+
+    public Timer taxRates() {
+        return taxRates;
+    }
+
+    /**
+     * Records the time one request spent computing item prices and then rendering descriptions.
+     */
+    public void recordPricing(long itemsNanos, long descriptionsNanos) {
+        descriptions.record(descriptionsNanos, TimeUnit.NANOSECONDS);
+        recordPricing(itemsNanos);
+    }
+
+    /**
+     * Records one request priced without a description pass (compact view).
+     */
+    public void recordPricing(long itemsNanos) {
+        items.record(itemsNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Counts the passenger and luggage lines of one quote, including quotes served from the quote cache,
+     * which record no stage timings.
+     */
+    public void countLines(int passengerCount, int luggageCount) {
+        passengerLines.increment(passengerCount);
+        luggageLines.increment(luggageCount);
+    }
+
+    public void countError(Throwable error, int status) {
+        countError(error.getClass(), status);
+    }
+
+    /**
+     * For errors reported without an exception being thrown, tagged with the exception the framework would have used.
+     */
+    public void countError(Class<? extends Throwable> errorType, int status) {
+        errorCounters.computeIfAbsent(new ErrorKey(errorType, status), key -> registry.counter(ERRORS_COUNTER,
+                "exception", key.errorType().getSimpleName(),
+                "status", Integer.toString(key.status()))).increment();
+    }
+
+    private static Timer stageTimer(MeterRegistry registry, String stage) {
+        return Timer.builder(STAGE_TIMER)
+                .description("Time spent in one stage of draft pricing")
+                .tag("stage", stage)
+                .publishPercentileHistogram()
+                // Most stages take microseconds; the default histogram starts at 1 ms
+                .minimumExpectedValue(Duration.ofNanos(1_000))
+                .maximumExpectedValue(Duration.ofSeconds(10))
+                .register(registry);
+    }
+
+    private static Counter lineCounter(MeterRegistry registry, String type) {
+        return Counter.builder(LINES_COUNTER)
+                .description("Item lines in returned quotes, including quotes served from the quote cache")
+                .tag("type", type)
+                .register(registry);
+    }
+
+    private record ErrorKey(Class<? extends Throwable> errorType, int status) {
+    }
+}
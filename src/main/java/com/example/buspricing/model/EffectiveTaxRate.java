@@ -0,0 +1,22 @@
+package com.example.buspricing.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * A tax rate together with the travel dates it applies to.
+ *
+ * @param validFrom first day the rate applies, or {@code null} if it has always applied
+ * @param validTo   last day the rate applies (inclusive), or {@code null} if open-ended
+ */
+public record EffectiveTaxRate(String name, BigDecimal ratePercent, LocalDate validFrom, LocalDate validTo) {
+
+    public boolean appliesOn(LocalDate date) {
+        return (validFrom == null || !date.isBefore(validFrom))
+                && (validTo == null || !date.isAfter(validTo));
+    }
+
+    public TaxRate toTaxRate() {
+        return new TaxRate(name, ratePercent);
+    }
+}
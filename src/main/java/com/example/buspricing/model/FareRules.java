@@ -0,0 +1,192 @@
+package com.example.buspricing.model;
+
+import com.example.buspricing.controller.request.Passenger;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The pricing rules for one route compiled into flat tables: the fare factor per passenger type
+ * and the cumulative luggage factor per bag count, each as a fraction of the base price, in
+ * hundredths for fixed-point pricing, and as a percentage for price descriptions. Everything is
+ * computed once when the rules are installed; pricing only reads arrays. Immutable.
+ */
+public final class FareRules {
+
+    /**
+     * Luggage is tabulated up to the most bags a passenger may declare; larger counts are computed when asked for.
+     */
+    public static final int TABULATED_BAGS = 100;
+    /**
+     * Returned by the hundredths accessors for a factor that is not a whole percentage.
+     */
+    public static final long NOT_REPRESENTABLE = Long.MIN_VALUE;
+
+    private static final BigDecimal ONE_HUNDRED = new BigDecimal("100");
+
+    private final List<PricingRules.LuggageTier> tiers;
+    private final Integer maxChargedBags;
+
+    // Indexed by Passenger.Type ordinal
+    private final BigDecimal[] fareFactors;
+    private final long[] fareHundredths;
+    private final String[] farePercents;
+    // Indexed by bag count
+    private final BigDecimal[] luggageFactors;
+    private final long[] luggageHundredths;
+    private final String[] luggagePercents;
+    private final String[] luggageBagPercents;
+    private final boolean wholePercents;
+
+    private FareRules(Map<Passenger.Type, BigDecimal> discountPercent,
+                      List<PricingRules.LuggageTier> tiers,
+                      Integer maxChargedBags) {
+        this.tiers = tiers.stream()
+                .sorted(Comparator.comparingInt(PricingRules.LuggageTier::fromBag))
+                .toList();
+        this.maxChargedBags = maxChargedBags;
+
+        Passenger.Type[] types = Passenger.Type.values();
+        fareFactors = new BigDecimal[types.length];
+        fareHundredths = new long[types.length];
+        farePercents = new String[types.length];
+        boolean whole = true;
+        for (Passenger.Type type : types) {
+            BigDecimal percent = ONE_HUNDRED.subtract(discountPercent.getOrDefault(type, BigDecimal.ZERO));
+            fareFactors[type.ordinal()] = percent.movePointLeft(2);
+            fareHundredths[type.ordinal()] = hundredths(percent);
+            farePercents[type.ordinal()] = percent.compareTo(ONE_HUNDRED) == 0 ? null : display(percent);
+            whole &= fareHundredths[type.ordinal()] != NOT_REPRESENTABLE;
+        }
+        for (PricingRules.LuggageTier tier : this.tiers) {
+            whole &= hundredths(tier.ratePercent()) != NOT_REPRESENTABLE;
+        }
+        wholePercents = whole;
+
+        luggageFactors = new BigDecimal[TABULATED_BAGS + 1];
+        luggageHundredths = new long[TABULATED_BAGS + 1];
+        luggagePercents = new String[TABULATED_BAGS + 1];
+        luggageBagPercents = new String[TABULATED_BAGS + 1];
+        BigDecimal sum = BigDecimal.ZERO;
+        BigDecimal firstRate = rate(1);
+        boolean uniform = true;
+        luggageFactors[0] = BigDecimal.ZERO;
+        luggagePercents[0] = display(sum);
+        for (int bags = 1; bags <= TABULATED_BAGS; bags++) {
+            BigDecimal rate = rate(bags);
+            sum = sum.add(rate);
+            uniform &= rate.compareTo(firstRate) == 0;
+            luggageFactors[bags] = sum.movePointLeft(2);
+            luggageHundredths[bags] = hundredths(sum);
+            luggagePercents[bags] = display(sum);
+            luggageBagPercents[bags] = uniform ? display(firstRate) : null;
+        }
+    }
+
+    public static FareRules of(Map<Passenger.Type, BigDecimal> discountPercent,
+                               List<PricingRules.LuggageTier> luggageTiers,
+                               Integer maxChargedBags) {
+        return new FareRules(discountPercent, luggageTiers, maxChargedBags);
+    }
+
+    /**
+     * @return the share of the base price this passenger type pays, e.g. 0.50
+     */
+    public BigDecimal fareFactor(Passenger.Type type) {
+        return fareFactors[type.ordinal()];
+    }
+
+    /**
+     * @return {@link #fareFactor} in hundredths, or {@link #NOT_REPRESENTABLE}
+     */
+    public long fareHundredths(Passenger.Type type) {
+        return fareHundredths[type.ordinal()];
+    }
+
+    /**
+     * @return the share paid as displayed, e.g. {@code "50"}, or {@code null} for the full price
+     */
+    public String farePercent(Passenger.Type type) {
+        return farePercents[type.ordinal()];
+    }
+
+    /**
+     * @return the share of the base price charged for this many bags together, e.g. 0.60 for two bags at 30%
+     */
+    public BigDecimal luggageFactor(int bags) {
+        return bags <= TABULATED_BAGS ? luggageFactors[bags] : percentSum(bags).movePointLeft(2);
+    }
+
+    /**
+     * @return {@link #luggageFactor} in hundredths, or {@link #NOT_REPRESENTABLE}
+     */
+    public long luggageHundredths(int bags) {
+        return bags <= TABULATED_BAGS ? luggageHundredths[bags] : hundredths(percentSum(bags));
+    }
+
+    /**
+     * @return {@link #luggageFactor} as a displayed percentage, e.g. {@code "60"}
+     */
+    public String luggagePercent(int bags) {
+        return bags <= TABULATED_BAGS ? luggagePercents[bags] : display(percentSum(bags));
+    }
+
+    /**
+     * @return the per-bag rate as displayed if every one of these bags is charged at the same rate, otherwise {@code null}
+     */
+    public String luggageBagPercent(int bags) {
+        if (bags <= TABULATED_BAGS) {
+            return luggageBagPercents[bags];
+        }
+        BigDecimal firstRate = rate(1);
+        for (int bag = 2; bag <= bags; bag++) {
+            if (rate(bag).compareTo(firstRate) != 0) {
+                return null;
+            }
+        }
+        return display(firstRate);
+    }
+
+    /**
+     * @return whether every factor is a whole percentage, i.e. all hundredths accessors return a value
+     */
+    public boolean wholePercents() {
+        return wholePercents;
+    }
+
+    private BigDecimal rate(int bag) {
+        if (maxChargedBags != null && bag > maxChargedBags) {
+            return BigDecimal.ZERO;
+        }
+        BigDecimal rate = BigDecimal.ZERO;
+        for (PricingRules.LuggageTier tier : tiers) {
+            if (tier.fromBag() > bag) {
+                break;
+            }
+            rate = tier.ratePercent();
+        }
+        return rate;
+    }
+
+    private BigDecimal percentSum(int bags) {
+        BigDecimal sum = BigDecimal.ZERO;
+        for (int bag = 1; bag <= bags; bag++) {
+            sum = sum.add(rate(bag));
+        }
+        return sum;
+    }
+
+    private static long hundredths(BigDecimal percent) {
+        BigDecimal stripped = percent.stripTrailingZeros();
+        if (stripped.scale() > 0 || stripped.precision() - stripped.scale() > 18) {
+            return NOT_REPRESENTABLE;
+        }
+        return stripped.longValueExact();
+    }
+
+    private static String display(BigDecimal percent) {
+        return percent.stripTrailingZeros().toPlainString();
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.buspricing.model;
+
+import com.example.buspricing.controller.request.Passenger;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The commercial pricing rules, as configured: a discount off the base price per passenger type,
+ * luggage charged per bag as a share of the base price in tiers, an optional cap on charged bags,
+ * and per-route overrides of any of these.
+ *
+ * @param discountPercent percent off the base price per passenger type; types not listed pay the full price
+ * @param luggageTiers    per-bag rates, each applying from its bag number until the next tier; bags before
+ *                        the first tier are free
+ * @param maxChargedBags  bags beyond this many per passenger are free, or {@code null} for no cap
+ */
+public record PricingRules(Map<Passenger.Type, BigDecimal> discountPercent,
+                           List<LuggageTier> luggageTiers,
+                           Integer maxChargedBags,
+                           List<RouteRules> routes) {
+
+    public PricingRules {
+        discountPercent = discountPercent == null ? Map.of() : copy(discountPercent);
+        luggageTiers = luggageTiers == null ? List.of() : copy(luggageTiers);
+        routes = routes == null ? List.of() : copy(routes);
+    }
+
+    /**
+     * @param fromBag     first bag (1-based) charged at this rate
+     * @param ratePercent percent of the base price per bag
+     */
+    public record LuggageTier(int fromBag, BigDecimal ratePercent) {
+    }
+
+    /**
+     * Rules for one route. Discounts listed here replace the defaults for their passenger types;
+     * tiers and the cap replace the defaults when set.
+     */
+    public record RouteRules(String route,
+                             Map<Passenger.Type, BigDecimal> discountPercent,
+                             List<LuggageTier> luggageTiers,
+                             Integer maxChargedBags) {
+
+        public RouteRules {
+            discountPercent = discountPercent == null ? Map.of() : copy(discountPercent);
+            luggageTiers = luggageTiers == null ? null : copy(luggageTiers);
+        }
+    }
+
+    // Unlike Map.copyOf and List.copyOf these keep null values, so that validation can report them by field
+    private static <K, V> Map<K, V> copy(Map<K, V> map) {
+        return Collections.unmodifiableMap(new LinkedHashMap<>(map));
+    }
+
+    private static <T> List<T> copy(List<T> list) {
+        return Collections.unmodifiableList(new ArrayList<>(list));
+    }
+}
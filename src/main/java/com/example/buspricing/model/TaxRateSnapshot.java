@@ -0,0 +1,47 @@
+package com.example.buspricing.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * The tax rates in effect over a date interval, with everything pricing needs from them
+ * computed once: the summed percentage, the price multiplier ({@code 1 + sum / 100}) and
+ * the percentage as displayed in price descriptions.
+ *
+ * @param validFrom  first day of the interval
+ * @param validUntil first day after the interval ({@link LocalDate#MAX} if open-ended)
+ */
+public record TaxRateSnapshot(List<TaxRate> rates,
+                              BigDecimal percentSum,
+                              BigDecimal multiplier,
+                              String percentDisplay,
+                              LocalDate validFrom,
+                              LocalDate validUntil) {
+
+    private static final BigDecimal ONE_HUNDRED = new BigDecimal("100");
+
+    public TaxRateSnapshot {
+        rates = List.copyOf(rates);
+    }
+
+    /**
+     * A snapshot of the given rates that applies on every date.
+     */
+    public static TaxRateSnapshot of(List<TaxRate> rates) {
+        return of(rates, LocalDate.MIN, LocalDate.MAX);
+    }
+
+    public static TaxRateSnapshot of(List<TaxRate> rates, LocalDate validFrom, LocalDate validUntil) {
+        BigDecimal percentSum = rates.stream()
+                .map(TaxRate::ratePercent)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        BigDecimal multiplier = BigDecimal.ONE.add(percentSum.divide(ONE_HUNDRED));
+        String percentDisplay = percentSum.stripTrailingZeros().toPlainString();
+        return new TaxRateSnapshot(rates, percentSum, multiplier, percentDisplay, validFrom, validUntil);
+    }
+
+    public boolean covers(LocalDate date) {
+        return !date.isBefore(validFrom) && date.isBefore(validUntil);
+    }
+}
@@ -1,8 +1,32 @@
 package com.example.buspricing.repository;
 
 import com.example.buspricing.domain.BusTerminal;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.util.List;
 
 public interface BusTerminalRepository extends JpaRepository<BusTerminal, String> {
-}
 
+    @Query("select t.terminalName from BusTerminal t")
+    List<String> findAllTerminalNames();
+
+    /**
+     * Terminals named after {@code after}, in name order, with a base price within the given bounds
+     * (null for no bound). Only the page size of {@code page} is used: the page starts at {@code after}
+     * on the primary key index, so a deep page costs the same as the first.
+     */
+    @Query("select new com.example.buspricing.repository.BusTerminalSummary(t.terminalName, t.basePrice)"
+            + " from BusTerminal t"
+            + " where t.terminalName > :after"
+            + " and (:minPrice is null or t.basePrice >= :minPrice)"
+            + " and (:maxPrice is null or t.basePrice <= :maxPrice)"
+            + " order by t.terminalName")
+    List<BusTerminalSummary> findPageAfter(@Param("after") String after,
+                                           @Param("minPrice") BigDecimal minPrice,
+                                           @Param("maxPrice") BigDecimal maxPrice,
+                                           Pageable page);
+}
@@ -0,0 +1,10 @@
+package com.example.buspricing.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * A terminal as listed by {@link BusTerminalRepository#findPageAfter}, built straight from the query
+ * row so no managed entity is loaded.
+ */
+public record BusTerminalSummary(String terminalName, BigDecimal basePrice) {
+}
@@ -1,30 +1,135 @@
 package com.example.buspricing.service;
 
+import com.example.buspricing.config.BasePriceCacheProperties;
 import com.example.buspricing.domain.BusTerminal;
+import com.example.buspricing.event.BusTerminalChangedEvent;
 import com.example.buspricing.exception.ValidationErrorException;
 import com.example.buspricing.repository.BusTerminalRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.context.event.EventListener;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
+/**
+ * Read-through base price lookup. Prices are served from a bounded cache and
+ * loaded from BUS_TERMINALS on a miss; terminal writes evict the affected entry.
+ * Routes found missing are remembered for a short time, so repeated quotes for them
+ * do not reach the database either; creating the terminal forgets the entry.
+ * <p>
+ * Concurrent misses for the same route share one load: the first caller queries the database
+ * and the others wait for its result, up to {@code pricing.base-price-cache.load-timeout}.
+ * Loads in progress are tracked per route in a concurrent map, so lookups of different
+ * routes never wait for each other.
+ */
 @Service
 public class BasePriceServiceImpl implements BasePriceService {
 
     private final BusTerminalRepository repository;
+    private final Cache<String, BigDecimal> cache;
+    private final Cache<String, Boolean> unknownRoutes;
+    private final Duration loadTimeout;
+    // Completes with the price, or with null for an unknown route
+    private final ConcurrentMap<String, CompletableFuture<BigDecimal>> loads = new ConcurrentHashMap<>();
 
-    public BasePriceServiceImpl(BusTerminalRepository repository) {
+    public BasePriceServiceImpl(BusTerminalRepository repository,
+                                Cache<String, BigDecimal> basePriceCache,
+                                Cache<String, Boolean> unknownRouteCache,
+                                BasePriceCacheProperties properties) {
         this.repository = repository;
+        this.cache = basePriceCache;
+        this.unknownRoutes = unknownRouteCache;
+        this.loadTimeout = properties.loadTimeout();
     }
 
     @Override
     public BigDecimal getBasePrice(String route) {
-        return repository.findById(route)
-                .map(BusTerminal::getBasePrice)
-                .orElseThrow(() -> new ValidationErrorException("route",
-                        "route not found",
-                        route,
-                        HttpStatus.NOT_FOUND));
+        // Caffeine does not accept null keys; an absent route is simply not found
+        BigDecimal basePrice = route == null ? null : cache.getIfPresent(route);
+        if (basePrice == null && route != null && unknownRoutes.getIfPresent(route) == null) {
+            basePrice = load(route);
+        }
+        if (basePrice == null) {
+            throw new ValidationErrorException("route",
+                    "route not found",
+                    route,
+                    HttpStatus.NOT_FOUND);
+        }
+        return basePrice;
+    }
+
+    @EventListener
+    public void onBusTerminalChanged(BusTerminalChangedEvent event) {
+        // A load already running may have read the old row; dropping it before invalidating keeps its
+        // result out of the cache (see load)
+        loads.remove(event.terminalName());
+        cache.invalidate(event.terminalName());
+        unknownRoutes.invalidate(event.terminalName());
     }
-}
 
+    /**
+     * Loads the price once for all concurrent callers. Runs outside the cache's compute lock
+     * (and holds no monitor while waiting): a JDBC call inside it would pin a virtual thread.
+     */
+    private BigDecimal load(String route) {
+        CompletableFuture<BigDecimal> load = new CompletableFuture<>();
+        CompletableFuture<BigDecimal> running = loads.putIfAbsent(route, load);
+        if (running != null) {
+            return await(route, running);
+        }
+        try {
+            BigDecimal basePrice = repository.findById(route)
+                    .map(BusTerminal::getBasePrice)
+                    .orElse(null);
+            // Cache first, then retire the load. A terminal change at any point after the read removes the load
+            // before invalidating, so either its invalidation comes after this put or the remove below fails
+            // and the possibly stale entry is taken back out here.
+            if (basePrice != null) {
+                cache.put(route, basePrice);
+            } else {
+                unknownRoutes.put(route, Boolean.TRUE);
+            }
+            if (!loads.remove(route, load)) {
+                cache.invalidate(route);
+                unknownRoutes.invalidate(route);
+            }
+            load.complete(basePrice);
+            return basePrice;
+        } catch (RuntimeException | Error ex) {
+            loads.remove(route, load);
+            load.completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    private BigDecimal await(String route, CompletableFuture<BigDecimal> load) {
+        try {
+            return load.get(loadTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException ex) {
+            // The waiter sees the loader's failure as if it had run the query itself
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (ex.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(ex.getCause());
+        } catch (TimeoutException ex) {
+            throw new ValidationErrorException("route",
+                    "base price lookup timed out",
+                    route,
+                    HttpStatus.SERVICE_UNAVAILABLE);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the base price of " + route, ex);
+        }
+    }
+}
@@ -0,0 +1,323 @@
+package com.example.buspricing.service;
+
+import com.example.buspricing.config.TerminalImportProperties;
+import com.example.buspricing.controller.request.BusTerminalRequest;
+import com.example.buspricing.controller.response.ApiError;
+import com.example.buspricing.controller.response.TerminalImportResult;
+import com.example.buspricing.controller.response.TerminalImportRow;
+import com.example.buspricing.event.BusTerminalChangedEvent;
+import com.example.buspricing.exception.ValidationErrorException;
+import com.example.buspricing.util.BoundedLineReader;
+import com.example.buspricing.util.CsvFields;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Imports many bus terminals in one request, from a JSON array of {@link BusTerminalRequest}s
+ * or from CSV lines {@code terminalName,basePrice} (header optional).
+ * <p>
+ * Input is read incrementally and written in chunks of {@code pricing.terminal-import.chunk-size}
+ * rows: one {@code IN (...)} query finds the rows of a chunk that already exist, and the rest are
+ * inserted with one JDBC batch, both in one transaction. Existing terminals are reported as
+ * duplicates and never updated, so re-running an import is harmless. Chunks written before a
+ * malformed body is detected stay written.
+ */
+@Service
+public class BusTerminalImportService {
+    private static final Logger log = LoggerFactory.getLogger(BusTerminalImportService.class);
+
+    static final String CSV_HEADER = "terminalName,basePrice";
+
+    private static final String SELECT_EXISTING =
+            "SELECT TERMINAL_NAME FROM BUS_TERMINALS WHERE TERMINAL_NAME IN (:names)";
+    private static final String INSERT =
+            "INSERT INTO BUS_TERMINALS (TERMINAL_NAME, BASE_PRICE) VALUES (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TerminalImportProperties properties;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader requestReader;
+
+    public BusTerminalImportService(JdbcTemplate jdbcTemplate,
+                                    TransactionTemplate transactionTemplate,
+                                    Validator validator,
+                                    ApplicationEventPublisher eventPublisher,
+                                    TerminalImportProperties properties,
+                                    ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = transactionTemplate;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.requestReader = objectMapper.readerFor(BusTerminalRequest.class)
+                .with(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+    }
+
+    /**
+     * Imports a JSON array of terminals. An element that cannot be bound to a terminal is
+     * reported as invalid; a body that is not a well-formed JSON array is rejected.
+     */
+    public TerminalImportResult importJson(InputStream in) throws IOException {
+        Import result = new Import();
+        try (JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw malformed("Expected a JSON array of terminals", null);
+            }
+            int row = 0;
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == null) {
+                    throw malformed("Unterminated JSON array", null);
+                }
+                row++;
+                JsonNode element = parser.readValueAsTree();
+                BusTerminalRequest request;
+                try {
+                    request = requestReader.readValue(element);
+                } catch (JsonProcessingException ex) {
+                    result.invalid(row, element.path("terminalName").textValue(),
+                            fieldError("body", "Malformed terminal: " + ex.getOriginalMessage(), null));
+                    continue;
+                }
+                result.add(row, request);
+            }
+        } catch (JsonProcessingException ex) {
+            throw malformed("Malformed JSON: " + ex.getOriginalMessage(), null);
+        }
+        return result.finish();
+    }
+
+    /**
+     * Imports CSV lines of {@code terminalName,basePrice}. Blank lines are skipped and row numbers
+     * are line numbers. A line with the wrong number of fields or an unparseable price is
+     * reported as invalid.
+     */
+    public TerminalImportResult importCsv(InputStream in) throws IOException {
+        Import result = new Import();
+        BoundedLineReader lines = new BoundedLineReader(in, (int) properties.maxLineLength().toBytes());
+        int row = 0;
+        BoundedLineReader.Line line;
+        while ((line = lines.next()) != null) {
+            row++;
+            if (line.isTooLong()) {
+                result.invalid(row, null, fieldError("line", "Line exceeds "
+                        + properties.maxLineLength().toBytes() + " bytes", null));
+                continue;
+            }
+            if (line.isBlank()) {
+                continue;
+            }
+            String text = new String(line.bytes(), StandardCharsets.UTF_8);
+            if (row == 1) {
+                text = stripByteOrderMark(text);
+                if (text.strip().equalsIgnoreCase(CSV_HEADER)) {
+                    continue;
+                }
+            }
+            parseCsvRow(result, row, text);
+        }
+        return result.finish();
+    }
+
+    private void parseCsvRow(Import result, int row, String text) {
+        List<String> fields;
+        try {
+            fields = CsvFields.split(text);
+        } catch (IllegalArgumentException ex) {
+            result.invalid(row, null, fieldError("line", ex.getMessage(), text));
+            return;
+        }
+        if (fields.size() != 2) {
+            result.invalid(row, null, fieldError("line",
+                    "Expected 2 fields (" + CSV_HEADER + ") but found " + fields.size(), text));
+            return;
+        }
+        String name = fields.get(0).strip();
+        String price = fields.get(1).strip();
+        BigDecimal basePrice = null;
+        if (!price.isEmpty()) {
+            try {
+                basePrice = new BigDecimal(price);
+            } catch (NumberFormatException ex) {
+                result.invalid(row, name, fieldError("basePrice", "Base price must be a decimal number", price));
+                return;
+            }
+        }
+        result.add(row, BusTerminalRequest.builder().terminalName(name).basePrice(basePrice).build());
+    }
+
+    private static String stripByteOrderMark(String text) {
+        return !text.isEmpty() && text.charAt(0) == '\uFEFF' ? text.substring(1) : text;
+    }
+
+    private static ValidationErrorException malformed(String message, Object rejectedValue) {
+        return new ValidationErrorException("body", message, rejectedValue, HttpStatus.BAD_REQUEST);
+    }
+
+    private static ApiError.FieldErrorItem fieldError(String field, String message, Object rejectedValue) {
+        return ApiError.FieldErrorItem.builder()
+                .field(field)
+                .message(message)
+                .rejectedValue(rejectedValue)
+                .build();
+    }
+
+    private List<ApiError.FieldErrorItem> validate(BusTerminalRequest request) {
+        return validator.validate(request).stream()
+                .sorted(Comparator.comparing((ConstraintViolation<BusTerminalRequest> v) -> v.getPropertyPath().toString())
+                        .thenComparing(ConstraintViolation::getMessage))
+                .map(v -> fieldError(v.getPropertyPath().toString(), v.getMessage(), v.getInvalidValue()))
+                .toList();
+    }
+
+    /**
+     * Writes one chunk and marks each of its rows created or duplicate.
+     * A concurrent insert of the same name between the check and the batch rolls the chunk back,
+     * and it is retried once against the then-current table.
+     */
+    private void write(List<Pending> chunk) {
+        try {
+            writeOnce(chunk);
+        } catch (DuplicateKeyException ex) {
+            log.debug("Terminal import chunk raced a concurrent insert, retrying", ex);
+            writeOnce(chunk);
+        }
+        for (Pending pending : chunk) {
+            if (pending.row.getStatus() == TerminalImportRow.Status.CREATED) {
+                // Drop any cached copy of this terminal (e.g. a cached "not found")
+                eventPublisher.publishEvent(new BusTerminalChangedEvent(pending.request.getTerminalName()));
+            }
+        }
+    }
+
+    private void writeOnce(List<Pending> chunk) {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<String> names = chunk.stream().map(p -> p.request.getTerminalName()).toList();
+            Set<String> existing = new HashSet<>(namedJdbcTemplate.queryForList(
+                    SELECT_EXISTING, Map.of("names", names), String.class));
+
+            List<Object[]> inserts = new ArrayList<>(chunk.size());
+            for (Pending pending : chunk) {
+                if (existing.contains(pending.request.getTerminalName())) {
+                    pending.row.setStatus(TerminalImportRow.Status.DUPLICATE);
+                    pending.row.setErrors(List.of(fieldError("terminalName",
+                            "terminal already exists", pending.request.getTerminalName())));
+                } else {
+                    pending.row.setStatus(TerminalImportRow.Status.CREATED);
+                    pending.row.setErrors(null);
+                    inserts.add(new Object[]{pending.request.getTerminalName(), pending.request.getBasePrice()});
+                }
+            }
+            if (!inserts.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT, inserts);
+            }
+        });
+    }
+
+    private record Pending(TerminalImportRow row, BusTerminalRequest request) {
+    }
+
+    /**
+     * Accumulates the rows of one import, writing them out a chunk at a time.
+     */
+    private final class Import {
+        private final long start = System.nanoTime();
+        private final List<TerminalImportRow> rows = new ArrayList<>();
+        private final Set<String> seenNames = new HashSet<>();
+        private List<Pending> chunk = new ArrayList<>(properties.chunkSize());
+
+        void add(int row, BusTerminalRequest request) {
+            List<ApiError.FieldErrorItem> errors = validate(request);
+            if (!errors.isEmpty()) {
+                invalid(row, request.getTerminalName(), errors.toArray(ApiError.FieldErrorItem[]::new));
+                return;
+            }
+            TerminalImportRow result = TerminalImportRow.builder()
+                    .row(row)
+                    .terminalName(request.getTerminalName())
+                    .build();
+            rows.add(result);
+            if (!seenNames.add(request.getTerminalName())) {
+                result.setStatus(TerminalImportRow.Status.DUPLICATE);
+                result.setErrors(List.of(fieldError("terminalName",
+                        "terminal appears earlier in this import", request.getTerminalName())));
+                return;
+            }
+            chunk.add(new Pending(result, request));
+            if (chunk.size() >= properties.chunkSize()) {
+                flush();
+            }
+        }
+
+        void invalid(int row, String terminalName, ApiError.FieldErrorItem... errors) {
+            rows.add(TerminalImportRow.builder()
+                    .row(row)
+                    .terminalName(terminalName)
+                    .status(TerminalImportRow.Status.INVALID)
+                    .errors(List.of(errors))
+                    .build());
+        }
+
+        private void flush() {
+            if (!chunk.isEmpty()) {
+                write(chunk);
+                chunk = new ArrayList<>(properties.chunkSize());
+            }
+        }
+
+        TerminalImportResult finish() {
+            flush();
+            int created = 0;
+            int duplicates = 0;
+            int invalid = 0;
+            for (TerminalImportRow row : rows) {
+                switch (row.getStatus()) {
+                    case CREATED -> created++;
+                    case DUPLICATE -> duplicates++;
+                    case INVALID -> invalid++;
+                }
+            }
+            return TerminalImportResult.builder()
+                    .total(rows.size())
+                    .created(created)
+                    .duplicates(duplicates)
+                    .invalid(invalid)
+                    .elapsedMillis((System.nanoTime() - start) / 1_000_000)
+                    .rows(rows)
+                    .build();
+        }
+    }
+}
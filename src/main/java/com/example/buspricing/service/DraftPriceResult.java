@@ -0,0 +1,21 @@
+package com.example.buspricing.service;
+
+import com.example.buspricing.controller.response.DraftPriceResponse;
+
+/**
+ * Outcome of pricing one request of a batch: either a response or the failure that prevented it.
+ */
+public record DraftPriceResult(DraftPriceResponse response, Throwable error) {
+
+    public static DraftPriceResult success(DraftPriceResponse response) {
+        return new DraftPriceResult(response, null);
+    }
+
+    public static DraftPriceResult failure(Throwable error) {
+        return new DraftPriceResult(null, error);
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.buspricing.service;
+
+import com.example.buspricing.config.PricingStreamProperties;
+import com.example.buspricing.controller.request.DraftPriceRequest;
+import com.example.buspricing.controller.request.DraftPriceView;
+import com.example.buspricing.controller.response.ApiError;
+import com.example.buspricing.controller.response.DraftPriceBatchItem;
+import com.example.buspricing.exception.ApiErrors;
+import com.example.buspricing.exception.ValidationErrorException;
+import com.example.buspricing.metrics.PricingMetrics;
+import com.example.buspricing.util.BoundedLineReader;
+import com.example.buspricing.validation.DraftPriceRequestValidator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Prices a stream of newline-delimited {@link DraftPriceRequest}s into a stream of
+ * newline-delimited {@link DraftPriceBatchItem}s: one output line per non-blank input line,
+ * in input order. A line that fails to parse, validate or price yields an error item and the
+ * stream carries on.
+ * <p>
+ * Lines are parsed and priced on the pricing executor, at most {@code pricing.stream.max-in-flight}
+ * ahead of the line being written. Input is only read as fast as output can be written, so a
+ * slow consumer slows down the producer and memory use stays constant however long the stream is.
+ */
+@Service
+public class DraftPriceStreamService {
+    private static final Logger log = LoggerFactory.getLogger(DraftPriceStreamService.class);
+
+    private final PricingService pricingService;
+    private final DraftPriceRequestValidator requestValidator;
+    private final PricingMetrics metrics;
+    private final PricingStreamProperties properties;
+    private final Executor pricingExecutor;
+    private final ObjectReader requestReader;
+    private final ObjectWriter itemWriter;
+
+    public DraftPriceStreamService(PricingService pricingService,
+                                   DraftPriceRequestValidator requestValidator,
+                                   PricingMetrics metrics,
+                                   PricingStreamProperties properties,
+                                   ObjectMapper objectMapper,
+                                   @Qualifier("pricingExecutor") Executor pricingExecutor) {
+        this.pricingService = pricingService;
+        this.requestValidator = requestValidator;
+        this.metrics = metrics;
+        this.properties = properties;
+        this.pricingExecutor = pricingExecutor;
+        this.requestReader = objectMapper.readerFor(DraftPriceRequest.class);
+        this.itemWriter = objectMapper.writerFor(DraftPriceBatchItem.class);
+    }
+
+    /**
+     * Reads requests from {@code in} until it ends and writes results to {@code out}.
+     * Output is flushed whenever no further input is immediately available.
+     *
+     * @param path request path reported in error items
+     * @param view how much of each draft price to compute
+     */
+    public void price(InputStream in, OutputStream out, String path, DraftPriceView view) throws IOException {
+        BoundedLineReader lines = new BoundedLineReader(in, (int) properties.maxLineLength().toBytes());
+        Deque<CompletableFuture<DraftPriceBatchItem>> inFlight = new ArrayDeque<>(properties.maxInFlight());
+
+        BoundedLineReader.Line line;
+        while ((line = lines.next()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            if (inFlight.size() >= properties.maxInFlight()) {
+                write(inFlight.removeFirst().join(), out);
+            }
+            inFlight.addLast(submit(line, path, view));
+            while (!inFlight.isEmpty() && inFlight.peekFirst().isDone()) {
+                write(inFlight.removeFirst().join(), out);
+            }
+            if (!lines.hasBufferedInput()) {
+                out.flush();
+            }
+        }
+        while (!inFlight.isEmpty()) {
+            write(inFlight.removeFirst().join(), out);
+        }
+        out.flush();
+    }
+
+    private CompletableFuture<DraftPriceBatchItem> submit(BoundedLineReader.Line line, String path, DraftPriceView view) {
+        if (line.isTooLong()) {
+            return CompletableFuture.completedFuture(failure(null, ApiErrors.of(HttpStatus.PAYLOAD_TOO_LARGE, path,
+                    "Line longer than " + properties.maxLineLength().toBytes() + " bytes", null)));
+        }
+        return CompletableFuture.supplyAsync(() -> priceLine(line.bytes(), path, view), pricingExecutor);
+    }
+
+    private DraftPriceBatchItem priceLine(byte[] line, String path, DraftPriceView view) {
+        DraftPriceRequest request;
+        try {
+            request = requestReader.readValue(line);
+        } catch (IOException ex) {
+            return failure(ex, ApiErrors.of(HttpStatus.BAD_REQUEST, path, "Malformed JSON", null));
+        }
+
+        List<ApiError.FieldErrorItem> fieldErrors = requestValidator.validate(request);
+        if (!fieldErrors.isEmpty()) {
+            return failure(null, ApiErrors.validationFailed(path, fieldErrors));
+        }
+
+        try {
+            return DraftPriceBatchItem.builder()
+                    .status(HttpStatus.OK.value())
+                    .response(pricingService.calculateDraftPrice(request, view))
+                    .build();
+        } catch (RuntimeException ex) {
+            if (!(ex instanceof ValidationErrorException)) {
+                log.error("Something went wrong while pricing a stream entry", ex);
+            }
+            return failure(ex, ApiErrors.from(ex, path));
+        }
+    }
+
+    private DraftPriceBatchItem failure(Throwable cause, ApiError error) {
+        if (cause != null) {
+            metrics.countError(cause, error.getStatus());
+        }
+        return DraftPriceBatchItem.builder().status(error.getStatus()).error(error).build();
+    }
+
+    private void write(DraftPriceBatchItem item, OutputStream out) throws IOException {
+        try {
+            out.write(itemWriter.writeValueAsBytes(item));
+        } catch (JsonProcessingException ex) {
+            log.error("Could not serialize a stream entry", ex);
+            out.write(itemWriter.writeValueAsBytes(failure(ex, ApiErrors.unexpected(null))));
+        }
+        out.write('\n');
+    }
+}
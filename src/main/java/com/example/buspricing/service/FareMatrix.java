@@ -0,0 +1,163 @@
+package com.example.buspricing.service;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Origin-destination fares in one dense {@code int[]} of cents, indexed by interned terminal ids:
+ * the fare from terminal {@code o} to terminal {@code d} is at {@code o * capacity + d}.
+ * <p>
+ * A lookup is two hash lookups of the names and one array read; it neither allocates nor locks.
+ * The array takes {@code 4 * capacity^2} bytes, where the capacity is the number of terminals rounded
+ * up to a multiple of {@value #CAPACITY_STEP} (see {@link #bytesFor}); it is only allocated once
+ * the first fare is stored. Adding a terminal beyond the capacity copies the fares into an array one
+ * step larger, so for a moment both exist.
+ * <p>
+ * Writers (interning terminals and storing fares) are serialized; readers see a terminal's row
+ * and column as soon as its id is visible.
+ */
+public final class FareMatrix {
+
+    /**
+     * Returned by {@link #fareCents} when both terminals are known but there is no fare between them.
+     */
+    public static final int NO_FARE = -1;
+    public static final int UNKNOWN_ORIGIN = -2;
+    public static final int UNKNOWN_DESTINATION = -3;
+    /**
+     * Largest storable fare in cents, i.e. 21,474,836.47.
+     */
+    public static final int MAX_FARE_CENTS = Integer.MAX_VALUE;
+
+    static final int CAPACITY_STEP = 256;
+    // Largest multiple of the step whose square is still a valid array length
+    static final int MAX_CAPACITY = (int) Math.sqrt(Integer.MAX_VALUE - 8) / CAPACITY_STEP * CAPACITY_STEP;
+
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    // Replaced on growth; written cells are published by writing the field again
+    private volatile Cells cells = new Cells(0, null);
+
+    /**
+     * @return the fare in cents, or {@link #NO_FARE}, {@link #UNKNOWN_ORIGIN} or {@link #UNKNOWN_DESTINATION}
+     */
+    public int fareCents(String origin, String destination) {
+        Integer from = origin == null ? null : ids.get(origin);
+        if (from == null) {
+            return UNKNOWN_ORIGIN;
+        }
+        Integer to = destination == null ? null : ids.get(destination);
+        if (to == null) {
+            return UNKNOWN_DESTINATION;
+        }
+        // Ids are published after the cells that hold them, so both fit
+        Cells current = cells;
+        return current.fares == null ? NO_FARE : current.fares[from * current.capacity + to];
+    }
+
+    public boolean contains(String terminal) {
+        return terminal != null && ids.containsKey(terminal);
+    }
+
+    /**
+     * Assigns {@code terminal} the next id unless it already has one.
+     */
+    public synchronized void intern(String terminal) {
+        if (!ids.containsKey(terminal)) {
+            ensureCapacity(ids.size() + 1);
+            ids.put(terminal, ids.size());
+        }
+    }
+
+    /**
+     * Interns all {@code terminals}, growing the array at most once.
+     */
+    public synchronized void internAll(Collection<String> terminals) {
+        ensureCapacity(ids.size() + terminals.size());
+        for (String terminal : terminals) {
+            if (!ids.containsKey(terminal)) {
+                ids.put(terminal, ids.size());
+            }
+        }
+    }
+
+    /**
+     * Stores a fare between two interned terminals.
+     *
+     * @return false, storing nothing, if either terminal is unknown
+     */
+    public synchronized boolean put(String origin, String destination, int cents) {
+        if (cents < 0) {
+            throw new IllegalArgumentException("Fare must not be negative: " + cents);
+        }
+        Integer from = ids.get(origin);
+        Integer to = ids.get(destination);
+        if (from == null || to == null) {
+            return false;
+        }
+        Cells current = cells;
+        if (current.fares == null) {
+            current = new Cells(current.capacity, emptyFares(current.capacity));
+        }
+        current.fares[from * current.capacity + to] = cents;
+        cells = current;
+        return true;
+    }
+
+    public int terminalCount() {
+        return ids.size();
+    }
+
+    public int capacity() {
+        return cells.capacity;
+    }
+
+    /**
+     * @return bytes held by the fare array, 0 until the first fare is stored
+     */
+    public long bytes() {
+        Cells current = cells;
+        return current.fares == null ? 0 : 4L * current.fares.length;
+    }
+
+    /**
+     * @return bytes of the fare array for {@code terminals} terminals, e.g. 104,857,600 (100 MiB) for 5,000
+     */
+    public static long bytesFor(int terminals) {
+        long capacity = capacityFor(terminals);
+        return 4 * capacity * capacity;
+    }
+
+    private static int capacityFor(int terminals) {
+        return (terminals + CAPACITY_STEP - 1) / CAPACITY_STEP * CAPACITY_STEP;
+    }
+
+    private void ensureCapacity(int terminals) {
+        Cells current = cells;
+        if (terminals <= current.capacity) {
+            return;
+        }
+        int capacity = capacityFor(terminals);
+        if (capacity > MAX_CAPACITY) {
+            throw new IllegalStateException("A dense fare matrix holds at most " + MAX_CAPACITY + " terminals");
+        }
+        int[] fares = null;
+        if (current.fares != null) {
+            fares = emptyFares(capacity);
+            for (int row = 0; row < current.capacity; row++) {
+                System.arraycopy(current.fares, row * current.capacity, fares, row * capacity, current.capacity);
+            }
+        }
+        cells = new Cells(capacity, fares);
+    }
+
+    private static int[] emptyFares(int capacity) {
+        int[] fares = new int[capacity * capacity];
+        Arrays.fill(fares, NO_FARE);
+        return fares;
+    }
+
+    private record Cells(int capacity, int[] fares) {
+    }
+}
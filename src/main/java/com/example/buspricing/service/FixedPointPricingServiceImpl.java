@@ -0,0 +1,152 @@
+package com.example.buspricing.service;
+
+import com.example.buspricing.controller.request.DraftPriceRequest;
+import com.example.buspricing.controller.request.Passenger;
+import com.example.buspricing.controller.response.DraftPriceResponse;
+import com.example.buspricing.controller.response.ItemPrice;
+import com.example.buspricing.metrics.PricingMetrics;
+import com.example.buspricing.model.FareRules;
+import com.example.buspricing.model.TaxRateSnapshot;
+import com.example.buspricing.util.PriceDescriptionFormatter;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * Pricing engine that does the item arithmetic in scaled {@code long} minor units
+ * (cents for prices, hundredths of a percent for taxes) instead of {@link BigDecimal}.
+ * Each item is rounded HALF_UP to cents exactly as {@link PricingServiceImpl} does, so
+ * both engines return identical responses.
+ * <p>
+ * Inputs that do not fit the fixed-point representation (more than two decimals, pricing
+ * rules with fractional percentages, or values large enough to overflow) are priced by the
+ * {@link BigDecimal} engine instead.
+ * Enabled with {@code pricing.engine=fixed-point}.
+ */
+@Service
+@ConditionalOnProperty(name = "pricing.engine", havingValue = "fixed-point")
+public class FixedPointPricingServiceImpl extends PricingServiceImpl {
+
+    private static final int MINOR_UNIT_SCALE = 2;
+    private static final long NOT_REPRESENTABLE = Long.MIN_VALUE;
+
+    // Fare and luggage factors are in hundredths: 0.50 -> 50, 0.30 -> 30
+    private static final long FACTOR_SCALE = 100;
+    // 100% expressed in hundredths of a percent
+    private static final long TAX_SCALE = 10_000;
+
+    public FixedPointPricingServiceImpl(BasePriceService basePriceService,
+                                        RouteFareService routeFareService,
+                                        TaxRateService taxRateService,
+                                        PricingRuleService pricingRuleService,
+                                        PriceDescriptionFormatter descriptionFormatter,
+                                        PricingMetrics metrics,
+                                        QuoteCache quoteCache,
+                                        @Qualifier("pricingExecutor") Executor pricingExecutor) {
+        super(basePriceService, routeFareService, taxRateService, pricingRuleService, descriptionFormatter, metrics,
+                quoteCache, pricingExecutor);
+    }
+
+    @Override
+    protected DraftPriceResponse priceItems(DraftPriceRequest request, BigDecimal base, TaxRateSnapshot taxes,
+                                            FareRules rules) {
+        long baseCents = toMinorUnits(base);
+        long taxHundredths = toMinorUnits(taxes.percentSum());
+        if (baseCents == NOT_REPRESENTABLE || taxHundredths == NOT_REPRESENTABLE || !rules.wholePercents()) {
+            return super.priceItems(request, base, taxes, rules);
+        }
+        try {
+            return priceInMinorUnits(request, baseCents, taxHundredths, rules);
+        } catch (ArithmeticException overflow) {
+            return super.priceItems(request, base, taxes, rules);
+        }
+    }
+
+    private DraftPriceResponse priceInMinorUnits(DraftPriceRequest request, long baseCents, long taxHundredths,
+                                                 FareRules rules) {
+        long taxMultiplier = Math.addExact(TAX_SCALE, taxHundredths);
+        // Base price with tax, in cents times TAX_SCALE; every item is a factor of it
+        long fullFareNumerator = Math.multiplyExact(baseCents, taxMultiplier);
+
+        List<Passenger> passengers = request.getPassengers();
+        List<ItemPrice> items = new ArrayList<>(passengers.size() * 2);
+        // Same per-request memo of distinct prices as the BigDecimal engine
+        Map<Passenger.Type, QuotedItem> passengerQuotes = new EnumMap<>(Passenger.Type.class);
+        Map<Integer, QuotedItem> luggageQuotes = new HashMap<>();
+
+        for (Passenger passenger : passengers) {
+            // === Passenger ===
+            QuotedItem passengerQuote = passengerQuotes.computeIfAbsent(passenger.getType(), type -> {
+                long passengerCents = divideHalfUp(Math.multiplyExact(fullFareNumerator, rules.fareHundredths(type)),
+                        FACTOR_SCALE * TAX_SCALE);
+                return new QuotedItem(BigDecimal.valueOf(passengerCents, MINOR_UNIT_SCALE));
+            });
+            passengerQuote.quantity++;
+            items.add(ItemPrice.builder().price(passengerQuote.price).build());
+
+            // === Luggage ===
+            int luggageCount = passenger.getLuggageCount();
+            if (luggageCount > 0) {
+                QuotedItem luggageQuote = luggageQuotes.computeIfAbsent(luggageCount, count -> {
+                    long luggageCents = divideHalfUp(Math.multiplyExact(fullFareNumerator, rules.luggageHundredths(count)),
+                            FACTOR_SCALE * TAX_SCALE);
+                    return new QuotedItem(BigDecimal.valueOf(luggageCents, MINOR_UNIT_SCALE));
+                });
+                luggageQuote.quantity++;
+                items.add(ItemPrice.builder().price(luggageQuote.price).build());
+            }
+        }
+
+        long totalCents = 0;
+        for (QuotedItem quote : passengerQuotes.values()) {
+            totalCents = Math.addExact(totalCents, subtotalCents(quote));
+        }
+        for (QuotedItem quote : luggageQuotes.values()) {
+            totalCents = Math.addExact(totalCents, subtotalCents(quote));
+        }
+
+        return DraftPriceResponse.builder()
+                .items(items)
+                .totalPrice(BigDecimal.valueOf(totalCents, MINOR_UNIT_SCALE))
+                .build();
+    }
+
+    private static long subtotalCents(QuotedItem quote) {
+        return Math.multiplyExact(quote.price.unscaledValue().longValueExact(), quote.quantity);
+    }
+
+    /**
+     * @return the value in hundredths, or {@link #NOT_REPRESENTABLE} if that is not exact or does not fit a long
+     */
+    static long toMinorUnits(BigDecimal value) {
+        BigDecimal normalized = value.scale() > MINOR_UNIT_SCALE ? value.stripTrailingZeros() : value;
+        if (normalized.scale() > MINOR_UNIT_SCALE) {
+            return NOT_REPRESENTABLE;
+        }
+        BigDecimal scaled = normalized.setScale(MINOR_UNIT_SCALE);
+        if (scaled.unscaledValue().bitLength() > 62) {
+            return NOT_REPRESENTABLE;
+        }
+        return scaled.unscaledValue().longValue();
+    }
+
+    /**
+     * Integer division rounded HALF_UP (ties away from zero), matching {@link java.math.RoundingMode#HALF_UP}.
+     */
+    static long divideHalfUp(long numerator, long denominator) {
+        long quotient = numerator / denominator;
+        long remainder = numerator % denominator;
+        if (Math.abs(remainder) * 2 >= denominator) {
+            quotient += Long.signum(numerator);
+        }
+        return quotient;
+    }
+}
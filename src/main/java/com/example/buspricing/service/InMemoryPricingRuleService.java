@@ -0,0 +1,109 @@
+package com.example.buspricing.service;
+
+import com.example.buspricing.config.PricingRuleProperties;
+import com.example.buspricing.controller.request.Passenger;
+import com.example.buspricing.event.PricingRulesChangedEvent;
+import com.example.buspricing.exception.ValidationErrorException;
+import com.example.buspricing.model.FareRules;
+import com.example.buspricing.model.PricingRules;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory pricing rules. Rules come from {@code pricing.rules} and may be replaced at runtime;
+ * each replacement is validated, compiled into a new immutable {@link PricingRulePlan} and
+ * swapped in with a single write, so pricing never sees half of a change.
+ */
+@Service
+public class InMemoryPricingRuleService implements PricingRuleService {
+
+    private static final BigDecimal ONE_HUNDRED = new BigDecimal("100");
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private volatile PricingRulePlan plan;
+
+    public InMemoryPricingRuleService(PricingRuleProperties properties, ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+        this.plan = PricingRulePlan.of(validated(properties.toRules()));
+    }
+
+    @Override
+    public FareRules getFareRules(String route) {
+        return plan.forRoute(route);
+    }
+
+    @Override
+    public PricingRules getRules() {
+        return plan.rules();
+    }
+
+    @Override
+    public void replaceRules(PricingRules rules) {
+        plan = PricingRulePlan.of(validated(rules));
+        eventPublisher.publishEvent(new PricingRulesChangedEvent());
+    }
+
+    private static PricingRules validated(PricingRules rules) {
+        validate("", rules.discountPercent(), rules.luggageTiers(), rules.maxChargedBags());
+        Set<String> routes = new HashSet<>();
+        for (int i = 0; i < rules.routes().size(); i++) {
+            PricingRules.RouteRules route = rules.routes().get(i);
+            if (route == null) {
+                throw invalid("routes[" + i + "]", "route rules must not be null", null);
+            }
+            String path = "routes[" + i + "].";
+            if (route.route() == null || route.route().isBlank()) {
+                throw invalid(path + "route", "route must not be blank", route.route());
+            }
+            if (!routes.add(route.route())) {
+                throw invalid(path + "route", "route already has rules", route.route());
+            }
+            validate(path, route.discountPercent(), route.luggageTiers(), route.maxChargedBags());
+        }
+        return rules;
+    }
+
+    private static void validate(String path,
+                                 Map<Passenger.Type, BigDecimal> discountPercent,
+                                 List<PricingRules.LuggageTier> luggageTiers,
+                                 Integer maxChargedBags) {
+        for (Map.Entry<Passenger.Type, BigDecimal> discount : discountPercent.entrySet()) {
+            BigDecimal percent = discount.getValue();
+            if (percent == null || percent.signum() < 0 || percent.compareTo(ONE_HUNDRED) > 0) {
+                throw invalid(path + "discountPercent." + discount.getKey(), "discount must be between 0 and 100", percent);
+            }
+        }
+        if (luggageTiers != null) {
+            int previousFromBag = 0;
+            for (int i = 0; i < luggageTiers.size(); i++) {
+                PricingRules.LuggageTier tier = luggageTiers.get(i);
+                if (tier == null) {
+                    throw invalid(path + "luggageTiers[" + i + "]", "tier must not be null", null);
+                }
+                String tierPath = path + "luggageTiers[" + i + "].";
+                if (tier.fromBag() <= previousFromBag) {
+                    throw invalid(tierPath + "fromBag", "tiers must start at bag 1 or later, in ascending order", tier.fromBag());
+                }
+                if (tier.ratePercent() == null || tier.ratePercent().signum() < 0) {
+                    throw invalid(tierPath + "ratePercent", "rate must not be negative", tier.ratePercent());
+                }
+                previousFromBag = tier.fromBag();
+            }
+        }
+        if (maxChargedBags != null && maxChargedBags < 0) {
+            throw invalid(path + "maxChargedBags", "maxChargedBags must not be negative", maxChargedBags);
+        }
+    }
+
+    private static ValidationErrorException invalid(String field, String message, Object rejectedValue) {
+        return new ValidationErrorException(field, message, rejectedValue, HttpStatus.BAD_REQUEST);
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.buspricing.service;
+
+import com.example.buspricing.domain.RouteFare;
+import com.example.buspricing.event.BusTerminalChangedEvent;
+import com.example.buspricing.exception.ValidationErrorException;
+import com.example.buspricing.repository.BusTerminalRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.util.List;
+
+/**
+ * Origin-destination fares served from a {@link FareMatrix}. Every terminal is interned at startup,
+ * before the web server accepts requests, and as terminals are created; ROUTE_FARES is then read
+ * in one streamed query, so no quote sees a half-loaded matrix as an unknown route. Fares written by {@link RouteFareImportService} are stored in the matrix once committed,
+ * so only this instance sees them before its next start.
+ */
+@Service
+public class InMemoryRouteFareService implements RouteFareService, SmartInitializingSingleton {
+    private static final Logger log = LoggerFactory.getLogger(InMemoryRouteFareService.class);
+
+    private static final String SELECT_FARES =
+            "SELECT ORIGIN, DESTINATION, CAST(FARE * 100 AS BIGINT) FROM ROUTE_FARES";
+    private static final int FETCH_SIZE = 10_000;
+
+    private final BusTerminalRepository repository;
+    private final JdbcTemplate jdbcTemplate;
+    private final FareMatrix matrix = new FareMatrix();
+
+    public InMemoryRouteFareService(BusTerminalRepository repository, JdbcTemplate jdbcTemplate) {
+        this.repository = repository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public BigDecimal getFare(String origin, String destination) {
+        int cents = matrix.fareCents(origin, destination);
+        if (cents >= 0) {
+            return BigDecimal.valueOf(cents, 2);
+        }
+        throw switch (cents) {
+            case FareMatrix.UNKNOWN_ORIGIN -> notFound("route", "route not found", origin);
+            case FareMatrix.UNKNOWN_DESTINATION -> notFound("destination", "destination not found", destination);
+            default -> notFound("destination", "no fare from route to destination", destination);
+        };
+    }
+
+    public boolean isTerminal(String name) {
+        return matrix.contains(name);
+    }
+
+    /**
+     * Stores committed fares. Their fares must be in cents range and both terminals interned.
+     */
+    public void putFares(List<RouteFare> fares) {
+        for (RouteFare fare : fares) {
+            matrix.put(fare.getOrigin(), fare.getDestination(), fare.getFare().movePointRight(2).intValueExact());
+        }
+    }
+
+    /**
+     * Runs once all singletons exist and the schema is migrated, but before lifecycle beans such as
+     * the web server start.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        loadFares();
+    }
+
+    private void loadFares() {
+        long start = System.nanoTime();
+        matrix.internAll(repository.findAllTerminalNames());
+        int[] skipped = new int[1];
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SELECT_FARES);
+            statement.setFetchSize(FETCH_SIZE);
+            return statement;
+        }, (RowCallbackHandler) rs -> {
+            long cents = rs.getLong(3);
+            if (cents > FareMatrix.MAX_FARE_CENTS || !matrix.put(rs.getString(1), rs.getString(2), (int) cents)) {
+                skipped[0]++;
+            }
+        });
+        if (skipped[0] > 0) {
+            log.warn("Skipped {} route fares above {} cents or between unknown terminals", skipped[0], FareMatrix.MAX_FARE_CENTS);
+        }
+        log.info("Loaded route fares for {} terminals ({} bytes) in {} ms", matrix.terminalCount(), matrix.bytes(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @EventListener
+    public void onBusTerminalChanged(BusTerminalChangedEvent event) {
+        matrix.intern(event.terminalName());
+    }
+
+    private static ValidationErrorException notFound(String field, String message, String rejectedValue) {
+        return new ValidationErrorException(field, message, rejectedValue, HttpStatus.NOT_FOUND);
+    }
+}
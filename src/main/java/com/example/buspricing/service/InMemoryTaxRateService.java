@@ -1,20 +1,100 @@
 package com.example.buspricing.service;
 
-import com.example.buspricing.model.TaxRate;
+import com.example.buspricing.config.TaxRateProperties;
+import com.example.buspricing.event.TaxRatesChangedEvent;
+import com.example.buspricing.exception.ValidationErrorException;
+import com.example.buspricing.model.EffectiveTaxRate;
+import com.example.buspricing.model.TaxRateSnapshot;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
-import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
- * In-memory tax rates provider. For now returns VAT 21% for any date.
- * Extend later if needed to vary by date.
+ * In-memory, date-effective tax rates. Rates come from {@code pricing.tax.rates} and may be
+ * replaced at runtime; each replacement swaps in a new immutable {@link TaxSchedule}.
+ * <p>
+ * The snapshot for today is kept next to the schedule and only looked up again once the
+ * date leaves its validity interval, so a rate change at a year boundary takes effect at
+ * midnight without a redeploy.
  */
 @Service
 public class InMemoryTaxRateService implements TaxRateService {
 
+    private final Clock clock;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // The schedule and today's snapshot from it, swapped together
+    private final AtomicReference<State> state = new AtomicReference<>();
+
+    public InMemoryTaxRateService(TaxRateProperties properties, Clock clock, ApplicationEventPublisher eventPublisher) {
+        this.clock = clock;
+        this.eventPublisher = eventPublisher;
+        install(validated(properties.rates()));
+    }
+
+    @Override
+    public TaxRateSnapshot getSnapshot(LocalDate date) {
+        State installed = state.get();
+        if (date != null) {
+            return installed.schedule().snapshotOn(date);
+        }
+        LocalDate today = LocalDate.now(clock);
+        if (installed.today().covers(today)) {
+            return installed.today();
+        }
+        TaxRateSnapshot snapshot = installed.schedule().snapshotOn(today);
+        // Losing the race to a replacement is fine: the next call reads the new state
+        state.compareAndSet(installed, new State(installed.schedule(), snapshot));
+        return snapshot;
+    }
+
+    @Override
+    public List<EffectiveTaxRate> getEffectiveRates() {
+        return state.get().schedule().rates();
+    }
+
     @Override
-    public List<TaxRate> getTaxRates() {
-        return List.of(new TaxRate("VAT", new BigDecimal("21")));
+    public void replaceRates(List<EffectiveTaxRate> rates) {
+        install(validated(rates));
+        eventPublisher.publishEvent(new TaxRatesChangedEvent());
+    }
+
+    private void install(List<EffectiveTaxRate> rates) {
+        TaxSchedule schedule = TaxSchedule.of(rates);
+        state.set(new State(schedule, schedule.snapshotOn(LocalDate.now(clock))));
+    }
+
+    private static List<EffectiveTaxRate> validated(List<EffectiveTaxRate> rates) {
+        for (int i = 0; i < rates.size(); i++) {
+            EffectiveTaxRate rate = rates.get(i);
+            // Also checked here for rates from configuration, which skip request validation
+            if (rate.ratePercent() == null) {
+                throw new ValidationErrorException("rates[" + i + "].ratePercent",
+                        "Tax rate percent is required",
+                        null,
+                        HttpStatus.BAD_REQUEST);
+            }
+            if (rate.ratePercent().signum() < 0) {
+                throw new ValidationErrorException("rates[" + i + "].ratePercent",
+                        "Tax rate percent must not be negative",
+                        rate.ratePercent(),
+                        HttpStatus.BAD_REQUEST);
+            }
+            if (rate.validFrom() != null && rate.validTo() != null && rate.validTo().isBefore(rate.validFrom())) {
+                throw new ValidationErrorException("rates[" + i + "].validTo",
+                        "validTo must not be before validFrom",
+                        rate.validTo(),
+                        HttpStatus.BAD_REQUEST);
+            }
+        }
+        return List.copyOf(rates);
+    }
+
+    private record State(TaxSchedule schedule, TaxRateSnapshot today) {
     }
-}
\ No newline at end of file
+}
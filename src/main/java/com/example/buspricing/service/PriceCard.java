@@ -0,0 +1,94 @@
+package com.example.buspricing.service;
+
+import com.example.buspricing.controller.request.Passenger;
+import com.example.buspricing.model.FareRules;
+import com.example.buspricing.model.TaxRateSnapshot;
+import com.example.buspricing.util.PriceDescriptionFormatter;
+
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static com.example.buspricing.service.PricingServiceImpl.ROUND;
+
+/**
+ * Every item price one route can produce under one set of tax rates and pricing rules, with its
+ * price description: the fare per passenger type and the luggage price per bag count.
+ * Computed exactly as {@link PricingServiceImpl} computes them per request.
+ * <p>
+ * Luggage prices up to {@link #MAX_CACHED_LUGGAGE} bags are kept once computed; racing
+ * threads may compute the same entry twice, with identical results. Safe to share between threads.
+ */
+final class PriceCard {
+
+    static final int MAX_CACHED_LUGGAGE = 100;
+
+    private final BigDecimal base;
+    private final TaxRateSnapshot taxes;
+    private final FareRules rules;
+    private final PriceDescriptionFormatter formatter;
+    // By Passenger.Type ordinal
+    private final Quote[] passengers;
+    private final AtomicReferenceArray<Quote> luggage = new AtomicReferenceArray<>(MAX_CACHED_LUGGAGE + 1);
+
+    /**
+     * @param eagerLuggageCounts luggage prices to compute now, for 1 to this many bags
+     */
+    PriceCard(BigDecimal base, TaxRateSnapshot taxes, FareRules rules, PriceDescriptionFormatter formatter,
+              int eagerLuggageCounts) {
+        this.base = base;
+        this.taxes = taxes;
+        this.rules = rules;
+        this.formatter = formatter;
+        Passenger.Type[] types = Passenger.Type.values();
+        this.passengers = new Quote[types.length];
+        for (Passenger.Type type : types) {
+            passengers[type.ordinal()] = passengerQuote(type);
+        }
+        for (int count = 1; count <= Math.min(eagerLuggageCounts, MAX_CACHED_LUGGAGE); count++) {
+            luggage.set(count, luggageQuote(count));
+        }
+    }
+
+    BigDecimal base() {
+        return base;
+    }
+
+    TaxRateSnapshot taxes() {
+        return taxes;
+    }
+
+    FareRules rules() {
+        return rules;
+    }
+
+    Quote passenger(Passenger.Type type) {
+        return passengers[type.ordinal()];
+    }
+
+    Quote luggage(int count) {
+        if (count < 0 || count > MAX_CACHED_LUGGAGE) {
+            return luggageQuote(count);
+        }
+        Quote quote = luggage.get(count);
+        if (quote == null) {
+            quote = luggageQuote(count);
+            luggage.set(count, quote);
+        }
+        return quote;
+    }
+
+    private Quote passengerQuote(Passenger.Type type) {
+        BigDecimal preTax = base.multiply(rules.fareFactor(type));
+        BigDecimal price = preTax.multiply(taxes.multiplier()).setScale(2, ROUND);
+        return new Quote(price, formatter.passengerPriceDescription(type, rules, base, price, taxes.percentDisplay()));
+    }
+
+    private Quote luggageQuote(int count) {
+        BigDecimal preTax = base.multiply(rules.luggageFactor(count));
+        BigDecimal price = preTax.multiply(taxes.multiplier()).setScale(2, ROUND);
+        return new Quote(price, formatter.luggagePriceDescription(count, rules, base, price, taxes.percentDisplay()));
+    }
+
+    record Quote(BigDecimal price, String priceDescription) {
+    }
+}
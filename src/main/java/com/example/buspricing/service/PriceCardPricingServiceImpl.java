@@ -0,0 +1,133 @@
+package com.example.buspricing.service;
+
+import com.example.buspricing.controller.request.DraftPriceRequest;
+import com.example.buspricing.controller.request.Passenger;
+import com.example.buspricing.controller.response.DraftPriceResponse;
+import com.example.buspricing.controller.response.ItemPrice;
+import com.example.buspricing.metrics.PricingMetrics;
+import com.example.buspricing.model.FareRules;
+import com.example.buspricing.model.TaxRateSnapshot;
+import com.example.buspricing.util.PriceDescriptionFormatter;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * Pricing engine that looks item prices and their price descriptions up on the route's
+ * {@link PriceCard} instead of computing them, and computes the total as count times price
+ * per distinct item. Only the numbered item descriptions and the total are rendered per request.
+ * Responses are identical to the {@link BigDecimal} engine's. Enabled with {@code pricing.engine=price-card}.
+ * Quotes to a destination are priced by the {@link BigDecimal} engine.
+ */
+@Service
+@ConditionalOnProperty(name = "pricing.engine", havingValue = "price-card")
+public class PriceCardPricingServiceImpl extends PricingServiceImpl {
+
+    private static final Passenger.Type[] PASSENGER_TYPES = Passenger.Type.values();
+
+    private final PriceCardStore priceCards;
+    private final PriceDescriptionFormatter descriptionFormatter;
+
+    public PriceCardPricingServiceImpl(BasePriceService basePriceService,
+                                       RouteFareService routeFareService,
+                                       TaxRateService taxRateService,
+                                       PricingRuleService pricingRuleService,
+                                       PriceDescriptionFormatter descriptionFormatter,
+                                       PricingMetrics metrics,
+                                       QuoteCache quoteCache,
+                                       PriceCardStore priceCards,
+                                       @Qualifier("pricingExecutor") Executor pricingExecutor) {
+        super(basePriceService, routeFareService, taxRateService, pricingRuleService, descriptionFormatter, metrics,
+                quoteCache, pricingExecutor);
+        this.priceCards = priceCards;
+        this.descriptionFormatter = descriptionFormatter;
+    }
+
+    /**
+     * Fills in prices from the card; descriptions are left to {@link #describe}.
+     */
+    @Override
+    protected DraftPriceResponse priceItems(DraftPriceRequest request, BigDecimal base, TaxRateSnapshot taxes,
+                                            FareRules rules) {
+        if (request.getDestination() != null) {
+            // A card holds one base price per route, and fares from one origin differ by destination
+            return super.priceItems(request, base, taxes, rules);
+        }
+        PriceCard card = priceCards.card(request.getRoute(), base, taxes, rules);
+
+        List<Passenger> passengers = request.getPassengers();
+        List<ItemPrice> items = new ArrayList<>(passengers.size() * 2);
+        // Passengers per type, indexed by ordinal
+        int[] passengerLines = new int[PASSENGER_TYPES.length];
+        // Bags per luggage count, indexed by count; larger counts are totalled as they come
+        int[] luggageLines = new int[PriceCard.MAX_CACHED_LUGGAGE + 1];
+        BigDecimal total = BigDecimal.ZERO;
+
+        for (Passenger passenger : passengers) {
+            PriceCard.Quote passengerQuote = card.passenger(passenger.getType());
+            items.add(ItemPrice.builder().price(passengerQuote.price()).build());
+            passengerLines[passenger.getType().ordinal()]++;
+
+            int luggageCount = passenger.getLuggageCount();
+            if (luggageCount > 0) {
+                PriceCard.Quote luggageQuote = card.luggage(luggageCount);
+                items.add(ItemPrice.builder().price(luggageQuote.price()).build());
+                if (luggageCount < luggageLines.length) {
+                    luggageLines[luggageCount]++;
+                } else {
+                    total = total.add(luggageQuote.price());
+                }
+            }
+        }
+
+        for (Passenger.Type type : PASSENGER_TYPES) {
+            if (passengerLines[type.ordinal()] > 0) {
+                total = total.add(card.passenger(type).price().multiply(BigDecimal.valueOf(passengerLines[type.ordinal()])));
+            }
+        }
+        for (int count = 1; count < luggageLines.length; count++) {
+            if (luggageLines[count] > 0) {
+                total = total.add(card.luggage(count).price().multiply(BigDecimal.valueOf(luggageLines[count])));
+            }
+        }
+
+        return DraftPriceResponse.builder()
+                .items(items)
+                .totalPrice(total.setScale(2, ROUND))
+                .build();
+    }
+
+    /**
+     * Takes price descriptions from the card and renders the numbered item descriptions and the total.
+     */
+    @Override
+    protected void describe(DraftPriceResponse response, DraftPriceRequest request, BigDecimal base, TaxRateSnapshot taxes,
+                            FareRules rules) {
+        if (request.getDestination() != null) {
+            super.describe(response, request, base, taxes, rules);
+            return;
+        }
+        PriceCard card = priceCards.card(request.getRoute(), base, taxes, rules);
+        Iterator<ItemPrice> items = response.getItems().iterator();
+        int passengerIndex = 1;
+        for (Passenger passenger : request.getPassengers()) {
+            ItemPrice passengerItem = items.next();
+            passengerItem.setDescription(descriptionFormatter.passengerDescription(passengerIndex, passenger));
+            passengerItem.setPriceDescription(card.passenger(passenger.getType()).priceDescription());
+            int luggageCount = passenger.getLuggageCount();
+            if (luggageCount > 0) {
+                ItemPrice luggageItem = items.next();
+                luggageItem.setDescription(descriptionFormatter.luggageDescription(passengerIndex, luggageCount));
+                luggageItem.setPriceDescription(card.luggage(luggageCount).priceDescription());
+            }
+            passengerIndex++;
+        }
+        response.setTotalPriceDescription(descriptionFormatter.totalDescription(response.getTotalPrice()));
+    }
+}
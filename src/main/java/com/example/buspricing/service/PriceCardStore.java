@@ -0,0 +1,157 @@
+package com.example.buspricing.service;
+
+import com.example.buspricing.config.PriceCardProperties;
+import com.example.buspricing.domain.BusTerminal;
+import com.example.buspricing.event.BusTerminalChangedEvent;
+import com.example.buspricing.event.PricingRulesChangedEvent;
+import com.example.buspricing.event.TaxRatesChangedEvent;
+import com.example.buspricing.model.FareRules;
+import com.example.buspricing.model.TaxRateSnapshot;
+import com.example.buspricing.repository.BusTerminalRepository;
+import com.example.buspricing.util.PriceDescriptionFormatter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Price cards per route and tax snapshot for {@link PriceCardPricingServiceImpl}.
+ * <p>
+ * Cards for every terminal under today's tax rates are built once the application is ready and
+ * rebuilt for all terminals when the tax schedule or the pricing rules are replaced. A rebuild runs on the
+ * application task executor, not on the thread that replaced the rates, and fills a new map that is swapped
+ * in when complete; until then quotes keep using the current cards wherever they still match their inputs,
+ * and the rebuild reuses cards that quotes built in the meantime. Writing a terminal drops its cards,
+ * which are rebuilt by the next request for that route; a bulk import therefore costs no extra
+ * queries. Cards for other travel dates are built on first use. A card is only served for the
+ * base price and rules it was built from, so a request that sees a newer base price than its card (e.g.
+ * while the write is still being propagated) gets a fresh card instead of a stale one.
+ */
+@Component
+@ConditionalOnProperty(name = "pricing.engine", havingValue = "price-card")
+public class PriceCardStore {
+    private static final Logger log = LoggerFactory.getLogger(PriceCardStore.class);
+
+    private final BusTerminalRepository repository;
+    private final TaxRateService taxRateService;
+    private final PricingRuleService pricingRuleService;
+    private final PriceDescriptionFormatter formatter;
+    private final PriceCardProperties properties;
+    private final Executor rebuildExecutor;
+    // Route -> tax snapshot -> card; usually one snapshot per route. Replaced as a whole by a rebuild
+    private volatile Map<String, Map<TaxRateSnapshot, PriceCard>> cards = new ConcurrentHashMap<>();
+    // Set while a rebuild is queued but has not read its inputs yet, so a burst of changes queues one rebuild
+    private final AtomicBoolean rebuildQueued = new AtomicBoolean();
+    // A lock rather than a monitor: the rebuild queries the database, which would pin a virtual thread
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    public PriceCardStore(BusTerminalRepository repository,
+                          TaxRateService taxRateService,
+                          PricingRuleService pricingRuleService,
+                          PriceDescriptionFormatter formatter,
+                          PriceCardProperties properties,
+                          @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) Executor rebuildExecutor) {
+        this.repository = repository;
+        this.taxRateService = taxRateService;
+        this.pricingRuleService = pricingRuleService;
+        this.formatter = formatter;
+        this.properties = properties;
+        this.rebuildExecutor = rebuildExecutor;
+    }
+
+    /**
+     * @return the card for {@code route} under {@code taxes} and {@code rules}, built from {@code base}
+     */
+    PriceCard card(String route, BigDecimal base, TaxRateSnapshot taxes, FareRules rules) {
+        Map<TaxRateSnapshot, PriceCard> routeCards = cards.computeIfAbsent(route, r -> new ConcurrentHashMap<>(2));
+        PriceCard card = routeCards.get(taxes);
+        if (card == null || !card.base().equals(base) || card.rules() != rules) {
+            card = build(base, taxes, rules);
+            routeCards.put(taxes, card);
+        }
+        return card;
+    }
+
+    /**
+     * Builds today's cards for every terminal into a new map and swaps it in, keeping any current card
+     * that already matches. Cards for other travel dates are dropped with the old map.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildAll() {
+        rebuildLock.lock();
+        try {
+            List<BusTerminal> terminals = repository.findAll();
+            TaxRateSnapshot today = taxRateService.getSnapshot(null);
+            long start = System.nanoTime();
+            Map<String, Map<TaxRateSnapshot, PriceCard>> current = cards;
+            Map<String, Map<TaxRateSnapshot, PriceCard>> rebuilt = new ConcurrentHashMap<>(terminals.size() * 4 / 3 + 1);
+            int reused = 0;
+            for (BusTerminal terminal : terminals) {
+                String route = terminal.getTerminalName();
+                FareRules rules = pricingRuleService.getFareRules(route);
+                Map<TaxRateSnapshot, PriceCard> routeCards = current.get(route);
+                PriceCard card = routeCards == null ? null : routeCards.get(today);
+                if (card != null && card.base().equals(terminal.getBasePrice()) && card.rules() == rules) {
+                    reused++;
+                } else {
+                    card = build(terminal.getBasePrice(), today, rules);
+                }
+                Map<TaxRateSnapshot, PriceCard> rebuiltCards = new ConcurrentHashMap<>(2);
+                rebuiltCards.put(today, card);
+                rebuilt.put(route, rebuiltCards);
+            }
+            cards = rebuilt;
+            log.info("Built price cards for {} terminals ({} reused) in {} ms",
+                    terminals.size(), reused, (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    @EventListener
+    public void onBusTerminalChanged(BusTerminalChangedEvent event) {
+        cards.remove(event.terminalName());
+    }
+
+    @EventListener
+    public void onTaxRatesChanged(TaxRatesChangedEvent event) {
+        scheduleRebuild();
+    }
+
+    @EventListener
+    public void onPricingRulesChanged(PricingRulesChangedEvent event) {
+        scheduleRebuild();
+    }
+
+    private void scheduleRebuild() {
+        if (!rebuildQueued.compareAndSet(false, true)) {
+            return;
+        }
+        rebuildExecutor.execute(() -> {
+            // Cleared before the rebuild reads the rates and rules, so a change after this point queues another
+            rebuildQueued.set(false);
+            try {
+                buildAll();
+            } catch (RuntimeException ex) {
+                // Quotes still get correct cards, built on demand; only the head start is lost
+                log.error("Rebuilding price cards failed", ex);
+            }
+        });
+    }
+
+    private PriceCard build(BigDecimal base, TaxRateSnapshot taxes, FareRules rules) {
+        return new PriceCard(base, taxes, rules, formatter, properties.eagerLuggageCounts());
+    }
+}
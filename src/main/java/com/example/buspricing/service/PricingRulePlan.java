@@ -0,0 +1,52 @@
+package com.example.buspricing.service;
+
+import com.example.buspricing.controller.request.Passenger;
+import com.example.buspricing.model.FareRules;
+import com.example.buspricing.model.PricingRules;
+
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@link PricingRules} compiled for evaluation: one {@link FareRules} for routes without overrides
+ * and one per overridden route, with the overrides already merged into the defaults.
+ */
+final class PricingRulePlan {
+
+    private final PricingRules rules;
+    private final FareRules defaults;
+    private final Map<String, FareRules> routes;
+
+    private PricingRulePlan(PricingRules rules, FareRules defaults, Map<String, FareRules> routes) {
+        this.rules = rules;
+        this.defaults = defaults;
+        this.routes = routes;
+    }
+
+    static PricingRulePlan of(PricingRules rules) {
+        FareRules defaults = FareRules.of(rules.discountPercent(), rules.luggageTiers(), rules.maxChargedBags());
+        Map<String, FareRules> routes = new HashMap<>();
+        for (PricingRules.RouteRules route : rules.routes()) {
+            Map<Passenger.Type, BigDecimal> discounts = new EnumMap<>(Passenger.Type.class);
+            discounts.putAll(rules.discountPercent());
+            discounts.putAll(route.discountPercent());
+            routes.put(route.route(), FareRules.of(discounts,
+                    route.luggageTiers() != null ? route.luggageTiers() : rules.luggageTiers(),
+                    route.maxChargedBags() != null ? route.maxChargedBags() : rules.maxChargedBags()));
+        }
+        return new PricingRulePlan(rules, defaults, routes);
+    }
+
+    FareRules forRoute(String route) {
+        if (routes.isEmpty() || route == null) {
+            return defaults;
+        }
+        return routes.getOrDefault(route, defaults);
+    }
+
+    PricingRules rules() {
+        return rules;
+    }
+}
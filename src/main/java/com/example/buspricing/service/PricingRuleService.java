@@ -0,0 +1,19 @@
+package com.example.buspricing.service;
+
+import com.example.buspricing.model.FareRules;
+import com.example.buspricing.model.PricingRules;
+
+public interface PricingRuleService {
+
+    /**
+     * The rules in effect for {@code route}: its override if it has one, otherwise the defaults.
+     */
+    FareRules getFareRules(String route);
+
+    PricingRules getRules();
+
+    /**
+     * Replaces all pricing rules. Each quote is priced under either the old or the new rules, never a mix.
+     */
+    void replaceRules(PricingRules rules);
+}
@@ -1,8 +1,35 @@
 package com.example.buspricing.service;
 
 import com.example.buspricing.controller.request.DraftPriceRequest;
+import com.example.buspricing.controller.request.DraftPriceView;
 import com.example.buspricing.controller.response.DraftPriceResponse;
 
+import java.math.BigDecimal;
+import java.util.List;
+
 public interface PricingService {
-    DraftPriceResponse calculateDraftPrice(DraftPriceRequest request);
+    default DraftPriceResponse calculateDraftPrice(DraftPriceRequest request) {
+        return calculateDraftPrice(request, DraftPriceView.FULL);
+    }
+
+    /**
+     * @param view {@link DraftPriceView#COMPACT} leaves all descriptions null without rendering them
+     */
+    DraftPriceResponse calculateDraftPrice(DraftPriceRequest request, DraftPriceView view);
+
+    /**
+     * Prices a request whose base price the caller has already resolved, e.g. without blocking.
+     * Otherwise identical to {@link #calculateDraftPrice(DraftPriceRequest, DraftPriceView)}.
+     */
+    DraftPriceResponse calculateDraftPrice(DraftPriceRequest request, BigDecimal basePrice, DraftPriceView view);
+
+    default List<DraftPriceResult> calculateDraftPrices(List<DraftPriceRequest> requests) {
+        return calculateDraftPrices(requests, DraftPriceView.FULL);
+    }
+
+    /**
+     * Prices already validated requests. Results are in request order; a failing entry
+     * does not affect the others.
+     */
+    List<DraftPriceResult> calculateDraftPrices(List<DraftPriceRequest> requests, DraftPriceView view);
 }
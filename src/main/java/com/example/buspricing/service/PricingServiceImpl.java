@@ -1,91 +1,263 @@
 package com.example.buspricing.service;
 
 import com.example.buspricing.controller.request.DraftPriceRequest;
+import com.example.buspricing.controller.request.DraftPriceView;
 import com.example.buspricing.controller.request.Passenger;
 import com.example.buspricing.controller.response.DraftPriceResponse;
 import com.example.buspricing.controller.response.ItemPrice;
-import com.example.buspricing.model.TaxRate;
+import com.example.buspricing.metrics.PricingMetrics;
+import com.example.buspricing.model.FareRules;
+import com.example.buspricing.model.TaxRateSnapshot;
 import com.example.buspricing.util.PriceDescriptionFormatter;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
+/**
+ * Default pricing engine: all arithmetic in {@link BigDecimal}, with discounts and luggage rates
+ * taken from the route's compiled {@link FareRules}.
+ * Selected unless {@code pricing.engine} names another engine.
+ */
 @Service
+@ConditionalOnProperty(name = "pricing.engine", havingValue = "decimal", matchIfMissing = true)
 public class PricingServiceImpl implements PricingService {
 
-    private static final BigDecimal CHILD_DISCOUNT = new BigDecimal("0.50"); // 50%
-    private static final BigDecimal LUGGAGE_RATE = new BigDecimal("0.30");   // 30%
-    private static final RoundingMode ROUND = RoundingMode.HALF_UP;
+    static final RoundingMode ROUND = RoundingMode.HALF_UP;
 
     private final BasePriceService basePriceService;
+    private final RouteFareService routeFareService;
     private final TaxRateService taxRateService;
+    private final PricingRuleService pricingRuleService;
     private final PriceDescriptionFormatter descriptionFormatter;
+    private final PricingMetrics metrics;
+    private final QuoteCache quoteCache;
+    private final Executor pricingExecutor;
 
     public PricingServiceImpl(BasePriceService basePriceService,
+                              RouteFareService routeFareService,
                               TaxRateService taxRateService,
-                              PriceDescriptionFormatter descriptionFormatter) {
+                              PricingRuleService pricingRuleService,
+                              PriceDescriptionFormatter descriptionFormatter,
+                              PricingMetrics metrics,
+                              QuoteCache quoteCache,
+                              @Qualifier("pricingExecutor") Executor pricingExecutor) {
         this.basePriceService = basePriceService;
+        this.routeFareService = routeFareService;
         this.taxRateService = taxRateService;
+        this.pricingRuleService = pricingRuleService;
         this.descriptionFormatter = descriptionFormatter;
+        this.metrics = metrics;
+        this.quoteCache = quoteCache;
+        this.pricingExecutor = pricingExecutor;
     }
 
     @Override
-    public DraftPriceResponse calculateDraftPrice(DraftPriceRequest request) {
-        BigDecimal base = basePriceService.getBasePrice(request.getRoute());
+    public DraftPriceResponse calculateDraftPrice(DraftPriceRequest request, DraftPriceView view) {
+        String destination = request.getDestination();
+        BigDecimal base = destination == null ? basePrice(request.getRoute()) : fare(request.getRoute(), destination);
+        return calculateDraftPrice(request, base, view);
+    }
 
-        BigDecimal taxPercentSum = taxRateService.getTaxRates().stream()
-                .map(TaxRate::ratePercent)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    @Override
+    public DraftPriceResponse calculateDraftPrice(DraftPriceRequest request, BigDecimal base, DraftPriceView view) {
+        TaxRateSnapshot taxes = taxes(request.getTravelDate());
+        FareRules rules = pricingRuleService.getFareRules(request.getRoute());
+        return counted(request, quoteCache.get(request.getRoute(), base, taxes, rules, request.getPassengers(), view,
+                () -> price(request, base, taxes, rules, view)));
+    }
 
-        BigDecimal taxMultiplier = BigDecimal.ONE.add(taxPercentSum.divide(new BigDecimal("100")));
+    @Override
+    public List<DraftPriceResult> calculateDraftPrices(List<DraftPriceRequest> requests, DraftPriceView view) {
+        // Tax rates for each distinct travel date, and base price and rules for each distinct route,
+        // are resolved once for the whole batch; fares to a destination are read from memory per request
+        Map<LocalDate, TaxRateSnapshot> taxesByDate = new HashMap<>();
+        Map<String, BigDecimal> basePrices = new HashMap<>();
+        Map<String, FareRules> rulesByRoute = new HashMap<>();
+        Map<String, DraftPriceResult> failedRoutes = new HashMap<>();
+        for (DraftPriceRequest request : requests) {
+            taxesByDate.computeIfAbsent(request.getTravelDate(), this::taxes);
+            String route = request.getRoute();
+            rulesByRoute.computeIfAbsent(route, pricingRuleService::getFareRules);
+            if (request.getDestination() != null || basePrices.containsKey(route) || failedRoutes.containsKey(route)) {
+                continue;
+            }
+            try {
+                basePrices.put(route, basePrice(route));
+            } catch (RuntimeException ex) {
+                failedRoutes.put(route, DraftPriceResult.failure(ex));
+            }
+        }
 
-        List<ItemPrice> items = new ArrayList<>();
-        BigDecimal total = BigDecimal.ZERO;
+        List<CompletableFuture<DraftPriceResult>> results = new ArrayList<>(requests.size());
+        for (DraftPriceRequest request : requests) {
+            BigDecimal base;
+            if (request.getDestination() != null) {
+                try {
+                    base = fare(request.getRoute(), request.getDestination());
+                } catch (RuntimeException ex) {
+                    results.add(CompletableFuture.completedFuture(DraftPriceResult.failure(ex)));
+                    continue;
+                }
+            } else {
+                DraftPriceResult failed = failedRoutes.get(request.getRoute());
+                if (failed != null) {
+                    results.add(CompletableFuture.completedFuture(failed));
+                    continue;
+                }
+                base = basePrices.get(request.getRoute());
+            }
+            TaxRateSnapshot taxes = taxesByDate.get(request.getTravelDate());
+            FareRules rules = rulesByRoute.get(request.getRoute());
+            results.add(CompletableFuture
+                    .supplyAsync(() -> counted(request, price(request, base, taxes, rules, view)), pricingExecutor)
+                    .handle((response, ex) -> ex == null
+                            ? DraftPriceResult.success(response)
+                            : DraftPriceResult.failure(unwrap(ex))));
+        }
 
-        int passengerIndex = 1;
-        for (Passenger passenger : request.getPassengers()) {
-            // === Passenger ===
-            BigDecimal passengerPreTax = passenger.getType() == Passenger.Type.ADULT
-                    ? base
-                    : base.multiply(CHILD_DISCOUNT);
+        return results.stream()
+                .map(CompletableFuture::join)
+                .toList();
+    }
+
+    private BigDecimal basePrice(String route) {
+        return metrics.basePrice().record(() -> basePriceService.getBasePrice(route));
+    }
+
+    private BigDecimal fare(String origin, String destination) {
+        return metrics.basePrice().record(() -> routeFareService.getFare(origin, destination));
+    }
+
+    private TaxRateSnapshot taxes(LocalDate travelDate) {
+        return metrics.taxRates().record(() -> taxRateService.getSnapshot(travelDate));
+    }
+
+    private static Throwable unwrap(Throwable ex) {
+        return ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+    }
 
-            BigDecimal passengerWithTax = passengerPreTax.multiply(taxMultiplier).setScale(2, ROUND);
+    /**
+     * Prices one request once its base price and tax rates are known: first all item prices,
+     * then, unless the view is compact, their descriptions, each pass timed as one pipeline stage.
+     */
+    protected DraftPriceResponse price(DraftPriceRequest request, BigDecimal base, TaxRateSnapshot taxes,
+                                       FareRules rules, DraftPriceView view) {
+        long start = System.nanoTime();
+        DraftPriceResponse response = priceItems(request, base, taxes, rules);
+        long priced = System.nanoTime();
 
-            ItemPrice passengerItem = ItemPrice.builder()
-                    .description(descriptionFormatter.passengerDescription(passengerIndex, passenger))
-                    .price(passengerWithTax)
-                    .priceDescription(descriptionFormatter.passengerPriceDescription(passenger, base, passengerWithTax, taxPercentSum))
-                    .build();
+        if (view == DraftPriceView.COMPACT) {
+            metrics.recordPricing(priced - start);
+            return response;
+        }
+        describe(response, request, base, taxes, rules);
+        long described = System.nanoTime();
+        metrics.recordPricing(priced - start, described - priced);
+        return response;
+    }
+
+    /**
+     * Counts the lines of a quote handed out, whether it was priced or served from the quote cache.
+     */
+    private DraftPriceResponse counted(DraftPriceRequest request, DraftPriceResponse response) {
+        int passengerCount = request.getPassengers().size();
+        metrics.countLines(passengerCount, response.getItems().size() - passengerCount);
+        return response;
+    }
+
+    /**
+     * Computes the item prices and the total, without descriptions: one passenger item per
+     * passenger, followed by a luggage item if they have luggage. Passengers of the same type
+     * and with the same luggage count get the same prices, so each distinct price is computed
+     * once per request, from the factors {@code rules} has precomputed.
+     */
+    protected DraftPriceResponse priceItems(DraftPriceRequest request, BigDecimal base, TaxRateSnapshot taxes,
+                                            FareRules rules) {
+        BigDecimal taxMultiplier = taxes.multiplier();
 
-            items.add(passengerItem);
-            total = total.add(passengerWithTax);
+        List<Passenger> passengers = request.getPassengers();
+        List<ItemPrice> items = new ArrayList<>(passengers.size() * 2);
+        Map<Passenger.Type, QuotedItem> passengerQuotes = new EnumMap<>(Passenger.Type.class);
+        Map<Integer, QuotedItem> luggageQuotes = new HashMap<>();
+
+        for (Passenger passenger : passengers) {
+            // === Passenger ===
+            QuotedItem passengerQuote = passengerQuotes.computeIfAbsent(passenger.getType(), type -> {
+                BigDecimal passengerPreTax = base.multiply(rules.fareFactor(type));
+                return new QuotedItem(passengerPreTax.multiply(taxMultiplier).setScale(2, ROUND));
+            });
+            passengerQuote.quantity++;
+            items.add(ItemPrice.builder().price(passengerQuote.price).build());
 
             // === Luggage ===
-            if (passenger.getLuggageCount() > 0) {
-                BigDecimal luggageUnit = base.multiply(LUGGAGE_RATE);
-                BigDecimal luggagePreTax = luggageUnit.multiply(BigDecimal.valueOf(passenger.getLuggageCount()));
-                BigDecimal luggageWithTax = luggagePreTax.multiply(taxMultiplier).setScale(2, ROUND);
-
-                ItemPrice luggageItem = ItemPrice.builder()
-                        .description(descriptionFormatter.luggageDescription(passengerIndex, passenger.getLuggageCount()))
-                        .price(luggageWithTax)
-                        .priceDescription(descriptionFormatter.luggagePriceDescription(passenger.getLuggageCount(), base, luggageWithTax, taxPercentSum))
-                        .build();
-
-                items.add(luggageItem);
-                total = total.add(luggageWithTax);
+            int luggageCount = passenger.getLuggageCount();
+            if (luggageCount > 0) {
+                QuotedItem luggageQuote = luggageQuotes.computeIfAbsent(luggageCount, count -> {
+                    BigDecimal luggagePreTax = base.multiply(rules.luggageFactor(count));
+                    return new QuotedItem(luggagePreTax.multiply(taxMultiplier).setScale(2, ROUND));
+                });
+                luggageQuote.quantity++;
+                items.add(ItemPrice.builder().price(luggageQuote.price).build());
             }
+        }
 
-            passengerIndex++;
+        BigDecimal total = BigDecimal.ZERO;
+        for (QuotedItem quote : passengerQuotes.values()) {
+            total = total.add(quote.subtotal());
+        }
+        for (QuotedItem quote : luggageQuotes.values()) {
+            total = total.add(quote.subtotal());
         }
 
         return DraftPriceResponse.builder()
                 .items(items)
                 .totalPrice(total.setScale(2, ROUND))
-                .totalPriceDescription(descriptionFormatter.totalDescription(total))
                 .build();
     }
+
+    /**
+     * Fills in the descriptions of priced items. Price descriptions depend only on the passenger
+     * type or luggage count and are rendered once per request; only the numbered item
+     * descriptions are rendered per passenger.
+     */
+    protected void describe(DraftPriceResponse response, DraftPriceRequest request, BigDecimal base, TaxRateSnapshot taxes,
+                            FareRules rules) {
+        String taxPercent = taxes.percentDisplay();
+        Map<Passenger.Type, String> passengerPriceDescriptions = new EnumMap<>(Passenger.Type.class);
+        Map<Integer, String> luggagePriceDescriptions = new HashMap<>();
+        Iterator<ItemPrice> items = response.getItems().iterator();
+
+        int passengerIndex = 1;
+        for (Passenger passenger : request.getPassengers()) {
+            ItemPrice passengerItem = items.next();
+            passengerItem.setDescription(descriptionFormatter.passengerDescription(passengerIndex, passenger));
+            passengerItem.setPriceDescription(passengerPriceDescriptions.computeIfAbsent(passenger.getType(),
+                    type -> descriptionFormatter.passengerPriceDescription(type, rules, base, passengerItem.getPrice(), taxPercent)));
+
+            int luggageCount = passenger.getLuggageCount();
+            if (luggageCount > 0) {
+                ItemPrice luggageItem = items.next();
+                luggageItem.setDescription(descriptionFormatter.luggageDescription(passengerIndex, luggageCount));
+                luggageItem.setPriceDescription(luggagePriceDescriptions.computeIfAbsent(luggageCount,
+                        count -> descriptionFormatter.luggagePriceDescription(count, rules, base, luggageItem.getPrice(), taxPercent)));
+            }
+
+            passengerIndex++;
+        }
+
+        response.setTotalPriceDescription(descriptionFormatter.totalDescription(response.getTotalPrice()));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,191 @@
+package com.example.buspricing.service;
+
+import com.example.buspricing.controller.request.DraftPriceView;
+import com.example.buspricing.controller.request.Passenger;
+import com.example.buspricing.controller.response.DraftPriceResponse;
+import com.example.buspricing.controller.response.ItemPrice;
+import com.example.buspricing.event.PricingRulesChangedEvent;
+import com.example.buspricing.event.TaxRatesChangedEvent;
+import com.example.buspricing.model.FareRules;
+import com.example.buspricing.model.TaxRateSnapshot;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.context.event.EventListener;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of priced draft responses for requests that repeat exactly (same route, same
+ * ordered passenger types and luggage counts).
+ * <p>
+ * Keys also carry the base price, tax snapshot and compiled pricing rules the response was priced
+ * with, all of which pricing resolves before consulting this one. A changed base price, tax schedule
+ * or rule set therefore never serves a stale quote: the old entries simply stop matching and age out.
+ * A tax schedule or rule change also drops everything at once, since it affects every entry.
+ * <p>
+ * Entries are immutable and shared between threads; every hit returns a fresh response,
+ * so callers may modify what they get. A full quote also serves compact requests for the same
+ * key; a compact one is replaced by the full quote the first time a full view is requested.
+ */
+public final class QuoteCache {
+
+    public static final String MEMORY_GAUGE = "pricing.quote.cache.memory";
+    public static final String HIT_RATIO_GAUGE = "pricing.quote.cache.hit.ratio";
+
+    // Rough JVM footprint of the objects behind an entry; strings are counted at one byte per char (compact strings)
+    private static final int ENTRY_OVERHEAD = 160;
+    private static final int ITEM_OVERHEAD = 96;
+    private static final int STRING_OVERHEAD = 48;
+    private static final int LUGGAGE_BITS = 10;
+
+    private final Cache<Key, CachedQuote> cache;
+
+    private QuoteCache(Cache<Key, CachedQuote> cache) {
+        this.cache = cache;
+    }
+
+    public static QuoteCache disabled() {
+        return new QuoteCache(null);
+    }
+
+    /**
+     * @param maximumMemory bound on the estimated size of all entries, in bytes
+     */
+    public static QuoteCache bounded(long maximumMemory, Duration timeToLive) {
+        return new QuoteCache(Caffeine.newBuilder()
+                .maximumWeight(maximumMemory)
+                .weigher((Key key, CachedQuote quote) -> quote.weight() + key.weight())
+                .expireAfterWrite(timeToLive)
+                .recordStats()
+                .build());
+    }
+
+    /**
+     * Returns the cached quote for these pricing inputs, or prices it with {@code pricing} and caches the result.
+     * Concurrent misses for the same key may each price the request; the quotes are identical.
+     */
+    public DraftPriceResponse get(String route, BigDecimal base, TaxRateSnapshot taxes, FareRules rules,
+                                  List<Passenger> passengers, DraftPriceView view, Supplier<DraftPriceResponse> pricing) {
+        String fingerprint = cache == null ? null : passengerFingerprint(passengers);
+        if (fingerprint == null) {
+            return pricing.get();
+        }
+        Key key = new Key(route, fingerprint, base, taxes, rules);
+        CachedQuote quote = cache.getIfPresent(key);
+        if (quote != null && (quote.described() || view == DraftPriceView.COMPACT)) {
+            return quote.toResponse(view);
+        }
+        DraftPriceResponse response = pricing.get();
+        cache.put(key, CachedQuote.of(response, view != DraftPriceView.COMPACT));
+        return response;
+    }
+
+    @EventListener
+    public void onTaxRatesChanged(TaxRatesChangedEvent event) {
+        invalidateAll();
+    }
+
+    @EventListener
+    public void onPricingRulesChanged(PricingRulesChangedEvent event) {
+        invalidateAll();
+    }
+
+    public void invalidateAll() {
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+    }
+
+    public void bindTo(MeterRegistry registry, String name) {
+        if (cache == null) {
+            return;
+        }
+        CaffeineCacheMetrics.monitor(registry, cache, name);
+        Gauge.builder(MEMORY_GAUGE, cache, c -> c.policy().eviction()
+                        .map(eviction -> eviction.weightedSize().orElse(0))
+                        .orElse(0L))
+                .description("Estimated memory held by cached draft quotes")
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder(HIT_RATIO_GAUGE, cache, c -> c.stats().hitRate())
+                .description("Share of draft quote lookups served from the cache since startup")
+                .register(registry);
+    }
+
+    /**
+     * Canonical form of the passenger list: one char per passenger holding its type and luggage count,
+     * in request order. Null (do not cache) for passengers this encoding cannot represent.
+     */
+    static String passengerFingerprint(List<Passenger> passengers) {
+        char[] encoded = new char[passengers.size()];
+        for (int i = 0; i < encoded.length; i++) {
+            Passenger passenger = passengers.get(i);
+            int luggage = passenger.getLuggageCount();
+            if (passenger.getType() == null || luggage < 0 || luggage >= 1 << LUGGAGE_BITS) {
+                return null;
+            }
+            encoded[i] = (char) (passenger.getType().ordinal() << LUGGAGE_BITS | luggage);
+        }
+        return new String(encoded);
+    }
+
+    // FareRules compares by identity: each rule change compiles new instances
+    private record Key(String route, String passengers, BigDecimal base, TaxRateSnapshot taxes, FareRules rules) {
+        int weight() {
+            return ENTRY_OVERHEAD + 2 * STRING_OVERHEAD + route.length() + 2 * passengers.length();
+        }
+    }
+
+    private record CachedItem(String description, BigDecimal price, String priceDescription) {
+    }
+
+    private record CachedQuote(List<CachedItem> items, BigDecimal totalPrice, String totalPriceDescription,
+                               boolean described, int weight) {
+
+        static CachedQuote of(DraftPriceResponse response, boolean described) {
+            List<ItemPrice> responseItems = response.getItems();
+            List<CachedItem> items = new ArrayList<>(responseItems.size());
+            long weight = ENTRY_OVERHEAD + length(response.getTotalPriceDescription());
+            // Price descriptions are rendered once per distinct price and shared between items
+            Set<String> priceDescriptions = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (ItemPrice item : responseItems) {
+                items.add(new CachedItem(item.getDescription(), item.getPrice(), item.getPriceDescription()));
+                weight += ITEM_OVERHEAD + length(item.getDescription());
+                if (item.getPriceDescription() != null && priceDescriptions.add(item.getPriceDescription())) {
+                    weight += length(item.getPriceDescription());
+                }
+            }
+            return new CachedQuote(List.copyOf(items), response.getTotalPrice(), response.getTotalPriceDescription(),
+                    described, (int) Math.min(weight, Integer.MAX_VALUE));
+        }
+
+        private static int length(String value) {
+            return value == null ? 0 : STRING_OVERHEAD + value.length();
+        }
+
+        DraftPriceResponse toResponse(DraftPriceView view) {
+            boolean compact = view == DraftPriceView.COMPACT;
+            List<ItemPrice> responseItems = new ArrayList<>(items.size());
+            for (CachedItem item : items) {
+                responseItems.add(compact
+                        ? ItemPrice.builder().price(item.price()).build()
+                        : new ItemPrice(item.description(), item.price(), item.priceDescription()));
+            }
+            return DraftPriceResponse.builder()
+                    .items(responseItems)
+                    .totalPrice(totalPrice)
+                    .totalPriceDescription(compact ? null : totalPriceDescription)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.buspricing.service;
+
+import java.math.BigDecimal;
+
+/**
+ * A distinct item price within one request, computed once and shared by every passenger with
+ * the same type or luggage count. {@code quantity} counts those passengers so the total can be
+ * summed per distinct price instead of per item.
+ */
+final class QuotedItem {
+
+    final BigDecimal price;
+    int quantity;
+
+    QuotedItem(BigDecimal price) {
+        this.price = price;
+    }
+
+    BigDecimal subtotal() {
+        return price.multiply(BigDecimal.valueOf(quantity));
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.buspricing.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.math.BigDecimal;
+
+/**
+ * Base price lookup for the reactive stack. Cached prices are returned on the calling
+ * (event loop) thread; a miss runs the blocking {@link BasePriceService} lookup on the
+ * bounded elastic scheduler, which also fills the cache for the next request.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveBasePriceService {
+
+    private final BasePriceService basePriceService;
+    private final RouteFareService routeFareService;
+    private final Cache<String, BigDecimal> cache;
+
+    public ReactiveBasePriceService(BasePriceService basePriceService,
+                                    RouteFareService routeFareService,
+                                    Cache<String, BigDecimal> basePriceCache) {
+        this.basePriceService = basePriceService;
+        this.routeFareService = routeFareService;
+        this.cache = basePriceCache;
+    }
+
+    /**
+     * @return the fare to {@code destination} if one is given, read from memory on the calling thread,
+     * otherwise the route's base price as {@link #getBasePrice(String)} returns it
+     */
+    public Mono<BigDecimal> getBasePrice(String route, String destination) {
+        if (destination == null) {
+            return getBasePrice(route);
+        }
+        return Mono.fromCallable(() -> routeFareService.getFare(route, destination));
+    }
+
+    /**
+     * @return the base price, or an error with the same {@code ValidationErrorException} as the blocking lookup
+     */
+    public Mono<BigDecimal> getBasePrice(String route) {
+        BigDecimal cached = route == null ? null : cache.getIfPresent(route);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        return Mono.fromCallable(() -> basePriceService.getBasePrice(route))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.buspricing.service;
+
+import com.example.buspricing.config.TerminalImportProperties;
+import com.example.buspricing.controller.response.ApiError;
+import com.example.buspricing.controller.response.RouteFareImportResult;
+import com.example.buspricing.controller.response.RouteFareImportRow;
+import com.example.buspricing.domain.RouteFare;
+import com.example.buspricing.util.BoundedLineReader;
+import com.example.buspricing.util.CsvFields;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Imports route fares from CSV lines {@code origin,destination,fare} (header optional).
+ * <p>
+ * Rows are written in chunks of {@code pricing.terminal-import.chunk-size}, each with one JDBC batch
+ * in one transaction, and stored in the fare matrix once the chunk is committed. A fare that already
+ * exists is replaced, so a full fare file can be re-imported after a price change. Both terminals
+ * must exist; rows are checked against the fare matrix rather than the database.
+ */
+@Service
+public class RouteFareImportService {
+
+    static final String CSV_HEADER = "origin,destination,fare";
+    static final int MAX_REPORTED_ROWS = 1000;
+
+    private static final String MERGE =
+            "MERGE INTO ROUTE_FARES (ORIGIN, DESTINATION, FARE) KEY (ORIGIN, DESTINATION) VALUES (?, ?, ?)";
+    private static final BigDecimal MAX_FARE = BigDecimal.valueOf(FareMatrix.MAX_FARE_CENTS, 2);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final InMemoryRouteFareService fareService;
+    private final TerminalImportProperties properties;
+
+    public RouteFareImportService(JdbcTemplate jdbcTemplate,
+                                  TransactionTemplate transactionTemplate,
+                                  InMemoryRouteFareService fareService,
+                                  TerminalImportProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.fareService = fareService;
+        this.properties = properties;
+    }
+
+    /**
+     * Imports CSV lines of {@code origin,destination,fare}. Blank lines are skipped and row numbers
+     * are line numbers. Chunks written before a failure stay written.
+     */
+    public RouteFareImportResult importCsv(InputStream in) throws IOException {
+        long start = System.nanoTime();
+        BoundedLineReader lines = new BoundedLineReader(in, (int) properties.maxLineLength().toBytes());
+        List<RouteFareImportRow> rejected = new ArrayList<>();
+        List<RouteFare> chunk = new ArrayList<>(properties.chunkSize());
+        int total = 0;
+        int written = 0;
+        int invalid = 0;
+        int row = 0;
+        BoundedLineReader.Line line;
+        while ((line = lines.next()) != null) {
+            row++;
+            if (line.isBlank()) {
+                continue;
+            }
+            RouteFareImportRow error;
+            if (line.isTooLong()) {
+                error = rejection(row, null, null, "line", "Line exceeds " + properties.maxLineLength().toBytes() + " bytes", null);
+            } else {
+                String text = new String(line.bytes(), StandardCharsets.UTF_8);
+                if (row == 1) {
+                    text = stripByteOrderMark(text);
+                    if (text.strip().equalsIgnoreCase(CSV_HEADER)) {
+                        continue;
+                    }
+                }
+                error = parse(row, text, chunk);
+            }
+            total++;
+            if (error != null) {
+                invalid++;
+                if (rejected.size() < MAX_REPORTED_ROWS) {
+                    rejected.add(error);
+                }
+            } else if (chunk.size() >= properties.chunkSize()) {
+                written += write(chunk);
+                chunk = new ArrayList<>(properties.chunkSize());
+            }
+        }
+        written += write(chunk);
+        return RouteFareImportResult.builder()
+                .total(total)
+                .written(written)
+                .invalid(invalid)
+                .elapsedMillis((System.nanoTime() - start) / 1_000_000)
+                .rejected(rejected)
+                .build();
+    }
+
+    /**
+     * Adds the fare on this line to {@code chunk}.
+     *
+     * @return why the line was rejected, or null
+     */
+    private RouteFareImportRow parse(int row, String text, List<RouteFare> chunk) {
+        List<String> fields;
+        try {
+            fields = CsvFields.split(text);
+        } catch (IllegalArgumentException ex) {
+            return rejection(row, null, null, "line", ex.getMessage(), text);
+        }
+        if (fields.size() != 3) {
+            return rejection(row, null, null, "line",
+                    "Expected 3 fields (" + CSV_HEADER + ") but found " + fields.size(), text);
+        }
+        String origin = fields.get(0).strip();
+        String destination = fields.get(1).strip();
+        String price = fields.get(2).strip();
+        if (!fareService.isTerminal(origin)) {
+            return rejection(row, origin, destination, "origin", "terminal not found", origin);
+        }
+        if (!fareService.isTerminal(destination)) {
+            return rejection(row, origin, destination, "destination", "terminal not found", destination);
+        }
+        if (origin.equals(destination)) {
+            return rejection(row, origin, destination, "destination", "Destination must differ from origin", destination);
+        }
+        BigDecimal fare;
+        try {
+            fare = new BigDecimal(price);
+        } catch (NumberFormatException ex) {
+            return rejection(row, origin, destination, "fare", "Fare must be a decimal number", price);
+        }
+        if (fare.signum() < 0 || fare.compareTo(MAX_FARE) > 0 || fare.stripTrailingZeros().scale() > 2) {
+            return rejection(row, origin, destination, "fare",
+                    "Fare must be between 0.00 and " + MAX_FARE + " with at most 2 decimals", price);
+        }
+        chunk.add(RouteFare.builder().origin(origin).destination(destination).fare(fare.setScale(2)).build());
+        return null;
+    }
+
+    private int write(List<RouteFare> chunk) {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        List<Object[]> rows = new ArrayList<>(chunk.size());
+        for (RouteFare fare : chunk) {
+            rows.add(new Object[]{fare.getOrigin(), fare.getDestination(), fare.getFare()});
+        }
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(MERGE, rows));
+        fareService.putFares(chunk);
+        return chunk.size();
+    }
+
+    private static String stripByteOrderMark(String text) {
+        return !text.isEmpty() && text.charAt(0) == '\uFEFF' ? text.substring(1) : text;
+    }
+
+    private static RouteFareImportRow rejection(int row, String origin, String destination,
+                                                String field, String message, Object rejectedValue) {
+        return RouteFareImportRow.builder()
+                .row(row)
+                .origin(origin)
+                .destination(destination)
+                .errors(List.of(ApiError.FieldErrorItem.builder()
+                        .field(field)
+                        .message(message)
+                        .rejectedValue(rejectedValue)
+                        .build()))
+                .build();
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.buspricing.service;
+
+import java.math.BigDecimal;
+
+public interface RouteFareService {
+
+    /**
+     * The fare from {@code origin} to {@code destination}, replacing the origin's base price for quotes that
+     * name a destination.
+     *
+     * @throws com.example.buspricing.exception.ValidationErrorException (404) if either terminal or the fare is unknown
+     */
+    BigDecimal getFare(String origin, String destination);
+}
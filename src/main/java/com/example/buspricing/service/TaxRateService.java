@@ -1,10 +1,30 @@
 package com.example.buspricing.service;
 
+import com.example.buspricing.model.EffectiveTaxRate;
 import com.example.buspricing.model.TaxRate;
+import com.example.buspricing.model.TaxRateSnapshot;
 
+import java.time.LocalDate;
 import java.util.List;
 
 public interface TaxRateService {
-    List<TaxRate> getTaxRates();
 
-}
\ No newline at end of file
+    /**
+     * Tax rates in effect today.
+     */
+    default List<TaxRate> getTaxRates() {
+        return getSnapshot(null).rates();
+    }
+
+    /**
+     * Tax rates in effect on the given travel date, or today when {@code date} is null.
+     */
+    TaxRateSnapshot getSnapshot(LocalDate date);
+
+    List<EffectiveTaxRate> getEffectiveRates();
+
+    /**
+     * Replaces all tax rates. Pricing sees either the old or the new rates, never a mix.
+     */
+    void replaceRates(List<EffectiveTaxRate> rates);
+}
@@ -0,0 +1,68 @@
+package com.example.buspricing.service;
+
+import com.example.buspricing.model.EffectiveTaxRate;
+import com.example.buspricing.model.TaxRate;
+import com.example.buspricing.model.TaxRateSnapshot;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Immutable index of tax rate snapshots by date. The timeline is cut at every date where a
+ * rate starts or stops applying; each piece gets one precomputed {@link TaxRateSnapshot},
+ * found for a given date in O(log n).
+ */
+final class TaxSchedule {
+
+    private final List<EffectiveTaxRate> rates;
+    private final NavigableMap<LocalDate, TaxRateSnapshot> snapshotsByStart;
+
+    private TaxSchedule(List<EffectiveTaxRate> rates, NavigableMap<LocalDate, TaxRateSnapshot> snapshotsByStart) {
+        this.rates = rates;
+        this.snapshotsByStart = snapshotsByStart;
+    }
+
+    static TaxSchedule of(List<EffectiveTaxRate> rates) {
+        NavigableSet<LocalDate> boundaries = new TreeSet<>();
+        boundaries.add(LocalDate.MIN);
+        for (EffectiveTaxRate rate : rates) {
+            if (rate.validFrom() != null) {
+                boundaries.add(rate.validFrom());
+            }
+            if (rate.validTo() != null && rate.validTo().isBefore(LocalDate.MAX)) {
+                boundaries.add(rate.validTo().plusDays(1));
+            }
+        }
+
+        NavigableMap<LocalDate, TaxRateSnapshot> snapshots = new TreeMap<>();
+        Iterator<LocalDate> starts = boundaries.iterator();
+        LocalDate start = starts.next();
+        while (start != null) {
+            LocalDate next = starts.hasNext() ? starts.next() : null;
+            List<TaxRate> active = new ArrayList<>();
+            for (EffectiveTaxRate rate : rates) {
+                if (rate.appliesOn(start)) {
+                    active.add(rate.toTaxRate());
+                }
+            }
+            snapshots.put(start, TaxRateSnapshot.of(active, start, next == null ? LocalDate.MAX : next));
+            start = next;
+        }
+        return new TaxSchedule(List.copyOf(rates), Collections.unmodifiableNavigableMap(snapshots));
+    }
+
+    TaxRateSnapshot snapshotOn(LocalDate date) {
+        return snapshotsByStart.floorEntry(date).getValue();
+    }
+
+    List<EffectiveTaxRate> rates() {
+        return rates;
+    }
+}
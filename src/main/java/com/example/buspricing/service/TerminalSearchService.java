@@ -0,0 +1,79 @@
+package com.example.buspricing.service;
+
+import com.example.buspricing.event.BusTerminalChangedEvent;
+import com.example.buspricing.repository.BusTerminalRepository;
+import com.example.buspricing.util.PrefixTrie;
+import com.example.buspricing.util.SearchKeys;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Autocomplete over terminal names, served from an in-memory prefix index rather than
+ * {@code LIKE} queries. Matching ignores case and diacritics; results are the original names.
+ * <p>
+ * The index is loaded from BUS_TERMINALS at startup, before the web server accepts requests,
+ * and extended as terminals are created. Both only ever add names, so a terminal created while the initial
+ * load runs is indexed whichever finishes first.
+ */
+@Service
+public class TerminalSearchService implements SmartInitializingSingleton {
+    private static final Logger log = LoggerFactory.getLogger(TerminalSearchService.class);
+
+    private final BusTerminalRepository repository;
+    private final PrefixTrie<String> index = new PrefixTrie<>();
+    // Lookups far outnumber writes; writes are creates and the one-off initial load
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public TerminalSearchService(BusTerminalRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * @return up to {@code limit} terminal names starting with {@code prefix}, ordered by their folded form
+     */
+    public List<String> search(String prefix, int limit) {
+        String key = SearchKeys.fold(prefix);
+        lock.readLock().lock();
+        try {
+            return index.find(key, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        loadIndex();
+    }
+
+    void loadIndex() {
+        List<String> names = repository.findAllTerminalNames();
+        lock.writeLock().lock();
+        try {
+            for (String name : names) {
+                index.add(SearchKeys.fold(name), name);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Indexed {} terminal names for search", names.size());
+    }
+
+    @EventListener
+    public void onBusTerminalChanged(BusTerminalChangedEvent event) {
+        String key = SearchKeys.fold(event.terminalName());
+        lock.writeLock().lock();
+        try {
+            index.add(key, event.terminalName());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.buspricing.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * Splits a byte stream into {@code \n} (or {@code \r\n}) terminated lines, holding at most
+ * {@code maxLineLength} bytes of any one line. Longer lines are consumed and reported as
+ * {@link Line#TOO_LONG} without being buffered, so memory use does not depend on the input.
+ * Not thread-safe.
+ */
+public final class BoundedLineReader {
+
+    private static final int READ_BUFFER_SIZE = 8192;
+    private static final int INITIAL_LINE_CAPACITY = 1024;
+
+    private final InputStream in;
+    private final int maxLineLength;
+    private final byte[] buffer = new byte[READ_BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private byte[] line = new byte[INITIAL_LINE_CAPACITY];
+
+    public BoundedLineReader(InputStream in, int maxLineLength) {
+        this.in = in;
+        this.maxLineLength = maxLineLength;
+    }
+
+    /**
+     * @return the next line without its terminator, or null at the end of the stream
+     */
+    public Line next() throws IOException {
+        int length = 0;
+        boolean tooLong = false;
+        boolean readAny = false;
+        while (true) {
+            if (position == limit && !fill()) {
+                if (!readAny) {
+                    return null;
+                }
+                break;
+            }
+            readAny = true;
+            int start = position;
+            while (position < limit && buffer[position] != '\n') {
+                position++;
+            }
+            int chunk = position - start;
+            if (!tooLong) {
+                if (length + chunk > maxLineLength) {
+                    tooLong = true;
+                } else {
+                    ensureCapacity(length + chunk);
+                    System.arraycopy(buffer, start, line, length, chunk);
+                    length += chunk;
+                }
+            }
+            if (position < limit) {
+                position++; // the '\n'
+                break;
+            }
+        }
+        if (tooLong) {
+            return Line.TOO_LONG;
+        }
+        if (length > 0 && line[length - 1] == '\r') {
+            length--;
+        }
+        return new Line(Arrays.copyOf(line, length));
+    }
+
+    /**
+     * @return true if the next {@link #next()} call can make progress without blocking on the stream
+     */
+    public boolean hasBufferedInput() throws IOException {
+        return position < limit || in.available() > 0;
+    }
+
+    private boolean fill() throws IOException {
+        int read = in.read(buffer);
+        position = 0;
+        limit = Math.max(read, 0);
+        return read > 0;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > line.length) {
+            line = Arrays.copyOf(line, Math.min(Math.max(capacity, line.length * 2), maxLineLength));
+        }
+    }
+
+    /**
+     * One line of input; {@code bytes} is null for a line longer than the limit.
+     */
+    public record Line(byte[] bytes) {
+
+        public static final Line TOO_LONG = new Line(null);
+
+        public boolean isTooLong() {
+            return bytes == null;
+        }
+
+        public boolean isBlank() {
+            if (bytes == null) {
+                return false;
+            }
+            for (byte b : bytes) {
+                if (b != ' ' && b != '\t' && b != '\r') {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.buspricing.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * A description pattern parsed once into literal text and typed placeholders, e.g.
+ * {@code "Adult ({base} EUR + {tax}%) = {total} EUR"}. Rendering walks the parsed parts
+ * and appends each one to a reusable {@link StringBuilder}; nothing is re-parsed per call.
+ */
+final class DescriptionTemplate {
+
+    enum Slot { LITERAL, INDEX, TYPE, BAGS, COUNT, BASE, PERCENT, TAX, TOTAL }
+
+    private final Slot[] slots;
+    private final String[] literals;
+
+    private DescriptionTemplate(Slot[] slots, String[] literals) {
+        this.slots = slots;
+        this.literals = literals;
+    }
+
+    static DescriptionTemplate compile(String pattern) {
+        List<Slot> slots = new ArrayList<>();
+        List<String> literals = new ArrayList<>();
+        int position = 0;
+        while (position < pattern.length()) {
+            int open = pattern.indexOf('{', position);
+            if (open < 0) {
+                slots.add(Slot.LITERAL);
+                literals.add(pattern.substring(position));
+                break;
+            }
+            if (open > position) {
+                slots.add(Slot.LITERAL);
+                literals.add(pattern.substring(position, open));
+            }
+            int close = pattern.indexOf('}', open);
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed placeholder in description template: " + pattern);
+            }
+            slots.add(Slot.valueOf(pattern.substring(open + 1, close).toUpperCase(Locale.ROOT)));
+            literals.add(null);
+            position = close + 1;
+        }
+        return new DescriptionTemplate(slots.toArray(Slot[]::new), literals.toArray(String[]::new));
+    }
+
+    int size() {
+        return slots.length;
+    }
+
+    Slot slot(int part) {
+        return slots[part];
+    }
+
+    String literal(int part) {
+        return literals[part];
+    }
+}
@@ -9,4 +9,15 @@ public class LuggageDescriptionUtil {
             default -> count + " bags";
         };
     }
+
+    /**
+     * Same text as {@link #describe(int)}, appended without an intermediate string.
+     */
+    public static StringBuilder appendTo(StringBuilder target, int count) {
+        return switch (count) {
+            case 1 -> target.append("One bag");
+            case 2 -> target.append("Two bags");
+            default -> target.append(count).append(" bags");
+        };
+    }
 }
@@ -0,0 +1,77 @@
+package com.example.buspricing.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+
+/**
+ * Thread-safe replacement for {@code new DecimalFormat("0.00")} that appends into a caller
+ * supplied {@link StringBuilder} instead of producing intermediate strings.
+ * <p>
+ * Output matches {@link DecimalFormat} for the locale captured at construction: HALF_EVEN
+ * rounding to two decimals, no grouping, the locale's decimal separator, zero digit and
+ * negative prefix (including {@code -0.00} for small negative values).
+ */
+public final class MoneyFormatter {
+
+    private static final int FRACTION_DIGITS = 2;
+    // Values whose cents fit comfortably in a long take the fast path
+    private static final int MAX_FAST_PRECISION = 18;
+
+    private final char decimalSeparator;
+    private final char zeroDigit;
+    private final String negativePrefix;
+
+    public MoneyFormatter() {
+        DecimalFormat reference = new DecimalFormat("0.00");
+        DecimalFormatSymbols symbols = reference.getDecimalFormatSymbols();
+        this.decimalSeparator = symbols.getDecimalSeparator();
+        this.zeroDigit = symbols.getZeroDigit();
+        this.negativePrefix = reference.getNegativePrefix();
+    }
+
+    public StringBuilder appendTo(StringBuilder target, BigDecimal value) {
+        BigDecimal rounded = value.setScale(FRACTION_DIGITS, RoundingMode.HALF_EVEN);
+        if (value.signum() < 0) {
+            target.append(negativePrefix);
+        }
+        if (rounded.precision() <= MAX_FAST_PRECISION) {
+            long cents = Math.abs(rounded.movePointRight(FRACTION_DIGITS).longValueExact());
+            appendInteger(target, cents / 100);
+            target.append(decimalSeparator);
+            appendDigit(target, (int) (cents / 10 % 10));
+            appendDigit(target, (int) (cents % 10));
+        } else {
+            String plain = rounded.abs().toPlainString();
+            for (int i = 0; i < plain.length(); i++) {
+                char c = plain.charAt(i);
+                if (c == '.') {
+                    target.append(decimalSeparator);
+                } else {
+                    appendDigit(target, c - '0');
+                }
+            }
+        }
+        return target;
+    }
+
+    /**
+     * Appends a non-negative integer the way {@code String.format("%d")} does for the same locale.
+     */
+    public StringBuilder appendInteger(StringBuilder target, long value) {
+        if (zeroDigit == '0') {
+            return target.append(value);
+        }
+        int start = target.length();
+        do {
+            target.insert(start, (char) (zeroDigit + (int) (value % 10)));
+            value /= 10;
+        } while (value > 0);
+        return target;
+    }
+
+    private void appendDigit(StringBuilder target, int digit) {
+        target.append((char) (zeroDigit + digit));
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.buspricing.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Character trie mapping keys to the values stored under them, answering
+ * "the first {@code limit} values whose key starts with this prefix" in key order.
+ * A lookup visits the prefix path plus only as much of the subtree as it needs to
+ * fill the limit, so its cost does not depend on how many keys share the prefix.
+ * Not thread-safe.
+ */
+public final class PrefixTrie<V> {
+
+    private final Node<V> root = new Node<>();
+    private int size;
+
+    /**
+     * Stores {@code value} under {@code key}. A value already stored under the key is not added twice.
+     *
+     * @return true if the trie changed
+     */
+    public boolean add(String key, V value) {
+        Node<V> node = root;
+        for (int i = 0; i < key.length(); i++) {
+            node = node.children.computeIfAbsent(key.charAt(i), c -> new Node<>());
+        }
+        if (node.values.contains(value)) {
+            return false;
+        }
+        node.values.add(value);
+        size++;
+        return true;
+    }
+
+    /**
+     * @return up to {@code limit} values whose key starts with {@code prefix}, ordered by key
+     *         (values under the same key in insertion order)
+     */
+    public List<V> find(String prefix, int limit) {
+        Node<V> node = root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.children.get(prefix.charAt(i));
+        }
+        List<V> found = new ArrayList<>(Math.min(limit, 16));
+        if (node != null) {
+            collect(node, limit, found);
+        }
+        return found;
+    }
+
+    /**
+     * @return number of stored values
+     */
+    public int size() {
+        return size;
+    }
+
+    private static <V> void collect(Node<V> node, int limit, List<V> found) {
+        for (V value : node.values) {
+            if (found.size() == limit) {
+                return;
+            }
+            found.add(value);
+        }
+        for (Node<V> child : node.children.values()) {
+            if (found.size() == limit) {
+                return;
+            }
+            collect(child, limit, found);
+        }
+    }
+
+    private static final class Node<V> {
+        private final Map<Character, Node<V>> children = new TreeMap<>();
+        private final List<V> values = new ArrayList<>(1);
+    }
+}
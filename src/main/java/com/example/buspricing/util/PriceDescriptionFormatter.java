@@ -1,52 +1,118 @@
 package com.example.buspricing.util;
 
 import com.example.buspricing.controller.request.Passenger;
+import com.example.buspricing.model.FareRules;
+import com.example.buspricing.util.DescriptionTemplate.Slot;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
-import java.text.DecimalFormat;
+import java.util.Locale;
 
+/**
+ * Renders the human-readable item descriptions of a draft price.
+ * <p>
+ * Templates are parsed once when the class loads. Each description is written into a
+ * per-thread {@link StringBuilder}, so the only allocation per call is the resulting String.
+ * Money values are rendered by {@link MoneyFormatter}, which produces the same text as
+ * {@code DecimalFormat("0.00")} for the default locale but is safe to share between threads.
+ */
 @Component
 public class PriceDescriptionFormatter {
 
-    private static final DecimalFormat DECIMAL_FORMAT = new DecimalFormat("0.00");
+    private static final DescriptionTemplate PASSENGER =
+            DescriptionTemplate.compile("Passenger {index} ({type})");
+    private static final DescriptionTemplate FULL_FARE_PRICE =
+            DescriptionTemplate.compile("{type} ({base} EUR + {tax}%) = {total} EUR");
+    private static final DescriptionTemplate FARE_PRICE =
+            DescriptionTemplate.compile("{type} ({base} EUR x {percent}% + {tax}%) = {total} EUR");
+    private static final DescriptionTemplate LUGGAGE =
+            DescriptionTemplate.compile("Luggage for passenger {index} ({bags})");
+    private static final DescriptionTemplate LUGGAGE_PRICE =
+            DescriptionTemplate.compile("{bags} ({count} x {base} EUR x {percent}% + {tax}%) = {total} EUR");
+    // Bags charged at different rates (tiers, or a cap) are shown as their combined share of the base price
+    private static final DescriptionTemplate MIXED_LUGGAGE_PRICE =
+            DescriptionTemplate.compile("{bags} ({base} EUR x {percent}% + {tax}%) = {total} EUR");
+    private static final DescriptionTemplate TOTAL =
+            DescriptionTemplate.compile("{total} EUR");
+
+    private static final int MAX_RETAINED_CAPACITY = 1024;
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(128));
+
+    // "Adult", "Child", ... by Passenger.Type ordinal
+    private static final String[] TYPE_LABELS = typeLabels();
+
+    private final MoneyFormatter moneyFormatter = new MoneyFormatter();
 
     public String passengerDescription(int index, Passenger passenger) {
-        return String.format("Passenger %d (%s)", index, passenger.getType().name());
+        return render(PASSENGER, index, 0, passenger.getType().name(), null, null, null, null);
     }
 
-    public String passengerPriceDescription(Passenger passenger, BigDecimal base, BigDecimal withTax, BigDecimal taxPercentSum) {
-        if (passenger.getType() == Passenger.Type.ADULT) {
-            return String.format("Adult (%s EUR + %s%%) = %s EUR",
-                    format(base),
-                    taxPercentSum.stripTrailingZeros().toPlainString(),
-                    format(withTax));
-        } else {
-            return String.format("Child (%s EUR x 50%% + %s%%) = %s EUR",
-                    format(base),
-                    taxPercentSum.stripTrailingZeros().toPlainString(),
-                    format(withTax));
-        }
+    /**
+     * @param rules      the rules the price was computed under, for the share of the base price the type pays
+     * @param taxPercent the summed tax percentage as displayed, see {@code TaxRateSnapshot#percentDisplay()}
+     */
+    public String passengerPriceDescription(Passenger.Type type, FareRules rules, BigDecimal base, BigDecimal withTax,
+                                            String taxPercent) {
+        String farePercent = rules.farePercent(type);
+        DescriptionTemplate template = farePercent == null ? FULL_FARE_PRICE : FARE_PRICE;
+        return render(template, 0, 0, TYPE_LABELS[type.ordinal()], base, farePercent, taxPercent, withTax);
     }
 
     public String luggageDescription(int passengerIndex, int count) {
-        return String.format("Luggage for passenger %d (%s)", passengerIndex, LuggageDescriptionUtil.describe(count));
+        return render(LUGGAGE, passengerIndex, count, null, null, null, null, null);
     }
 
-    public String luggagePriceDescription(int count, BigDecimal base, BigDecimal withTax, BigDecimal taxPercentSum) {
-        return String.format("%s (%d x %s EUR x 30%% + %s%%) = %s EUR",
-                LuggageDescriptionUtil.describe(count),
-                count,
-                format(base),
-                taxPercentSum.stripTrailingZeros().toPlainString(),
-                format(withTax));
+    public String luggagePriceDescription(int count, FareRules rules, BigDecimal base, BigDecimal withTax,
+                                          String taxPercent) {
+        String bagPercent = rules.luggageBagPercent(count);
+        if (bagPercent != null) {
+            return render(LUGGAGE_PRICE, 0, count, null, base, bagPercent, taxPercent, withTax);
+        }
+        return render(MIXED_LUGGAGE_PRICE, 0, count, null, base, rules.luggagePercent(count), taxPercent, withTax);
     }
 
     public String totalDescription(BigDecimal total) {
-        return format(total) + " EUR";
+        return render(TOTAL, 0, 0, null, null, null, null, total);
     }
 
-    private String format(BigDecimal value) {
-        return DECIMAL_FORMAT.format(value);
+    private String render(DescriptionTemplate template,
+                          int index,
+                          int count,
+                          String type,
+                          BigDecimal base,
+                          String percent,
+                          String tax,
+                          BigDecimal total) {
+        StringBuilder buffer = BUFFER.get();
+        buffer.setLength(0);
+        for (int part = 0; part < template.size(); part++) {
+            Slot slot = template.slot(part);
+            switch (slot) {
+                case LITERAL -> buffer.append(template.literal(part));
+                case INDEX -> moneyFormatter.appendInteger(buffer, index);
+                case COUNT -> moneyFormatter.appendInteger(buffer, count);
+                case TYPE -> buffer.append(type);
+                case BAGS -> LuggageDescriptionUtil.appendTo(buffer, count);
+                case BASE -> moneyFormatter.appendTo(buffer, base);
+                case PERCENT -> buffer.append(percent);
+                case TAX -> buffer.append(tax);
+                case TOTAL -> moneyFormatter.appendTo(buffer, total);
+            }
+        }
+        String result = buffer.toString();
+        if (buffer.capacity() > MAX_RETAINED_CAPACITY) {
+            BUFFER.remove();
+        }
+        return result;
+    }
+
+    private static String[] typeLabels() {
+        Passenger.Type[] types = Passenger.Type.values();
+        String[] labels = new String[types.length];
+        for (Passenger.Type type : types) {
+            String name = type.name();
+            labels[type.ordinal()] = name.charAt(0) + name.substring(1).toLowerCase(Locale.ROOT);
+        }
+        return labels;
     }
 }
@@ -0,0 +1,53 @@
+package com.example.buspricing.util;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Folds text into the form used for case- and diacritics-insensitive matching:
+ * "Šiauliai, Lithuania" and "siauliai, LITHUANIA" both become "siauliai, lithuania".
+ */
+public final class SearchKeys {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private SearchKeys() {
+    }
+
+    public static String fold(String text) {
+        String decomposed = Normalizer.normalize(text.toLowerCase(Locale.ROOT), Normalizer.Form.NFD);
+        String stripped = COMBINING_MARKS.matcher(decomposed).replaceAll("");
+        StringBuilder folded = null;
+        for (int i = 0; i < stripped.length(); i++) {
+            String replacement = letterWithoutDecomposition(stripped.charAt(i));
+            if (replacement != null && folded == null) {
+                folded = new StringBuilder(stripped.length() + 4).append(stripped, 0, i);
+            }
+            if (folded != null) {
+                if (replacement != null) {
+                    folded.append(replacement);
+                } else {
+                    folded.append(stripped.charAt(i));
+                }
+            }
+        }
+        return folded == null ? stripped : folded.toString();
+    }
+
+    /**
+     * Latin letters whose accent is part of the letter itself, so NFD leaves them intact.
+     */
+    private static String letterWithoutDecomposition(char c) {
+        return switch (c) {
+            case 'ł' -> "l";
+            case 'ø' -> "o";
+            case 'đ' -> "d";
+            case 'ı' -> "i";
+            case 'ß' -> "ss";
+            case 'æ' -> "ae";
+            case 'œ' -> "oe";
+            default -> null;
+        };
+    }
+}
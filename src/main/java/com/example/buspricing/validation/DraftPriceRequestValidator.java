@@ -0,0 +1,149 @@
+package com.example.buspricing.validation;
+
+import com.example.buspricing.controller.request.DraftPriceRequest;
+import com.example.buspricing.controller.request.Passenger;
+import com.example.buspricing.controller.response.ApiError;
+import com.example.buspricing.exception.RequestValidationException;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.stereotype.Component;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Checks the Bean Validation constraints declared on {@link DraftPriceRequest} and {@link Passenger}
+ * in one pass over the request, without the reflective walk of a {@code jakarta.validation.Validator}.
+ * Used by every pricing endpoint instead of {@code @Valid}.
+ * <p>
+ * Messages and bounds are read from the constraint annotations once, at construction, so the
+ * annotations stay the single definition of the rules; errors have the field paths, messages and
+ * rejected values Bean Validation would report. Changing the constraints on those classes means
+ * changing the checks here as well ({@code DraftPriceRequestValidatorTest} compares both).
+ */
+@Component
+public class DraftPriceRequestValidator {
+
+    static final String REQUEST_NULL_MESSAGE = "request must not be null";
+
+    private final String routeBlankMessage;
+    private final String passengersEmptyMessage;
+    private final String typeMissingMessage;
+    private final long minLuggage;
+    private final String minLuggageMessage;
+    private final long maxLuggage;
+    private final String maxLuggageMessage;
+
+    public DraftPriceRequestValidator() {
+        routeBlankMessage = message(constraint(DraftPriceRequest.class, "route", NotBlank.class).message());
+        passengersEmptyMessage = message(constraint(DraftPriceRequest.class, "passengers", NotEmpty.class).message());
+        typeMissingMessage = message(constraint(Passenger.class, "type", NotNull.class).message());
+        Min min = constraint(Passenger.class, "luggageCount", Min.class);
+        minLuggage = min.value();
+        minLuggageMessage = message(min.message());
+        Max max = constraint(Passenger.class, "luggageCount", Max.class);
+        maxLuggage = max.value();
+        maxLuggageMessage = message(max.message());
+    }
+
+    /**
+     * @return field errors in the same shape as {@code GlobalExceptionHandler} reports them, empty when valid
+     */
+    public List<ApiError.FieldErrorItem> validate(DraftPriceRequest request) {
+        // A JSON null, e.g. a batch entry or stream line; Bean Validation would not see it at all
+        if (request == null) {
+            return add(null, "request", REQUEST_NULL_MESSAGE, null);
+        }
+        List<ApiError.FieldErrorItem> errors = null;
+
+        String route = request.getRoute();
+        if (isBlank(route)) {
+            errors = add(errors, "route", routeBlankMessage, route);
+        }
+
+        List<Passenger> passengers = request.getPassengers();
+        if (passengers == null || passengers.isEmpty()) {
+            errors = add(errors, "passengers", passengersEmptyMessage, passengers);
+        } else {
+            for (int i = 0; i < passengers.size(); i++) {
+                Passenger passenger = passengers.get(i);
+                // @Valid does not cascade into null elements
+                if (passenger == null) {
+                    continue;
+                }
+                if (passenger.getType() == null) {
+                    errors = add(errors, "passengers[" + i + "].type", typeMissingMessage, null);
+                }
+                int luggageCount = passenger.getLuggageCount();
+                if (luggageCount < minLuggage) {
+                    errors = add(errors, "passengers[" + i + "].luggageCount", minLuggageMessage, luggageCount);
+                } else if (luggageCount > maxLuggage) {
+                    errors = add(errors, "passengers[" + i + "].luggageCount", maxLuggageMessage, luggageCount);
+                }
+            }
+        }
+        return errors == null ? List.of() : errors;
+    }
+
+    /**
+     * @throws RequestValidationException with all field errors when the request is invalid
+     */
+    public void check(DraftPriceRequest request) {
+        List<ApiError.FieldErrorItem> errors = validate(request);
+        if (!errors.isEmpty()) {
+            throw new RequestValidationException(errors);
+        }
+    }
+
+    /**
+     * {@code @NotBlank}: null, or nothing left after {@link String#trim()} (which, unlike {@link String#isBlank()},
+     * strips all characters up to U+0020 and no others). Checked without allocating the trimmed string.
+     */
+    private static boolean isBlank(String value) {
+        if (value == null) {
+            return true;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<ApiError.FieldErrorItem> add(List<ApiError.FieldErrorItem> errors,
+                                                     String field, String message, Object rejectedValue) {
+        List<ApiError.FieldErrorItem> list = errors == null ? new ArrayList<>(2) : errors;
+        list.add(ApiError.FieldErrorItem.builder()
+                .field(field)
+                .message(message)
+                .rejectedValue(rejectedValue)
+                .build());
+        return list;
+    }
+
+    private static <A extends Annotation> A constraint(Class<?> type, String field, Class<A> annotation) {
+        try {
+            A constraint = type.getDeclaredField(field).getAnnotation(annotation);
+            if (constraint == null) {
+                throw new IllegalStateException(type.getSimpleName() + "." + field + " is not annotated with @"
+                        + annotation.getSimpleName());
+            }
+            return constraint;
+        } catch (NoSuchFieldException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static String message(String template) {
+        // Only literal messages are supported; an interpolated one would differ from Bean Validation's
+        if (template.indexOf('{') >= 0) {
+            throw new IllegalStateException("Constraint message must be literal: " + template);
+        }
+        return template;
+    }
+}
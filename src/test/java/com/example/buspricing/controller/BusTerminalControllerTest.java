@@ -2,25 +2,37 @@ package com.example.buspricing.controller;
 
 import com.example.buspricing.controller.request.BusTerminalRequest;
 import com.example.buspricing.domain.BusTerminal;
+import com.example.buspricing.metrics.TestMetricsConfig;
 import com.example.buspricing.repository.BusTerminalRepository;
+import com.example.buspricing.repository.BusTerminalSummary;
+import com.example.buspricing.service.BusTerminalImportService;
+import com.example.buspricing.service.TerminalSearchService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
+import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(BusTerminalController.class)
+@Import(TestMetricsConfig.class)
 public class BusTerminalControllerTest {
 
     @Autowired
@@ -32,6 +44,12 @@ public class BusTerminalControllerTest {
     @MockBean
     private BusTerminalRepository repository;
 
+    @MockBean
+    private BusTerminalImportService importService;
+
+    @MockBean
+    private TerminalSearchService searchService;
+
     @Test
     public void createBusTerminal_ShouldReturn201_WhenValidRequest() throws Exception {
         BusTerminalRequest request = new BusTerminalRequest("Central Terminal", BigDecimal.valueOf(50.00));
@@ -78,4 +96,78 @@ public class BusTerminalControllerTest {
                 .andExpect(jsonPath("$.errors[?(@.field == 'terminalName')].message").value("Terminal name must not be blank"))
                 .andExpect(jsonPath("$.errors[?(@.field == 'basePrice')].message").value("Base price must be greater than or equal to 0.00"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void searchBusTerminals_ShouldReturnMatchingNames() throws Exception {
+        Mockito.when(searchService.search("vil", 5)).thenReturn(List.of("Vilnius, Lithuania"));
+
+        mockMvc.perform(get("/api/bus-terminals/search").param("prefix", "vil").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0]").value("Vilnius, Lithuania"));
+    }
+
+    @Test
+    void searchBusTerminals_ShouldReturn400_WhenLimitOutOfRange() throws Exception {
+        mockMvc.perform(get("/api/bus-terminals/search").param("prefix", "vil").param("limit", "1000"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0].field").value("limit"));
+    }
+
+    @Test
+    void listBusTerminals_ShouldReturnNextCursor_WhenPageIsFull() throws Exception {
+        Mockito.when(repository.findPageAfter("Kaunas, Lithuania", new BigDecimal("5"), null, PageRequest.ofSize(2)))
+                .thenReturn(List.of(new BusTerminalSummary("Riga, Latvia", new BigDecimal("12.00")),
+                        new BusTerminalSummary("Vilnius, Lithuania", new BigDecimal("10.00"))));
+
+        mockMvc.perform(get("/api/bus-terminals")
+                        .param("after", "Kaunas, Lithuania").param("minPrice", "5").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].terminalName").value("Riga, Latvia"))
+                .andExpect(jsonPath("$.items[1].basePrice").value(10.00))
+                .andExpect(jsonPath("$.next").value("Vilnius, Lithuania"));
+    }
+
+    @Test
+    void listBusTerminals_ShouldReturnNoCursor_OnLastPage() throws Exception {
+        Mockito.when(repository.findPageAfter("", null, null, PageRequest.ofSize(100)))
+                .thenReturn(List.of(new BusTerminalSummary("Vilnius, Lithuania", new BigDecimal("10.00"))));
+
+        mockMvc.perform(get("/api/bus-terminals"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.next").doesNotExist());
+    }
+
+    @Test
+    void listBusTerminals_ShouldReturn400_WhenPriceRangeIsEmpty() throws Exception {
+        mockMvc.perform(get("/api/bus-terminals").param("minPrice", "20").param("maxPrice", "10"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0].field").value("maxPrice"));
+        mockMvc.perform(get("/api/bus-terminals").param("limit", "0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0].field").value("limit"));
+
+        Mockito.verify(repository, Mockito.never()).findPageAfter(anyString(), any(), any(), any());
+    }
+
+    @Test
+    void createBusTerminal_ShouldAcceptAndReturnSmile() throws Exception {
+        ObjectMapper smile = new ObjectMapper(new SmileFactory());
+        BusTerminalRequest request = new BusTerminalRequest("Central Terminal", new BigDecimal("50.00"));
+        BusTerminal savedTerminal = BusTerminal.builder()
+                .terminalName("Central Terminal")
+                .basePrice(new BigDecimal("50.00"))
+                .build();
+
+        Mockito.when(repository.existsById(eq("Central Terminal"))).thenReturn(false);
+        Mockito.when(repository.save(any(BusTerminal.class))).thenReturn(savedTerminal);
+
+        byte[] body = mockMvc.perform(post("/api/bus-terminals")
+                        .contentType(MediaType.valueOf("application/x-jackson-smile"))
+                        .accept(MediaType.valueOf("application/x-jackson-smile"))
+                        .content(smile.writeValueAsBytes(request)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsByteArray();
+        assertEquals(savedTerminal, smile.readValue(body, BusTerminal.class));
+    }
+}
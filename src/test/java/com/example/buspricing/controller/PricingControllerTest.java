@@ -1,28 +1,61 @@
 package com.example.buspricing.controller;
 
+import com.example.buspricing.config.PricingBatchProperties;
+import com.example.buspricing.config.PricingStreamProperties;
 import com.example.buspricing.controller.request.DraftPriceRequest;
+import com.example.buspricing.controller.request.DraftPriceView;
 import com.example.buspricing.controller.request.Passenger;
 import com.example.buspricing.controller.response.DraftPriceResponse;
+import com.example.buspricing.controller.response.ItemPrice;
+import com.example.buspricing.exception.ValidationErrorException;
+import com.example.buspricing.metrics.TestMetricsConfig;
+import com.example.buspricing.service.DraftPriceResult;
+import com.example.buspricing.service.DraftPriceStreamService;
 import com.example.buspricing.service.PricingService;
+import com.example.buspricing.validation.DraftPriceRequestValidator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.math.BigDecimal;
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(PricingController.class)
+@Import({DraftPriceRequestValidator.class, DraftPriceStreamService.class, TestMetricsConfig.class})
 public class PricingControllerTest {
 
+    @TestConfiguration
+    @EnableConfigurationProperties({PricingBatchProperties.class, PricingStreamProperties.class})
+    static class BatchConfig {
+
+        @Bean
+        Executor pricingExecutor() {
+            return Runnable::run;
+        }
+    }
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -46,7 +79,7 @@ public class PricingControllerTest {
 
         DraftPriceResponse response = DraftPriceResponse.builder().build();
 
-        Mockito.when(pricingService.calculateDraftPrice(any(DraftPriceRequest.class))).thenReturn(response);
+        Mockito.when(pricingService.calculateDraftPrice(any(DraftPriceRequest.class), eq(DraftPriceView.FULL))).thenReturn(response);
 
         mockMvc.perform(post("/api/pricing/draft")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -55,6 +88,33 @@ public class PricingControllerTest {
                 .andExpect(content().json(objectMapper.writeValueAsString(response)));
     }
 
+    @Test
+    void testDraft_CompactView() throws Exception {
+        DraftPriceRequest request = DraftPriceRequest.builder()
+                .route("Route A")
+                .passengers(List.of(Passenger.builder().type(Passenger.Type.ADULT).luggageCount(0).build()))
+                .build();
+        DraftPriceResponse response = DraftPriceResponse.builder()
+                .items(List.of(ItemPrice.builder().price(new BigDecimal("12.10")).build()))
+                .totalPrice(new BigDecimal("12.10"))
+                .build();
+        Mockito.when(pricingService.calculateDraftPrice(any(DraftPriceRequest.class), eq(DraftPriceView.COMPACT))).thenReturn(response);
+
+        mockMvc.perform(post("/api/pricing/draft")
+                        .param("view", "compact")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"items\":[{\"price\":12.10}],\"totalPrice\":12.10}", true));
+
+        mockMvc.perform(post("/api/pricing/draft")
+                        .param("view", "terse")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0].field").value("view"));
+    }
+
     @Test
     void testDraft_InvalidRequest_MissingFields() throws Exception {
         DraftPriceRequest request = DraftPriceRequest.builder().build();
@@ -65,6 +125,23 @@ public class PricingControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void testDraft_InvalidRequest_ReportsFieldErrors() throws Exception {
+        mockMvc.perform(post("/api/pricing/draft")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"route":"Route A","passengers":[{"type":"ADULT","luggageCount":-1}]}
+                                """))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Validation failed"))
+                .andExpect(jsonPath("$.path").value("/api/pricing/draft"))
+                .andExpect(jsonPath("$.errors.length()").value(1))
+                .andExpect(jsonPath("$.errors[0].field").value("passengers[0].luggageCount"))
+                .andExpect(jsonPath("$.errors[0].message").value("Luggage count must be greater than or equal to 0"))
+                .andExpect(jsonPath("$.errors[0].rejectedValue").value(-1));
+        Mockito.verifyNoInteractions(pricingService);
+    }
+
     @Test
     void testDraft_InvalidRequest_PassengersEmpty() throws Exception {
         DraftPriceRequest request = DraftPriceRequest.builder()
@@ -77,4 +154,125 @@ public class PricingControllerTest {
                         .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isBadRequest());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testDraftBatch_ReportsErrorsPerEntry() throws Exception {
+        Passenger adult = Passenger.builder().type(Passenger.Type.ADULT).luggageCount(0).build();
+        List<DraftPriceRequest> requests = List.of(
+                DraftPriceRequest.builder().route("Route A").passengers(List.of(adult)).build(),
+                DraftPriceRequest.builder().route("").passengers(List.of(adult)).build(),
+                DraftPriceRequest.builder().route("Unknown").passengers(List.of(adult)).build()
+        );
+
+        DraftPriceResponse response = DraftPriceResponse.builder()
+                .items(List.of())
+                .totalPrice(new BigDecimal("12.10"))
+                .totalPriceDescription("12.10 EUR")
+                .build();
+        Mockito.when(pricingService.calculateDraftPrices(anyList(), eq(DraftPriceView.FULL))).thenReturn(List.of(
+                DraftPriceResult.success(response),
+                DraftPriceResult.failure(new ValidationErrorException("route", "route not found", "Unknown", HttpStatus.NOT_FOUND))
+        ));
+
+        mockMvc.perform(post("/api/pricing/draft/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requests)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].status").value(200))
+                .andExpect(jsonPath("$[0].response.totalPrice").value(12.10))
+                .andExpect(jsonPath("$[1].status").value(400))
+                .andExpect(jsonPath("$[1].error.errors[0].field").value("route"))
+                .andExpect(jsonPath("$[1].error.errors[0].message").value("Route must not be blank"))
+                .andExpect(jsonPath("$[2].status").value(404))
+                .andExpect(jsonPath("$[2].error.errors[0].message").value("route not found"));
+    }
+
+    @Test
+    void testDraftBatch_NullEntryFailsOnItsOwn() throws Exception {
+        DraftPriceResponse response = DraftPriceResponse.builder()
+                .items(List.of())
+                .totalPrice(new BigDecimal("12.10"))
+                .totalPriceDescription("12.10 EUR")
+                .build();
+        Mockito.when(pricingService.calculateDraftPrices(anyList(), eq(DraftPriceView.FULL)))
+                .thenReturn(List.of(DraftPriceResult.success(response)));
+
+        mockMvc.perform(post("/api/pricing/draft/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                [{"route":"Route A","passengers":[{"type":"ADULT","luggageCount":0}]}, null]
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].status").value(200))
+                .andExpect(jsonPath("$[1].status").value(400))
+                .andExpect(jsonPath("$[1].error.errors[0].field").value("request"))
+                .andExpect(jsonPath("$[1].error.errors[0].message").value("request must not be null"));
+    }
+
+        @Test
+    void testDraftBatch_EmptyBatch() throws Exception {
+        mockMvc.perform(post("/api/pricing/draft/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testDraftStream_WritesOneLinePerRequest() throws Exception {
+        DraftPriceResponse response = DraftPriceResponse.builder().totalPrice(new BigDecimal("12.10")).build();
+        Mockito.when(pricingService.calculateDraftPrice(any(DraftPriceRequest.class), eq(DraftPriceView.FULL))).thenReturn(response);
+
+        String body = """
+                {"route":"Route A","passengers":[{"type":"ADULT","luggageCount":0}]}
+                {"route":"","passengers":[{"type":"ADULT","luggageCount":0}]}
+                """;
+
+        String output = mockMvc.perform(post("/api/pricing/draft/stream")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = output.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(200, objectMapper.readTree(lines[0]).get("status").asInt());
+        assertEquals(12.10, objectMapper.readTree(lines[0]).at("/response/totalPrice").asDouble());
+        assertEquals(400, objectMapper.readTree(lines[1]).get("status").asInt());
+        assertEquals("route", objectMapper.readTree(lines[1]).at("/error/errors/0/field").asText());
+    }
+
+    @Test
+    void testDraft_NegotiatesCborAndKeepsJsonAsDefault() throws Exception {
+        ObjectMapper cbor = new ObjectMapper(new CBORFactory());
+        DraftPriceRequest request = DraftPriceRequest.builder()
+                .route("Route A")
+                .passengers(List.of(Passenger.builder().type(Passenger.Type.ADULT).luggageCount(0).build()))
+                .build();
+        DraftPriceResponse response = DraftPriceResponse.builder()
+                .items(List.of(ItemPrice.builder().description("Passenger 1 (ADULT)").price(new BigDecimal("12.10")).build()))
+                .totalPrice(new BigDecimal("12.10"))
+                .totalPriceDescription("12.10 EUR")
+                .build();
+        Mockito.when(pricingService.calculateDraftPrice(eq(request), eq(DraftPriceView.FULL))).thenReturn(response);
+
+        byte[] body = mockMvc.perform(post("/api/pricing/draft")
+                        .contentType(MediaType.valueOf("application/cbor"))
+                        .accept(MediaType.valueOf("application/cbor"))
+                        .content(cbor.writeValueAsBytes(request)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/cbor"))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertEquals(response, cbor.readValue(body, DraftPriceResponse.class));
+
+        mockMvc.perform(post("/api/pricing/draft")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.ALL)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.totalPriceDescription").value("12.10 EUR"));
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.buspricing.controller;
+
+import com.example.buspricing.config.PricingRuleProperties;
+import com.example.buspricing.metrics.TestMetricsConfig;
+import com.example.buspricing.service.InMemoryPricingRuleService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(PricingRuleController.class)
+@Import({InMemoryPricingRuleService.class, TestMetricsConfig.class})
+class PricingRuleControllerTest {
+
+    @TestConfiguration
+    @EnableConfigurationProperties(PricingRuleProperties.class)
+    static class RulesConfig {
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void replace_returnsTheNewRules() throws Exception {
+        putRules("""
+                {"discountPercent": {"CHILD": 40}, "luggageTiers": [{"fromBag": 1, "ratePercent": 25}]}
+                """)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.discountPercent.CHILD").value(40))
+                .andExpect(jsonPath("$.luggageTiers[0].ratePercent").value(25));
+    }
+
+    @Test
+    void replace_rejectsNullDiscount() throws Exception {
+        assertRejected("""
+                {"discountPercent": {"CHILD": null}}
+                """, "discountPercent.CHILD");
+    }
+
+    @Test
+    void replace_rejectsNullLuggageTier() throws Exception {
+        assertRejected("""
+                {"luggageTiers": [{"fromBag": 1, "ratePercent": 30}, null]}
+                """, "luggageTiers[1]");
+    }
+
+    @Test
+    void replace_rejectsNullRoute() throws Exception {
+        assertRejected("""
+                {"routes": [null]}
+                """, "routes[0]");
+    }
+
+    @Test
+    void replace_rejectsNullsInsideRouteRules() throws Exception {
+        assertRejected("""
+                {"routes": [{"route": "Riga, Latvia", "discountPercent": {"ADULT": null}}]}
+                """, "routes[0].discountPercent.ADULT");
+        assertRejected("""
+                {"routes": [{"route": "Riga, Latvia", "luggageTiers": [null]}]}
+                """, "routes[0].luggageTiers[0]");
+    }
+
+    private void assertRejected(String body, String field) throws Exception {
+        String before = mockMvc.perform(get("/api/pricing-rules")).andReturn().getResponse().getContentAsString();
+
+        putRules(body)
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0].field").value(field));
+
+        mockMvc.perform(get("/api/pricing-rules"))
+                .andExpect(status().isOk())
+                .andExpect(result -> assertEquals(before, result.getResponse().getContentAsString()));
+    }
+
+    private ResultActions putRules(String body) throws Exception {
+        return mockMvc.perform(put("/api/pricing-rules")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body));
+    }
+}
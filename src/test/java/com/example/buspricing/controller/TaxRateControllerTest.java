@@ -0,0 +1,56 @@
+package com.example.buspricing.controller;
+
+import com.example.buspricing.metrics.TestMetricsConfig;
+import com.example.buspricing.service.TaxRateService;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(TaxRateController.class)
+@Import(TestMetricsConfig.class)
+class TaxRateControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private TaxRateService taxRateService;
+
+    @Test
+    void replace_rejectsNegativeRate() throws Exception {
+        mockMvc.perform(put("/api/tax-rates")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"rates": [{"name": "VAT", "ratePercent": -150}]}
+                                """))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0].field").value("rates[0].ratePercent"))
+                .andExpect(jsonPath("$.errors[0].message").value("Tax rate percent must not be negative"));
+
+        Mockito.verify(taxRateService, Mockito.never()).replaceRates(anyList());
+    }
+
+    @Test
+    void replace_rejectsNullRate() throws Exception {
+        mockMvc.perform(put("/api/tax-rates")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"rates": [{"name": "VAT", "ratePercent": 21}, null]}
+                                """))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0].field").value("rates[1]"))
+                .andExpect(jsonPath("$.errors[0].message").value("Tax rate must not be null"));
+
+        Mockito.verify(taxRateService, Mockito.never()).replaceRates(anyList());
+    }
+}
@@ -1,6 +1,8 @@
 package com.example.buspricing.exception;
 
 import com.example.buspricing.controller.response.ApiError;
+import com.example.buspricing.metrics.PricingMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -19,7 +21,8 @@ import static org.mockito.Mockito.when;
 
 class GlobalExceptionHandlerTest {
 
-    private final GlobalExceptionHandler globalExceptionHandler = new GlobalExceptionHandler();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final GlobalExceptionHandler globalExceptionHandler = new GlobalExceptionHandler(new PricingMetrics(meterRegistry));
 
     /**
      * Test for the handleMethodArgumentNotValid method in GlobalExceptionHandler.
@@ -118,6 +121,8 @@ class GlobalExceptionHandlerTest {
         assertEquals("age", item.getField());
         assertEquals("too young", item.getMessage());
         assertEquals(12, item.getRejectedValue());
+        assertEquals(1.0, meterRegistry.counter(PricingMetrics.ERRORS_COUNTER,
+                "exception", "ValidationErrorException", "status", "422").count());
     }
 
     @Test
@@ -134,6 +139,8 @@ class GlobalExceptionHandlerTest {
         assertEquals("/any-error", response.getBody().getPath());
         assertEquals("Unexpected error", response.getBody().getError());
         // errors may be null for generic error
+        assertEquals(1.0, meterRegistry.counter(PricingMetrics.ERRORS_COUNTER,
+                "exception", "RuntimeException", "status", "500").count());
     }
 
 }
\ No newline at end of file
@@ -14,7 +14,11 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import java.math.BigDecimal;
+import java.util.List;
 
+import static org.hamcrest.Matchers.contains;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -67,4 +71,116 @@ class BusTerminalControllerIntegrationTest {
                         .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isConflict());
     }
-}
\ No newline at end of file
+
+    @Test
+    void importBusTerminals_json_reportsEachRow() throws Exception {
+        repository.save(BusTerminal.builder()
+                .terminalName("Central")
+                .basePrice(BigDecimal.valueOf(5.0))
+                .build());
+
+        String body = """
+                [
+                  {"terminalName": "North", "basePrice": 12.50},
+                  {"terminalName": "Central", "basePrice": 7},
+                  {"terminalName": "", "basePrice": 3},
+                  {"terminalName": "North", "basePrice": 1},
+                  {"terminalName": "South", "basePrice": "abc"},
+                  {"terminalName": "East", "basePrice": 8.25}
+                ]""";
+
+        mockMvc.perform(post("/api/bus-terminals/import")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(6))
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.duplicates").value(2))
+                .andExpect(jsonPath("$.invalid").value(2))
+                .andExpect(jsonPath("$.rows[0].status").value("CREATED"))
+                .andExpect(jsonPath("$.rows[0].errors").doesNotExist())
+                .andExpect(jsonPath("$.rows[1].status").value("DUPLICATE"))
+                .andExpect(jsonPath("$.rows[1].errors[0].message").value("terminal already exists"))
+                .andExpect(jsonPath("$.rows[2].status").value("INVALID"))
+                .andExpect(jsonPath("$.rows[2].errors[0].field").value("terminalName"))
+                .andExpect(jsonPath("$.rows[3].status").value("DUPLICATE"))
+                .andExpect(jsonPath("$.rows[4].status").value("INVALID"))
+                .andExpect(jsonPath("$.rows[5].row").value(6))
+                .andExpect(jsonPath("$.rows[5].status").value("CREATED"));
+
+        assertEquals(0, new BigDecimal("12.50").compareTo(repository.findById("North").orElseThrow().getBasePrice()));
+        assertEquals(0, BigDecimal.valueOf(5.0).compareTo(repository.findById("Central").orElseThrow().getBasePrice()));
+        assertEquals(3, repository.count());
+    }
+
+    @Test
+    void importBusTerminals_csv_acrossChunks() throws Exception {
+        StringBuilder body = new StringBuilder("\uFEFFterminalName,basePrice\r\n");
+        for (int i = 0; i < 2500; i++) {
+            body.append("T").append(i).append(',').append(i % 100).append(".50\r\n");
+        }
+        body.append("\"Quoted, \"\"Terminal\"\"\",4\n")
+                .append("\n")
+                .append("Missing price,\n")
+                .append("Too,many,fields\n");
+
+        mockMvc.perform(post("/api/bus-terminals/import")
+                        .contentType("text/csv")
+                        .content(body.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(2503))
+                .andExpect(jsonPath("$.created").value(2501))
+                .andExpect(jsonPath("$.invalid").value(2))
+                .andExpect(jsonPath("$.rows[2500].terminalName").value("Quoted, \"Terminal\""))
+                .andExpect(jsonPath("$.rows[2501].row").value(2504))
+                .andExpect(jsonPath("$.rows[2501].errors[0].field").value("basePrice"))
+                .andExpect(jsonPath("$.rows[2502].errors[0].field").value("line"));
+
+        assertEquals(2501, repository.count());
+
+        // Importing the same file again changes nothing
+        mockMvc.perform(post("/api/bus-terminals/import")
+                        .contentType("text/csv")
+                        .content(body.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(0))
+                .andExpect(jsonPath("$.duplicates").value(2501));
+    }
+
+    @Test
+    void importBusTerminals_rejectsBodyThatIsNotAnArray() throws Exception {
+        mockMvc.perform(post("/api/bus-terminals/import")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"terminalName\": \"North\", \"basePrice\": 1}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0].field").value("body"));
+    }
+
+    @Test
+    void listBusTerminals_pagesByNameAndFiltersByPrice() throws Exception {
+        for (String name : List.of("A", "B", "C", "D", "E")) {
+            repository.save(BusTerminal.builder()
+                    .terminalName(name)
+                    .basePrice(new BigDecimal(name.equals("C") ? "50.00" : "10.00"))
+                    .build());
+        }
+
+        mockMvc.perform(get("/api/bus-terminals").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[*].terminalName").value(contains("A", "B")))
+                .andExpect(jsonPath("$.next").value("B"));
+        mockMvc.perform(get("/api/bus-terminals").param("after", "B").param("limit", "2"))
+                .andExpect(jsonPath("$.items[*].terminalName").value(contains("C", "D")))
+                .andExpect(jsonPath("$.next").value("D"));
+        mockMvc.perform(get("/api/bus-terminals").param("after", "D").param("limit", "2"))
+                .andExpect(jsonPath("$.items[*].terminalName").value(contains("E")))
+                .andExpect(jsonPath("$.next").doesNotExist());
+
+        mockMvc.perform(get("/api/bus-terminals").param("minPrice", "20"))
+                .andExpect(jsonPath("$.items[*].terminalName").value(contains("C")))
+                .andExpect(jsonPath("$.items[0].basePrice").value(50.00));
+        mockMvc.perform(get("/api/bus-terminals").param("after", "A").param("maxPrice", "10.00").param("limit", "2"))
+                .andExpect(jsonPath("$.items[*].terminalName").value(contains("B", "D")))
+                .andExpect(jsonPath("$.next").value("D"));
+    }
+}
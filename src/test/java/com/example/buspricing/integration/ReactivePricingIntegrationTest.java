@@ -0,0 +1,112 @@
+package com.example.buspricing.integration;
+
+import com.example.buspricing.controller.request.DraftPriceRequest;
+import com.example.buspricing.controller.request.Passenger;
+import com.example.buspricing.controller.response.DraftPriceResponse;
+import com.example.buspricing.domain.BusTerminal;
+import com.example.buspricing.repository.BusTerminalRepository;
+import com.example.buspricing.service.PricingService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.main.web-application-type=reactive")
+class ReactivePricingIntegrationTest {
+
+    private static final String ROUTE = "Reactive Central";
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private BusTerminalRepository repository;
+
+    @Autowired
+    private PricingService pricingService;
+
+    @BeforeEach
+    void setup() {
+        repository.save(BusTerminal.builder()
+                .terminalName(ROUTE)
+                .basePrice(new BigDecimal("10.00"))
+                .build());
+    }
+
+    @Test
+    void draft_returnsSameResponseAsServletPricingPath() {
+        DraftPriceRequest request = DraftPriceRequest.builder()
+                .route(ROUTE)
+                .passengers(List.of(
+                        Passenger.builder().type(Passenger.Type.ADULT).luggageCount(2).build(),
+                        Passenger.builder().type(Passenger.Type.CHILD).luggageCount(0).build()))
+                .build();
+
+        DraftPriceResponse response = webTestClient.post().uri("/api/pricing/draft")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(DraftPriceResponse.class)
+                .returnResult()
+                .getResponseBody();
+
+        assertEquals(pricingService.calculateDraftPrice(request), response);
+        assertEquals(new BigDecimal("25.41"), response.getTotalPrice());
+    }
+
+    @Test
+    void draft_compactView() {
+        webTestClient.post().uri("/api/pricing/draft?view=compact")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("""
+                        {"route":"Reactive Central","passengers":[{"type":"ADULT","luggageCount":1}]}
+                        """)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.totalPrice").isEqualTo(15.73)
+                .jsonPath("$.totalPriceDescription").doesNotExist()
+                .jsonPath("$.items[0].description").doesNotExist();
+    }
+
+    @Test
+    void draft_unknownRoute_returnsNotFound() {
+        webTestClient.post().uri("/api/pricing/draft")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("""
+                        {"route":"Nowhere","passengers":[{"type":"ADULT","luggageCount":0}]}
+                        """)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Validation error")
+                .jsonPath("$.path").isEqualTo("/api/pricing/draft")
+                .jsonPath("$.errors[0].field").isEqualTo("route")
+                .jsonPath("$.errors[0].message").isEqualTo("route not found")
+                .jsonPath("$.errors[0].rejectedValue").isEqualTo("Nowhere");
+    }
+
+    @Test
+    void draft_invalidPassenger_returnsBadRequest() {
+        webTestClient.post().uri("/api/pricing/draft")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("""
+                        {"route":"Reactive Central","passengers":[{"type":"ADULT","luggageCount":-1}]}
+                        """)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Validation failed")
+                .jsonPath("$.errors[0].field").isEqualTo("passengers[0].luggageCount")
+                .jsonPath("$.errors[0].message").isEqualTo("Luggage count must be greater than or equal to 0");
+    }
+}
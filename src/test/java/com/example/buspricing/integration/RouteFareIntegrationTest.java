@@ -0,0 +1,103 @@
+package com.example.buspricing.integration;
+
+import com.example.buspricing.controller.request.BusTerminalRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class RouteFareIntegrationTest {
+
+    private static final String ORIGIN = "Fare Origin";
+    private static final String DESTINATION = "Fare Destination";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setup() throws Exception {
+        createTerminal(ORIGIN, new BigDecimal("10.00"));
+        createTerminal(DESTINATION, new BigDecimal("12.00"));
+    }
+
+    @AfterEach
+    void cleanup() {
+        // Other tests delete terminals, which the fare foreign keys would block
+        jdbcTemplate.update("DELETE FROM ROUTE_FARES");
+        jdbcTemplate.update("DELETE FROM BUS_TERMINALS WHERE TERMINAL_NAME IN (?, ?)", ORIGIN, DESTINATION);
+    }
+
+    @Test
+    void importedFare_pricesQuotesWithADestination() throws Exception {
+        String csv = """
+                origin,destination,fare
+                Fare Origin,Fare Destination,25.50
+                Fare Origin,Fare Origin,1.00
+                Fare Origin,Nowhere,1.00
+                Fare Destination,Fare Origin,-1
+                """;
+
+        mockMvc.perform(post("/api/route-fares/import")
+                        .contentType("text/csv")
+                        .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(4))
+                .andExpect(jsonPath("$.written").value(1))
+                .andExpect(jsonPath("$.invalid").value(3))
+                .andExpect(jsonPath("$.rejected[0].row").value(3))
+                .andExpect(jsonPath("$.rejected[1].errors[0].message").value("terminal not found"))
+                .andExpect(jsonPath("$.rejected[2].errors[0].field").value("fare"));
+
+        mockMvc.perform(get("/api/route-fares").param("origin", ORIGIN).param("destination", DESTINATION))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.fare").value(25.5));
+
+        mockMvc.perform(post("/api/pricing/draft")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"origin": "Fare Origin", "destination": "Fare Destination",
+                                 "passengers": [{"type": "ADULT", "luggageCount": 0}]}
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].price").value(30.86)); // 25.50 + 21% VAT
+
+        mockMvc.perform(post("/api/pricing/draft")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"route": "Fare Destination", "destination": "Fare Origin",
+                                 "passengers": [{"type": "ADULT", "luggageCount": 0}]}
+                                """))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.errors[0].field").value("destination"));
+    }
+
+    private void createTerminal(String name, BigDecimal basePrice) throws Exception {
+        BusTerminalRequest request = new BusTerminalRequest();
+        request.setTerminalName(name);
+        request.setBasePrice(basePrice);
+        mockMvc.perform(post("/api/bus-terminals")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated());
+    }
+}
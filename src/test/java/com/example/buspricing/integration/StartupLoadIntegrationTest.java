@@ -0,0 +1,73 @@
+package com.example.buspricing.integration;
+
+import com.example.buspricing.service.InMemoryRouteFareService;
+import com.example.buspricing.service.TerminalSearchService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Bean;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The web server is started as a lifecycle bean, so whatever a lifecycle bean sees on start is what
+ * the first request would see.
+ */
+@SpringBootTest
+class StartupLoadIntegrationTest {
+
+    private static final String SEEDED_TERMINAL = "Vilnius, Lithuania";
+
+    @TestConfiguration
+    static class Probe {
+        @Bean
+        StartupProbe startupProbe(InMemoryRouteFareService routeFareService, TerminalSearchService searchService) {
+            return new StartupProbe(routeFareService, searchService);
+        }
+    }
+
+    static class StartupProbe implements SmartLifecycle {
+        private final InMemoryRouteFareService routeFareService;
+        private final TerminalSearchService searchService;
+        private volatile boolean running;
+        volatile boolean faresLoaded;
+        volatile boolean searchIndexLoaded;
+
+        StartupProbe(InMemoryRouteFareService routeFareService, TerminalSearchService searchService) {
+            this.routeFareService = routeFareService;
+            this.searchService = searchService;
+        }
+
+        @Override
+        public void start() {
+            faresLoaded = routeFareService.isTerminal(SEEDED_TERMINAL);
+            searchIndexLoaded = searchService.search("vilnius", 1).contains(SEEDED_TERMINAL);
+            running = true;
+        }
+
+        @Override
+        public void stop() {
+            running = false;
+        }
+
+        @Override
+        public boolean isRunning() {
+            return running;
+        }
+    }
+
+    @Autowired
+    private StartupProbe probe;
+
+    @Test
+    void fareMatrixIsLoadedBeforeLifecycleBeansStart() {
+        assertTrue(probe.faresLoaded);
+    }
+
+    @Test
+    void searchIndexIsLoadedBeforeLifecycleBeansStart() {
+        assertTrue(probe.searchIndexLoaded);
+    }
+}
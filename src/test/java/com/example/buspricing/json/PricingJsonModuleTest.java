@@ -0,0 +1,109 @@
+package com.example.buspricing.json;
+
+import com.example.buspricing.controller.request.Passenger;
+import com.example.buspricing.controller.response.ApiError;
+import com.example.buspricing.controller.response.DraftPriceBatchItem;
+import com.example.buspricing.controller.response.DraftPriceResponse;
+import com.example.buspricing.controller.response.ItemPrice;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+/**
+ * Differential test: with the module installed, responses must encode to exactly the bytes the
+ * bean serializers produce from the classes' Jackson annotations, in every negotiated format.
+ */
+class PricingJsonModuleTest {
+
+    private static final String[] TEXTS = {null, "", "Passenger 1 (Adult)", "10.00 EUR \"incl.\" 21% VAT",
+            "Ąžuolas \t\n", "🚌"};
+    private static final BigDecimal[] PRICES = {null, new BigDecimal("0.00"), new BigDecimal("12.10"),
+            new BigDecimal("-0.05"), new BigDecimal("123456789012345678901234.99"), new BigDecimal("7"),
+            new BigDecimal("1.5"), new BigDecimal("1E+3"), new BigDecimal("0.00000001")};
+
+    @ParameterizedTest
+    @ValueSource(strings = {"json", "smile", "cbor"})
+    void draft_price_responses_match_bean_serialization(String format) throws IOException {
+        ObjectMapper bean = builder(format).build();
+        ObjectMapper custom = builder(format).modulesToInstall(new PricingJsonModule()).build();
+        Random random = new Random(42);
+        for (int i = 0; i < 2_000; i++) {
+            DraftPriceResponse response = randomResponse(random);
+            assertSame(bean, custom, response);
+            assertSame(bean, custom, DraftPriceBatchItem.builder().status(200).response(response).build());
+        }
+        assertSame(bean, custom, new DraftPriceResponse());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"json", "smile", "cbor"})
+    void api_errors_match_bean_serialization(String format) throws IOException {
+        ObjectMapper bean = builder(format).build();
+        ObjectMapper custom = builder(format).modulesToInstall(new PricingJsonModule()).build();
+        OffsetDateTime timestamp = OffsetDateTime.of(2024, 3, 9, 7, 5, 3, 0, ZoneOffset.ofHours(2));
+        List<Object> rejectedValues = Arrays.asList(null, "", " Vilnius ", -1, 101, 3.5, true,
+                List.of(Passenger.builder().type(Passenger.Type.CHILD).luggageCount(2).build()),
+                Map.of("route", "Riga"), Passenger.Type.ADULT);
+
+        List<ApiError.FieldErrorItem> fieldErrors = new ArrayList<>();
+        for (Object rejectedValue : rejectedValues) {
+            fieldErrors.add(new ApiError.FieldErrorItem("passengers[0].luggageCount", "must be less than or equal to 100",
+                    rejectedValue));
+        }
+        fieldErrors.add(new ApiError.FieldErrorItem(null, null, null));
+
+        for (ApiError error : List.of(
+                new ApiError(timestamp, 400, "Validation failed", "/api/pricing/draft", fieldErrors),
+                new ApiError(timestamp.withOffsetSameInstant(ZoneOffset.UTC), 404, "Validation error", null,
+                        fieldErrors.subList(0, 1)),
+                new ApiError(timestamp, 500, "Unexpected error", "/api/pricing/draft", List.of()),
+                new ApiError(timestamp, 500, "Unexpected error", "/api/pricing/draft", null),
+                new ApiError())) {
+            assertSame(bean, custom, error);
+            assertSame(bean, custom, DraftPriceBatchItem.builder().status(error.getStatus()).error(error).build());
+        }
+    }
+
+    private static Jackson2ObjectMapperBuilder builder(String format) {
+        return switch (format) {
+            case "json" -> Jackson2ObjectMapperBuilder.json();
+            case "smile" -> Jackson2ObjectMapperBuilder.smile();
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor();
+            default -> throw new IllegalArgumentException("Unknown format " + format);
+        };
+    }
+
+    private static void assertSame(ObjectMapper bean, ObjectMapper custom, Object value) throws IOException {
+        assertArrayEquals(bean.writeValueAsBytes(value), custom.writeValueAsBytes(value), value::toString);
+    }
+
+    private static DraftPriceResponse randomResponse(Random random) {
+        List<ItemPrice> items = null;
+        if (random.nextInt(10) > 0) {
+            items = new ArrayList<>();
+            int size = random.nextInt(6);
+            for (int i = 0; i < size; i++) {
+                items.add(random.nextInt(20) == 0 ? null
+                        : new ItemPrice(pick(random, TEXTS), pick(random, PRICES), pick(random, TEXTS)));
+            }
+        }
+        return new DraftPriceResponse(items, pick(random, PRICES), pick(random, TEXTS));
+    }
+
+    private static <T> T pick(Random random, T[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
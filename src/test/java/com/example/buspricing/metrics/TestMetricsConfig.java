@@ -0,0 +1,20 @@
+package com.example.buspricing.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+/**
+ * {@link PricingMetrics} on an in-memory registry, for test slices without metrics auto-configuration.
+ */
+@TestConfiguration
+@Import(PricingMetrics.class)
+public class TestMetricsConfig {
+
+    @Bean
+    public MeterRegistry meterRegistry() {
+        return new SimpleMeterRegistry();
+    }
+}
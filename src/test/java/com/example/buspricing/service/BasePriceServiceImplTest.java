@@ -1,19 +1,37 @@
 package com.example.buspricing.service;
 
+import com.example.buspricing.config.BasePriceCacheProperties;
 import com.example.buspricing.domain.BusTerminal;
+import com.example.buspricing.event.BusTerminalChangedEvent;
 import com.example.buspricing.exception.ValidationErrorException;
 import com.example.buspricing.repository.BusTerminalRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
 
 class BasePriceServiceImplTest {
 
+    private static final BasePriceCacheProperties PROPERTIES =
+            new BasePriceCacheProperties(10_000, Duration.ofMinutes(10), Duration.ofSeconds(5), 10_000, Duration.ofSeconds(30));
+
     @Test
     void returns_base_price_when_terminal_exists() {
         BusTerminalRepository repo = mock(BusTerminalRepository.class);
@@ -23,7 +41,7 @@ class BasePriceServiceImplTest {
                         .basePrice(new BigDecimal("10.00"))
                         .build()));
 
-        BasePriceServiceImpl service = new BasePriceServiceImpl(repo);
+        BasePriceServiceImpl service = new BasePriceServiceImpl(repo, Caffeine.newBuilder().build(), Caffeine.newBuilder().build(), PROPERTIES);
 
         assertEquals(new BigDecimal("10.00"), service.getBasePrice("Vilnius, Lithuania"));
         verify(repo).findById("Vilnius, Lithuania");
@@ -34,7 +52,7 @@ class BasePriceServiceImplTest {
         BusTerminalRepository repo = mock(BusTerminalRepository.class);
         when(repo.findById("NonExistentRoute")).thenReturn(Optional.empty());
 
-        BasePriceServiceImpl service = new BasePriceServiceImpl(repo);
+        BasePriceServiceImpl service = new BasePriceServiceImpl(repo, Caffeine.newBuilder().build(), Caffeine.newBuilder().build(), PROPERTIES);
 
         ValidationErrorException exception = assertThrows(ValidationErrorException.class,
                 () -> service.getBasePrice("NonExistentRoute"));
@@ -50,7 +68,7 @@ class BasePriceServiceImplTest {
     void throws_exception_when_route_is_null() {
         BusTerminalRepository repo = mock(BusTerminalRepository.class);
 
-        BasePriceServiceImpl service = new BasePriceServiceImpl(repo);
+        BasePriceServiceImpl service = new BasePriceServiceImpl(repo, Caffeine.newBuilder().build(), Caffeine.newBuilder().build(), PROPERTIES);
 
         ValidationErrorException exception = assertThrows(ValidationErrorException.class,
                 () -> service.getBasePrice(null));
@@ -60,4 +78,212 @@ class BasePriceServiceImplTest {
         assertNull(exception.getRejectedValue());
         assertEquals(NOT_FOUND, exception.getHttpStatus());
     }
+
+    @Test
+    void serves_repeated_lookups_from_cache() {
+        BusTerminalRepository repo = mock(BusTerminalRepository.class);
+        when(repo.findById("Riga, Latvia"))
+                .thenReturn(Optional.of(BusTerminal.builder()
+                        .terminalName("Riga, Latvia")
+                        .basePrice(new BigDecimal("15.00"))
+                        .build()));
+
+        BasePriceServiceImpl service = new BasePriceServiceImpl(repo, Caffeine.newBuilder().build(), Caffeine.newBuilder().build(), PROPERTIES);
+
+        assertEquals(new BigDecimal("15.00"), service.getBasePrice("Riga, Latvia"));
+        assertEquals(new BigDecimal("15.00"), service.getBasePrice("Riga, Latvia"));
+        verify(repo, times(1)).findById("Riga, Latvia");
+    }
+
+    @Test
+    void reloads_base_price_after_terminal_changed() {
+        BusTerminalRepository repo = mock(BusTerminalRepository.class);
+        when(repo.findById("Riga, Latvia"))
+                .thenReturn(Optional.of(BusTerminal.builder()
+                        .terminalName("Riga, Latvia")
+                        .basePrice(new BigDecimal("15.00"))
+                        .build()))
+                .thenReturn(Optional.of(BusTerminal.builder()
+                        .terminalName("Riga, Latvia")
+                        .basePrice(new BigDecimal("17.50"))
+                        .build()));
+
+        BasePriceServiceImpl service = new BasePriceServiceImpl(repo, Caffeine.newBuilder().build(), Caffeine.newBuilder().build(), PROPERTIES);
+
+        assertEquals(new BigDecimal("15.00"), service.getBasePrice("Riga, Latvia"));
+        service.onBusTerminalChanged(new BusTerminalChangedEvent("Riga, Latvia"));
+        assertEquals(new BigDecimal("17.50"), service.getBasePrice("Riga, Latvia"));
+        verify(repo, times(2)).findById("Riga, Latvia");
+    }
+
+    @Test
+    void remembers_unknown_routes_until_terminal_created() {
+        BusTerminalRepository repo = mock(BusTerminalRepository.class);
+        when(repo.findById("Kaunas, Lithuania"))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(BusTerminal.builder()
+                        .terminalName("Kaunas, Lithuania")
+                        .basePrice(new BigDecimal("12.00"))
+                        .build()));
+
+        BasePriceServiceImpl service = new BasePriceServiceImpl(repo, Caffeine.newBuilder().build(), Caffeine.newBuilder().build(), PROPERTIES);
+
+        assertThrows(ValidationErrorException.class, () -> service.getBasePrice("Kaunas, Lithuania"));
+        ValidationErrorException remembered = assertThrows(ValidationErrorException.class,
+                () -> service.getBasePrice("Kaunas, Lithuania"));
+        assertEquals("route not found", remembered.getMessage());
+        assertEquals(NOT_FOUND, remembered.getHttpStatus());
+        assertEquals(0, remembered.getStackTrace().length);
+        verify(repo, times(1)).findById("Kaunas, Lithuania");
+
+        service.onBusTerminalChanged(new BusTerminalChangedEvent("Kaunas, Lithuania"));
+        assertEquals(new BigDecimal("12.00"), service.getBasePrice("Kaunas, Lithuania"));
+        verify(repo, times(2)).findById("Kaunas, Lithuania");
+    }
+
+    @Test
+    void terminal_change_during_a_load_keeps_the_old_price_out_of_the_cache() {
+        BusTerminalRepository repo = mock(BusTerminalRepository.class);
+        when(repo.findById("Riga, Latvia"))
+                .thenReturn(Optional.of(BusTerminal.builder()
+                        .terminalName("Riga, Latvia")
+                        .basePrice(new BigDecimal("15.00"))
+                        .build()))
+                .thenReturn(Optional.of(BusTerminal.builder()
+                        .terminalName("Riga, Latvia")
+                        .basePrice(new BigDecimal("17.50"))
+                        .build()));
+        Cache<String, BigDecimal> cache = spy(Caffeine.newBuilder().<String, BigDecimal>build());
+        BasePriceServiceImpl service = new BasePriceServiceImpl(repo, cache, Caffeine.newBuilder().build(), PROPERTIES);
+        // The terminal is repriced after the row was read, just before the read price is cached
+        doAnswer(invocation -> {
+            service.onBusTerminalChanged(new BusTerminalChangedEvent("Riga, Latvia"));
+            return invocation.callRealMethod();
+        }).doCallRealMethod().when(cache).put(any(), any());
+
+        assertEquals(new BigDecimal("15.00"), service.getBasePrice("Riga, Latvia"));
+        assertEquals(new BigDecimal("17.50"), service.getBasePrice("Riga, Latvia"));
+        assertEquals(new BigDecimal("17.50"), service.getBasePrice("Riga, Latvia"));
+        verify(repo, times(2)).findById("Riga, Latvia");
+    }
+
+    @Test
+    void terminal_created_during_a_load_is_not_remembered_as_unknown() {
+        BusTerminalRepository repo = mock(BusTerminalRepository.class);
+        when(repo.findById("Kaunas, Lithuania"))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(BusTerminal.builder()
+                        .terminalName("Kaunas, Lithuania")
+                        .basePrice(new BigDecimal("12.00"))
+                        .build()));
+        Cache<String, Boolean> unknownRoutes = spy(Caffeine.newBuilder().<String, Boolean>build());
+        BasePriceServiceImpl service = new BasePriceServiceImpl(repo, Caffeine.newBuilder().build(), unknownRoutes, PROPERTIES);
+        doAnswer(invocation -> {
+            service.onBusTerminalChanged(new BusTerminalChangedEvent("Kaunas, Lithuania"));
+            return invocation.callRealMethod();
+        }).when(unknownRoutes).put(any(), any());
+
+        assertThrows(ValidationErrorException.class, () -> service.getBasePrice("Kaunas, Lithuania"));
+        assertEquals(new BigDecimal("12.00"), service.getBasePrice("Kaunas, Lithuania"));
+    }
+
+    @Test
+    void concurrent_misses_for_same_route_share_one_query() throws Exception {
+        BusTerminalRepository repo = mock(BusTerminalRepository.class);
+        CountDownLatch queryStarted = new CountDownLatch(1);
+        CountDownLatch releaseQuery = new CountDownLatch(1);
+        when(repo.findById("Riga, Latvia")).thenAnswer(invocation -> {
+            queryStarted.countDown();
+            releaseQuery.await();
+            return Optional.of(BusTerminal.builder()
+                    .terminalName("Riga, Latvia")
+                    .basePrice(new BigDecimal("15.00"))
+                    .build());
+        });
+        BasePriceServiceImpl service = new BasePriceServiceImpl(repo, Caffeine.newBuilder().build(), Caffeine.newBuilder().build(), PROPERTIES);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<BigDecimal>> lookups = new ArrayList<>();
+            lookups.add(executor.submit(() -> service.getBasePrice("Riga, Latvia")));
+            assertTrue(queryStarted.await(5, TimeUnit.SECONDS));
+            for (int i = 0; i < 7; i++) {
+                lookups.add(executor.submit(() -> service.getBasePrice("Riga, Latvia")));
+            }
+            // Another route is not held up by the load in progress
+            when(repo.findById("Tallinn, Estonia")).thenReturn(Optional.of(BusTerminal.builder()
+                    .terminalName("Tallinn, Estonia")
+                    .basePrice(new BigDecimal("20.00"))
+                    .build()));
+            assertEquals(new BigDecimal("20.00"), service.getBasePrice("Tallinn, Estonia"));
+            Thread.sleep(100);
+            releaseQuery.countDown();
+
+            for (Future<BigDecimal> lookup : lookups) {
+                assertEquals(new BigDecimal("15.00"), lookup.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(repo, times(1)).findById("Riga, Latvia");
+    }
+
+    @Test
+    void waiters_see_the_failure_of_the_shared_query() throws Exception {
+        BusTerminalRepository repo = mock(BusTerminalRepository.class);
+        CountDownLatch queryStarted = new CountDownLatch(1);
+        CountDownLatch releaseQuery = new CountDownLatch(1);
+        when(repo.findById("Riga, Latvia")).thenAnswer(invocation -> {
+            queryStarted.countDown();
+            releaseQuery.await();
+            throw new DataAccessResourceFailureException("connection lost");
+        });
+        BasePriceServiceImpl service = new BasePriceServiceImpl(repo, Caffeine.newBuilder().build(), Caffeine.newBuilder().build(), PROPERTIES);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<BigDecimal> loader = executor.submit(() -> service.getBasePrice("Riga, Latvia"));
+            assertTrue(queryStarted.await(5, TimeUnit.SECONDS));
+            Future<BigDecimal> waiter = executor.submit(() -> service.getBasePrice("Riga, Latvia"));
+            Thread.sleep(100);
+            releaseQuery.countDown();
+
+            for (Future<BigDecimal> lookup : List.of(loader, waiter)) {
+                ExecutionException ex = assertThrows(ExecutionException.class,
+                        () -> lookup.get(5, TimeUnit.SECONDS));
+                assertInstanceOf(DataAccessResourceFailureException.class, ex.getCause());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(repo, times(1)).findById("Riga, Latvia");
+    }
+
+    @Test
+    void waiter_gives_up_after_load_timeout() throws Exception {
+        BusTerminalRepository repo = mock(BusTerminalRepository.class);
+        CountDownLatch queryStarted = new CountDownLatch(1);
+        CountDownLatch releaseQuery = new CountDownLatch(1);
+        when(repo.findById("Riga, Latvia")).thenAnswer(invocation -> {
+            queryStarted.countDown();
+            releaseQuery.await();
+            return Optional.empty();
+        });
+        BasePriceServiceImpl service = new BasePriceServiceImpl(repo, Caffeine.newBuilder().build(), Caffeine.newBuilder().build(),
+                new BasePriceCacheProperties(10_000, Duration.ofMinutes(10), Duration.ofMillis(50), 10_000, Duration.ofSeconds(30)));
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(() -> service.getBasePrice("Riga, Latvia"));
+            assertTrue(queryStarted.await(5, TimeUnit.SECONDS));
+
+            ValidationErrorException exception = assertThrows(ValidationErrorException.class,
+                    () -> service.getBasePrice("Riga, Latvia"));
+            assertEquals("route", exception.getField());
+            assertEquals(SERVICE_UNAVAILABLE, exception.getHttpStatus());
+        } finally {
+            releaseQuery.countDown();
+            executor.shutdownNow();
+        }
+    }
 }
@@ -0,0 +1,178 @@
+package com.example.buspricing.service;
+
+import com.example.buspricing.config.PricingStreamProperties;
+import com.example.buspricing.controller.request.DraftPriceRequest;
+import com.example.buspricing.controller.request.DraftPriceView;
+import com.example.buspricing.controller.response.DraftPriceResponse;
+import com.example.buspricing.exception.ValidationErrorException;
+import com.example.buspricing.metrics.PricingMetrics;
+import com.example.buspricing.validation.DraftPriceRequestValidator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DraftPriceStreamServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final PricingService pricingService = mock(PricingService.class);
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+    private final DraftPriceStreamService streamService = new DraftPriceStreamService(pricingService,
+            new DraftPriceRequestValidator(),
+            new PricingMetrics(new SimpleMeterRegistry()),
+            new PricingStreamProperties(8, DataSize.ofBytes(200)),
+            objectMapper,
+            executor);
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void writes_results_in_input_order_while_pricing_in_parallel() throws IOException {
+        Random random = new Random(42);
+        when(pricingService.calculateDraftPrice(any(), any())).thenAnswer(invocation -> {
+            DraftPriceRequest request = invocation.getArgument(0);
+            Thread.sleep(random.nextInt(3));
+            return DraftPriceResponse.builder().totalPriceDescription(request.getRoute()).build();
+        });
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 500; i++) {
+            input.append(requestLine("R" + i)).append(i % 2 == 0 ? "\n" : "\r\n");
+        }
+
+        List<JsonNode> output = stream(input.toString());
+
+        assertEquals(500, output.size());
+        for (int i = 0; i < 500; i++) {
+            assertEquals(200, output.get(i).get("status").asInt());
+            assertEquals("R" + i, output.get(i).at("/response/totalPriceDescription").asText());
+        }
+    }
+
+    @Test
+    void reports_failing_lines_and_keeps_going() throws IOException {
+        when(pricingService.calculateDraftPrice(any(), any())).thenAnswer(invocation -> {
+            DraftPriceRequest request = invocation.getArgument(0);
+            if (request.getRoute().equals("Unknown")) {
+                throw new ValidationErrorException("route", "route not found", "Unknown", HttpStatus.NOT_FOUND);
+            }
+            if (request.getRoute().equals("Broken")) {
+                throw new IllegalStateException("boom");
+            }
+            return DraftPriceResponse.builder().totalPrice(BigDecimal.TEN).build();
+        });
+        String input = String.join("\n",
+                requestLine("A"),
+                "{not json",
+                "",
+                requestLine("Unknown"),
+                "{\"route\":\"\",\"passengers\":[{\"type\":\"ADULT\",\"luggageCount\":0}]}",
+                requestLine("Broken"),
+                "{\"route\":\"" + "x".repeat(300) + "\"}",
+                requestLine("B"));
+
+        List<JsonNode> output = stream(input);
+
+        assertEquals(List.of(200, 400, 404, 400, 500, 413, 200), output.stream().map(n -> n.get("status").asInt()).toList());
+        assertEquals("Malformed JSON", output.get(1).at("/error/error").asText());
+        assertEquals("route not found", output.get(2).at("/error/errors/0/message").asText());
+        assertEquals("route", output.get(3).at("/error/errors/0/field").asText());
+        assertEquals("/api/pricing/draft/stream", output.get(4).at("/error/path").asText());
+    }
+
+    @Test
+    void reads_no_further_ahead_than_the_in_flight_limit() throws IOException {
+        when(pricingService.calculateDraftPrice(any(), any())).thenReturn(DraftPriceResponse.builder().build());
+        byte[] line = (requestLine("A") + "\n").getBytes(StandardCharsets.UTF_8);
+        CountingInputStream input = new CountingInputStream(line, 10_000);
+        List<Long> readAheadAtEachWrite = new ArrayList<>();
+
+        streamService.price(input, new OutputStream() {
+            @Override
+            public void write(int b) {
+                if (b == '\n') {
+                    readAheadAtEachWrite.add(input.linesRead() - readAheadAtEachWrite.size());
+                }
+            }
+        }, "/api/pricing/draft/stream", DraftPriceView.FULL);
+
+        assertEquals(10_000, readAheadAtEachWrite.size());
+        // Never more than max-in-flight lines plus one read buffer ahead of the output
+        int linesPerReadBuffer = 8192 / line.length + 1;
+        assertTrue(readAheadAtEachWrite.stream().allMatch(ahead -> ahead <= 8 + linesPerReadBuffer),
+                "read ahead: " + readAheadAtEachWrite.stream().mapToLong(Long::longValue).max().orElse(0));
+    }
+
+    private List<JsonNode> stream(String input) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        streamService.price(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), out, "/api/pricing/draft/stream", DraftPriceView.FULL);
+        List<JsonNode> nodes = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            nodes.add(objectMapper.readTree(line));
+        }
+        return nodes;
+    }
+
+    private static String requestLine(String route) {
+        return "{\"route\":\"" + route + "\",\"passengers\":[{\"type\":\"ADULT\",\"luggageCount\":1}]}";
+    }
+
+    /**
+     * Repeats one line {@code count} times, counting how many complete lines have been handed out.
+     */
+    private static final class CountingInputStream extends InputStream {
+        private final byte[] line;
+        private final long total;
+        private long position;
+
+        CountingInputStream(byte[] line, long count) {
+            this.line = line;
+            this.total = line.length * count;
+        }
+
+        long linesRead() {
+            return position / line.length;
+        }
+
+        @Override
+        public int read() {
+            return position < total ? line[(int) (position++ % line.length)] : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (position >= total) {
+                return -1;
+            }
+            int n = (int) Math.min(len, total - position);
+            for (int i = 0; i < n; i++) {
+                b[off + i] = line[(int) (position++ % line.length)];
+            }
+            return n;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.buspricing.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FareMatrixTest {
+
+    @Test
+    void fareCents_distinguishesMissingFaresFromUnknownTerminals() {
+        FareMatrix matrix = new FareMatrix();
+        matrix.internAll(List.of("Vilnius", "Riga", "Tallinn"));
+
+        assertTrue(matrix.put("Vilnius", "Riga", 2550));
+
+        assertEquals(2550, matrix.fareCents("Vilnius", "Riga"));
+        assertEquals(FareMatrix.NO_FARE, matrix.fareCents("Riga", "Vilnius"));
+        assertEquals(FareMatrix.UNKNOWN_ORIGIN, matrix.fareCents("Warsaw", "Riga"));
+        assertEquals(FareMatrix.UNKNOWN_ORIGIN, matrix.fareCents(null, "Riga"));
+        assertEquals(FareMatrix.UNKNOWN_DESTINATION, matrix.fareCents("Vilnius", "Warsaw"));
+        assertEquals(FareMatrix.UNKNOWN_DESTINATION, matrix.fareCents("Vilnius", null));
+    }
+
+    @Test
+    void put_ignoresUnknownTerminalsAndRejectsNegativeFares() {
+        FareMatrix matrix = new FareMatrix();
+        matrix.intern("Vilnius");
+
+        assertFalse(matrix.put("Vilnius", "Riga", 100));
+        assertThrows(IllegalArgumentException.class, () -> matrix.put("Vilnius", "Vilnius", -1));
+        assertEquals(0, matrix.bytes());
+    }
+
+    @Test
+    void allocatesTheArrayOnlyOnceAFareIsStored() {
+        FareMatrix matrix = new FareMatrix();
+        matrix.internAll(List.of("Vilnius", "Riga"));
+
+        assertEquals(2, matrix.terminalCount());
+        assertEquals(FareMatrix.CAPACITY_STEP, matrix.capacity());
+        assertEquals(0, matrix.bytes());
+        assertEquals(FareMatrix.NO_FARE, matrix.fareCents("Vilnius", "Riga"));
+
+        matrix.put("Vilnius", "Riga", 0);
+
+        assertEquals(FareMatrix.bytesFor(2), matrix.bytes());
+        assertEquals(0, matrix.fareCents("Vilnius", "Riga"));
+    }
+
+    @Test
+    void growing_keepsStoredFares() {
+        FareMatrix matrix = new FareMatrix();
+        List<String> terminals = new ArrayList<>();
+        for (int i = 0; i < FareMatrix.CAPACITY_STEP; i++) {
+            terminals.add("T" + i);
+        }
+        matrix.internAll(terminals);
+        matrix.put("T0", "T255", 1000);
+        matrix.put("T255", "T1", 2000);
+
+        matrix.intern("T256");
+        matrix.intern("T256");
+
+        assertEquals(FareMatrix.CAPACITY_STEP + 1, matrix.terminalCount());
+        assertEquals(2 * FareMatrix.CAPACITY_STEP, matrix.capacity());
+        assertEquals(1000, matrix.fareCents("T0", "T255"));
+        assertEquals(2000, matrix.fareCents("T255", "T1"));
+        assertEquals(FareMatrix.NO_FARE, matrix.fareCents("T256", "T0"));
+        assertTrue(matrix.put("T256", "T0", 3000));
+        assertEquals(3000, matrix.fareCents("T256", "T0"));
+    }
+
+    @Test
+    void bytesFor_roundsUpToTheCapacityStep() {
+        assertEquals(0, FareMatrix.bytesFor(0));
+        assertEquals(4L * 256 * 256, FareMatrix.bytesFor(1));
+        assertEquals(104_857_600, FareMatrix.bytesFor(5000));
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.buspricing.service;
+
+import com.example.buspricing.controller.request.DraftPriceRequest;
+import com.example.buspricing.controller.request.Passenger;
+import com.example.buspricing.controller.response.DraftPriceResponse;
+import com.example.buspricing.metrics.PricingMetrics;
+import com.example.buspricing.model.PricingRules;
+import com.example.buspricing.model.TaxRate;
+import com.example.buspricing.model.TaxRateSnapshot;
+import com.example.buspricing.util.PriceDescriptionFormatter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Differential tests: the fixed-point engine must return exactly what the BigDecimal engine returns.
+ */
+class FixedPointPricingServiceImplTest {
+
+    private static final long SEED = 20250920L;
+    private static final int ITERATIONS = 5_000;
+
+    private final BasePriceService basePriceService = mock(BasePriceService.class);
+    private final RouteFareService routeFareService = mock(RouteFareService.class);
+    private final TaxRateService taxRateService = mock(TaxRateService.class);
+    private final PricingRuleService pricingRuleService = TestPricingRules.standard();
+    private final PriceDescriptionFormatter descriptionFormatter = new PriceDescriptionFormatter();
+    private final PricingMetrics metrics = new PricingMetrics(new SimpleMeterRegistry());
+
+    private final PricingServiceImpl decimalEngine =
+            new PricingServiceImpl(basePriceService, routeFareService, taxRateService, pricingRuleService, descriptionFormatter, metrics, QuoteCache.disabled(), Runnable::run);
+    private final FixedPointPricingServiceImpl fixedPointEngine =
+            new FixedPointPricingServiceImpl(basePriceService, routeFareService, taxRateService, pricingRuleService, descriptionFormatter, metrics, QuoteCache.disabled(), Runnable::run);
+
+    @Test
+    void matches_decimal_engine_on_randomized_inputs() {
+        Random random = new Random(SEED);
+        for (int i = 0; i < ITERATIONS; i++) {
+            BigDecimal base = randomAmount(random, 2);
+            List<TaxRate> taxRates = randomTaxRates(random, 2);
+            DraftPriceRequest request = randomRequest(random);
+
+            assertSameResponse(request, base, taxRates, "iteration " + i);
+        }
+    }
+
+    @Test
+    void matches_decimal_engine_when_falling_back_for_unrepresentable_inputs() {
+        Random random = new Random(SEED + 1);
+        for (int i = 0; i < 500; i++) {
+            // More than two decimals cannot be held in minor units
+            BigDecimal base = randomAmount(random, 4);
+            List<TaxRate> taxRates = randomTaxRates(random, 3);
+            DraftPriceRequest request = randomRequest(random);
+
+            assertSameResponse(request, base, taxRates, "iteration " + i);
+        }
+    }
+
+    @Test
+    void matches_decimal_engine_under_randomized_pricing_rules() {
+        Random random = new Random(SEED + 2);
+        for (int i = 0; i < 1_000; i++) {
+            // Fractional percentages are priced by the decimal engine itself, so both paths are covered
+            PricingRules rules = TestPricingRules.random(random, "R", random.nextInt(4) == 0 ? 2 : 0);
+            pricingRuleService.replaceRules(rules);
+
+            assertSameResponse(randomRequest(random), randomAmount(random, 2), randomTaxRates(random, 2),
+                    "iteration " + i + ", rules " + rules);
+        }
+    }
+
+    @Test
+    void matches_decimal_engine_on_rounding_ties() {
+        // 0.05 * 0.50 * 1.10 = 0.0275 -> 0.03; 0.01 * 0.30 * 1.50 = 0.0045 -> 0.00; 0.15 * 0.30 * 1 bag * 1.10 = 0.0495 -> 0.05
+        for (String base : List.of("0.05", "0.01", "0.15", "0.25", "1.15", "99999.99")) {
+            for (String tax : List.of("0", "10", "50", "12.5", "0.01", "-5")) {
+                DraftPriceRequest request = DraftPriceRequest.builder()
+                        .route("R")
+                        .passengers(List.of(
+                                Passenger.builder().type(Passenger.Type.CHILD).luggageCount(1).build(),
+                                Passenger.builder().type(Passenger.Type.ADULT).luggageCount(3).build()))
+                        .build();
+                assertSameResponse(request, new BigDecimal(base), List.of(new TaxRate("T", new BigDecimal(tax))),
+                        "base " + base + ", tax " + tax);
+            }
+        }
+    }
+
+    @Test
+    void matches_decimal_engine_on_amounts_too_large_for_long_arithmetic() {
+        DraftPriceRequest request = DraftPriceRequest.builder()
+                .route("R")
+                .passengers(List.of(Passenger.builder().type(Passenger.Type.ADULT).luggageCount(100).build()))
+                .build();
+
+        assertSameResponse(request, new BigDecimal("99999999999999999.99"),
+                List.of(new TaxRate("VAT", new BigDecimal("21"))), "overflow");
+    }
+
+    @Test
+    void rounds_half_up_away_from_zero() {
+        assertEquals(3, FixedPointPricingServiceImpl.divideHalfUp(25, 10));
+        assertEquals(2, FixedPointPricingServiceImpl.divideHalfUp(24, 10));
+        assertEquals(-3, FixedPointPricingServiceImpl.divideHalfUp(-25, 10));
+        assertEquals(-2, FixedPointPricingServiceImpl.divideHalfUp(-24, 10));
+    }
+
+    private void assertSameResponse(DraftPriceRequest request, BigDecimal base, List<TaxRate> taxRates, String context) {
+        when(basePriceService.getBasePrice(request.getRoute())).thenReturn(base);
+        when(taxRateService.getSnapshot(any())).thenReturn(TaxRateSnapshot.of(taxRates));
+
+        DraftPriceResponse expected = decimalEngine.calculateDraftPrice(request);
+        DraftPriceResponse actual = fixedPointEngine.calculateDraftPrice(request);
+
+        assertEquals(expected, actual, context + ": base " + base + ", taxes " + taxRates);
+    }
+
+    private static DraftPriceRequest randomRequest(Random random) {
+        int passengerCount = 1 + random.nextInt(12);
+        List<Passenger> passengers = new ArrayList<>(passengerCount);
+        for (int p = 0; p < passengerCount; p++) {
+            passengers.add(Passenger.builder()
+                    .type(random.nextBoolean() ? Passenger.Type.ADULT : Passenger.Type.CHILD)
+                    .luggageCount(random.nextInt(4) == 0 ? random.nextInt(101) : random.nextInt(3))
+                    .build());
+        }
+        return DraftPriceRequest.builder().route("R").passengers(passengers).build();
+    }
+
+    private static List<TaxRate> randomTaxRates(Random random, int maxScale) {
+        int count = 1 + random.nextInt(3);
+        List<TaxRate> rates = new ArrayList<>(count);
+        for (int t = 0; t < count; t++) {
+            int scale = random.nextInt(maxScale + 1);
+            BigDecimal percent = BigDecimal.valueOf(random.nextInt(40_000) - 2_000, 2).setScale(scale, RoundingMode.DOWN);
+            rates.add(new TaxRate("T" + t, percent));
+        }
+        return rates;
+    }
+
+    private static BigDecimal randomAmount(Random random, int maxScale) {
+        int scale = random.nextInt(maxScale + 1);
+        long unscaled = switch (random.nextInt(3)) {
+            case 0 -> random.nextInt(100);
+            case 1 -> random.nextInt(100_000);
+            default -> Math.abs(random.nextLong() % 10_000_000_000L);
+        };
+        return BigDecimal.valueOf(unscaled, scale);
+    }
+}
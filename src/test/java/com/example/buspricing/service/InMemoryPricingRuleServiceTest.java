@@ -0,0 +1,116 @@
+package com.example.buspricing.service;
+
+import com.example.buspricing.config.PricingRuleProperties;
+import com.example.buspricing.controller.request.Passenger;
+import com.example.buspricing.event.PricingRulesChangedEvent;
+import com.example.buspricing.exception.ValidationErrorException;
+import com.example.buspricing.model.FareRules;
+import com.example.buspricing.model.PricingRules;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class InMemoryPricingRuleServiceTest {
+
+    // Bags 1-2 at 30%, 3-4 at 20%, the rest free; Riga gives children 60% off and charges every bag at 10%
+    private static final PricingRules RULES = new PricingRules(
+            Map.of(Passenger.Type.CHILD, new BigDecimal("50")),
+            List.of(new PricingRules.LuggageTier(1, new BigDecimal("30")), new PricingRules.LuggageTier(3, new BigDecimal("20"))),
+            4,
+            List.of(new PricingRules.RouteRules("Riga, Latvia", Map.of(Passenger.Type.CHILD, new BigDecimal("60")),
+                    List.of(new PricingRules.LuggageTier(1, new BigDecimal("10"))), null)));
+
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+
+    @Test
+    void getFareRules_appliesTiersAndCap() {
+        FareRules rules = service(RULES).getFareRules("Vilnius, Lithuania");
+
+        assertEquals(new BigDecimal("1.00"), rules.fareFactor(Passenger.Type.ADULT));
+        assertEquals(new BigDecimal("0.50"), rules.fareFactor(Passenger.Type.CHILD));
+        assertEquals(new BigDecimal("0.30"), rules.luggageFactor(1));
+        assertEquals(new BigDecimal("0.80"), rules.luggageFactor(3));
+        assertEquals(new BigDecimal("1.00"), rules.luggageFactor(4));
+        assertEquals(new BigDecimal("1.00"), rules.luggageFactor(FareRules.TABULATED_BAGS + 5));
+        assertEquals(100, rules.luggageHundredths(7));
+        assertEquals("30", rules.luggageBagPercent(2));
+        assertNull(rules.luggageBagPercent(3));
+        assertNull(rules.farePercent(Passenger.Type.ADULT));
+        assertEquals("50", rules.farePercent(Passenger.Type.CHILD));
+        assertTrue(rules.wholePercents());
+    }
+
+    @Test
+    void getFareRules_mergesRouteOverridesIntoDefaults() {
+        InMemoryPricingRuleService service = service(RULES);
+        FareRules riga = service.getFareRules("Riga, Latvia");
+
+        assertEquals(new BigDecimal("0.40"), riga.fareFactor(Passenger.Type.CHILD));
+        // The route's tier replaces the default tiers, but the default cap still applies
+        assertEquals(new BigDecimal("0.40"), riga.luggageFactor(6));
+        assertEquals("10", riga.luggageBagPercent(4));
+        assertNull(riga.luggageBagPercent(6));
+        assertSame(service.getFareRules(null), service.getFareRules("Kaunas, Lithuania"));
+    }
+
+    @Test
+    void getFareRules_fractionalPercentagesAreNotWhole() {
+        FareRules rules = service(new PricingRules(Map.of(Passenger.Type.ADULT, new BigDecimal("12.5")), null, null, null))
+                .getFareRules(null);
+
+        assertEquals(new BigDecimal("0.875"), rules.fareFactor(Passenger.Type.ADULT));
+        assertEquals("87.5", rules.farePercent(Passenger.Type.ADULT));
+        assertEquals(FareRules.NOT_REPRESENTABLE, rules.fareHundredths(Passenger.Type.ADULT));
+        assertEquals(0, rules.luggageFactor(3).signum());
+        assertFalse(rules.wholePercents());
+    }
+
+    @Test
+    void replaceRules_swapsRulesAndPublishesEvent() {
+        InMemoryPricingRuleService service = service(RULES);
+        FareRules before = service.getFareRules(null);
+
+        service.replaceRules(TestPricingRules.STANDARD);
+
+        assertEquals(TestPricingRules.STANDARD, service.getRules());
+        assertNotSame(before, service.getFareRules(null));
+        assertEquals(new BigDecimal("0.90"), service.getFareRules("Riga, Latvia").luggageFactor(3));
+        verify(eventPublisher).publishEvent(any(PricingRulesChangedEvent.class));
+    }
+
+    @Test
+    void replaceRules_rejectsInvalidRules() {
+        InMemoryPricingRuleService service = service(RULES);
+        List<PricingRules.LuggageTier> descending =
+                List.of(new PricingRules.LuggageTier(2, BigDecimal.TEN), new PricingRules.LuggageTier(1, BigDecimal.TEN));
+
+        assertRejected(service, "discountPercent.CHILD",
+                new PricingRules(Map.of(Passenger.Type.CHILD, new BigDecimal("100.5")), null, null, null));
+        assertRejected(service, "luggageTiers[1].fromBag", new PricingRules(null, descending, null, null));
+        assertRejected(service, "maxChargedBags", new PricingRules(null, null, -1, null));
+        assertRejected(service, "routes[1].route", new PricingRules(null, null, null, List.of(
+                new PricingRules.RouteRules("R", null, null, null), new PricingRules.RouteRules("R", null, null, null))));
+        assertRejected(service, "routes[0].luggageTiers[0].ratePercent", new PricingRules(null, null, null, List.of(
+                new PricingRules.RouteRules("R", null, List.of(new PricingRules.LuggageTier(1, new BigDecimal("-1"))), null))));
+
+        assertEquals(RULES, service.getRules());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    private InMemoryPricingRuleService service(PricingRules rules) {
+        return new InMemoryPricingRuleService(new PricingRuleProperties(rules.discountPercent(), rules.luggageTiers(),
+                rules.maxChargedBags(), rules.routes()), eventPublisher);
+    }
+
+    private static void assertRejected(PricingRuleService service, String field, PricingRules rules) {
+        ValidationErrorException ex = assertThrows(ValidationErrorException.class, () -> service.replaceRules(rules));
+        assertEquals(field, ex.getField());
+    }
+}
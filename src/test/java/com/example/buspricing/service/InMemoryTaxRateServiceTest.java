@@ -0,0 +1,145 @@
+package com.example.buspricing.service;
+
+import com.example.buspricing.config.TaxRateProperties;
+import com.example.buspricing.event.TaxRatesChangedEvent;
+import com.example.buspricing.exception.ValidationErrorException;
+import com.example.buspricing.model.EffectiveTaxRate;
+import com.example.buspricing.model.TaxRateSnapshot;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class InMemoryTaxRateServiceTest {
+
+    private static final LocalDate NEW_YEAR = LocalDate.of(2025, 1, 1);
+
+    // VAT goes from 21% to 22% at the year boundary; a city tax applies for December only
+    private static final List<EffectiveTaxRate> RATES = List.of(
+            new EffectiveTaxRate("VAT", new BigDecimal("21"), null, NEW_YEAR.minusDays(1)),
+            new EffectiveTaxRate("VAT", new BigDecimal("22"), NEW_YEAR, null),
+            new EffectiveTaxRate("City", new BigDecimal("1.5"), LocalDate.of(2024, 12, 1), LocalDate.of(2024, 12, 31)));
+
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+
+    @Test
+    void getSnapshot_usesRatesInEffectOnTravelDate() {
+        InMemoryTaxRateService service = new InMemoryTaxRateService(
+                new TaxRateProperties(RATES), fixedClock(LocalDate.of(2024, 6, 1)), eventPublisher);
+
+        assertEquals(new BigDecimal("21"), service.getSnapshot(LocalDate.of(2024, 11, 30)).percentSum());
+        TaxRateSnapshot december = service.getSnapshot(LocalDate.of(2024, 12, 31));
+        assertEquals(new BigDecimal("22.5"), december.percentSum());
+        assertEquals("22.5", december.percentDisplay());
+        assertEquals(new BigDecimal("1.225"), december.multiplier());
+        assertEquals(new BigDecimal("22"), service.getSnapshot(NEW_YEAR).percentSum());
+        assertEquals(new BigDecimal("22"), service.getSnapshot(LocalDate.of(2030, 1, 1)).percentSum());
+    }
+
+    @Test
+    void getSnapshot_withoutDate_followsClockAcrossYearBoundary() {
+        AtomicReference<Instant> now = new AtomicReference<>(instant(LocalDate.of(2024, 12, 31)));
+        Clock clock = new Clock() {
+            @Override
+            public ZoneId getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                return this;
+            }
+
+            @Override
+            public Instant instant() {
+                return now.get();
+            }
+        };
+        InMemoryTaxRateService service = new InMemoryTaxRateService(new TaxRateProperties(RATES), clock, eventPublisher);
+
+        TaxRateSnapshot beforeMidnight = service.getSnapshot(null);
+        assertEquals(new BigDecimal("22.5"), beforeMidnight.percentSum());
+        assertSame(beforeMidnight, service.getSnapshot(null));
+
+        now.set(instant(NEW_YEAR));
+
+        TaxRateSnapshot afterMidnight = service.getSnapshot(null);
+        assertEquals(new BigDecimal("22"), afterMidnight.percentSum());
+        assertSame(afterMidnight, service.getSnapshot(null));
+        assertEquals(1, service.getTaxRates().size());
+    }
+
+    @Test
+    void replaceRates_swapsScheduleAndPublishesEvent() {
+        InMemoryTaxRateService service = new InMemoryTaxRateService(
+                new TaxRateProperties(RATES), fixedClock(NEW_YEAR), eventPublisher);
+        List<EffectiveTaxRate> replacement = List.of(new EffectiveTaxRate("VAT", new BigDecimal("9"), null, null));
+
+        service.replaceRates(replacement);
+
+        assertEquals(replacement, service.getEffectiveRates());
+        assertEquals("9", service.getSnapshot(null).percentDisplay());
+        assertEquals("9", service.getSnapshot(LocalDate.of(2024, 12, 31)).percentDisplay());
+        verify(eventPublisher).publishEvent(any(TaxRatesChangedEvent.class));
+    }
+
+    @Test
+    void replaceRates_rejectsInvertedInterval() {
+        InMemoryTaxRateService service = new InMemoryTaxRateService(
+                new TaxRateProperties(RATES), fixedClock(NEW_YEAR), eventPublisher);
+        List<EffectiveTaxRate> invalid = List.of(new EffectiveTaxRate("VAT", BigDecimal.TEN, NEW_YEAR, NEW_YEAR.minusDays(1)));
+
+        ValidationErrorException ex = assertThrows(ValidationErrorException.class, () -> service.replaceRates(invalid));
+
+        assertEquals("rates[0].validTo", ex.getField());
+        assertEquals(RATES, service.getEffectiveRates());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void replaceRates_rejectsNegativeRate() {
+        InMemoryTaxRateService service = new InMemoryTaxRateService(
+                new TaxRateProperties(RATES), fixedClock(NEW_YEAR), eventPublisher);
+        List<EffectiveTaxRate> invalid = List.of(
+                new EffectiveTaxRate("VAT", BigDecimal.TEN, null, null),
+                new EffectiveTaxRate("Rebate", new BigDecimal("-150"), null, null));
+
+        ValidationErrorException ex = assertThrows(ValidationErrorException.class, () -> service.replaceRates(invalid));
+
+        assertEquals("rates[1].ratePercent", ex.getField());
+        assertEquals(RATES, service.getEffectiveRates());
+        verifyNoInteractions(eventPublisher);
+    }
+
+        @Test
+    void replaceRates_reportsMissingRate() {
+        InMemoryTaxRateService service = new InMemoryTaxRateService(
+                new TaxRateProperties(RATES), fixedClock(NEW_YEAR), eventPublisher);
+        List<EffectiveTaxRate> invalid = List.of(new EffectiveTaxRate("VAT", null, null, null));
+
+        ValidationErrorException ex = assertThrows(ValidationErrorException.class, () -> service.replaceRates(invalid));
+
+        assertEquals("rates[0].ratePercent", ex.getField());
+        assertEquals("Tax rate percent is required", ex.getMessage());
+        verifyNoInteractions(eventPublisher);
+    }
+
+        private static Clock fixedClock(LocalDate date) {
+        return Clock.fixed(instant(date), ZoneOffset.UTC);
+    }
+
+    private static Instant instant(LocalDate date) {
+        return date.atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.buspricing.service;
+
+import com.example.buspricing.config.PriceCardProperties;
+import com.example.buspricing.controller.request.DraftPriceRequest;
+import com.example.buspricing.controller.request.Passenger;
+import com.example.buspricing.controller.response.DraftPriceResponse;
+import com.example.buspricing.domain.BusTerminal;
+import com.example.buspricing.event.BusTerminalChangedEvent;
+import com.example.buspricing.event.PricingRulesChangedEvent;
+import com.example.buspricing.event.TaxRatesChangedEvent;
+import com.example.buspricing.metrics.PricingMetrics;
+import com.example.buspricing.model.FareRules;
+import com.example.buspricing.model.PricingRules;
+import com.example.buspricing.model.TaxRate;
+import com.example.buspricing.model.TaxRateSnapshot;
+import com.example.buspricing.repository.BusTerminalRepository;
+import com.example.buspricing.util.PriceDescriptionFormatter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Differential tests: the price card engine must return exactly what the BigDecimal engine returns.
+ */
+class PriceCardPricingServiceImplTest {
+
+    private static final long SEED = 20250921L;
+    private static final int ITERATIONS = 2_000;
+
+    private final BasePriceService basePriceService = mock(BasePriceService.class);
+    private final RouteFareService routeFareService = mock(RouteFareService.class);
+    private final TaxRateService taxRateService = mock(TaxRateService.class);
+    private final PricingRuleService pricingRuleService = TestPricingRules.standard();
+    private final BusTerminalRepository repository = mock(BusTerminalRepository.class);
+    private final PriceDescriptionFormatter descriptionFormatter = new PriceDescriptionFormatter();
+    private final PricingMetrics metrics = new PricingMetrics(new SimpleMeterRegistry());
+
+    private final PriceCardStore priceCards =
+            new PriceCardStore(repository, taxRateService, pricingRuleService, descriptionFormatter, new PriceCardProperties(3),
+                    Runnable::run);
+    private final PricingServiceImpl decimalEngine =
+            new PricingServiceImpl(basePriceService, routeFareService, taxRateService, pricingRuleService, descriptionFormatter, metrics, QuoteCache.disabled(), Runnable::run);
+    private final PriceCardPricingServiceImpl priceCardEngine =
+            new PriceCardPricingServiceImpl(basePriceService, routeFareService, taxRateService, pricingRuleService, descriptionFormatter, metrics,
+                    QuoteCache.disabled(), priceCards, Runnable::run);
+
+    @Test
+    void matches_decimal_engine_on_randomized_inputs() {
+        Random random = new Random(SEED);
+        for (int i = 0; i < ITERATIONS; i++) {
+            String route = "R" + random.nextInt(5);
+            BigDecimal base = BigDecimal.valueOf(random.nextInt(1_000_000), random.nextInt(3));
+            List<TaxRate> taxRates = List.of(new TaxRate("VAT", BigDecimal.valueOf(random.nextInt(4_000), random.nextInt(3))));
+
+            int passengerCount = 1 + random.nextInt(12);
+            List<Passenger> passengers = new ArrayList<>(passengerCount);
+            for (int p = 0; p < passengerCount; p++) {
+                passengers.add(Passenger.builder()
+                        .type(random.nextBoolean() ? Passenger.Type.ADULT : Passenger.Type.CHILD)
+                        .luggageCount(random.nextInt(4) == 0 ? random.nextInt(101) : random.nextInt(3))
+                        .build());
+            }
+            DraftPriceRequest request = DraftPriceRequest.builder().route(route).passengers(passengers).build();
+
+            when(basePriceService.getBasePrice(route)).thenReturn(base);
+            when(taxRateService.getSnapshot(any())).thenReturn(TaxRateSnapshot.of(taxRates));
+
+            DraftPriceResponse expected = decimalEngine.calculateDraftPrice(request);
+            DraftPriceResponse actual = priceCardEngine.calculateDraftPrice(request);
+            assertEquals(expected, actual, "iteration " + i + ": base " + base + ", taxes " + taxRates);
+        }
+    }
+
+    @Test
+    void matches_decimal_engine_under_randomized_pricing_rules() {
+        Random random = new Random(SEED + 1);
+        for (int i = 0; i < 500; i++) {
+            PricingRules rules = TestPricingRules.random(random, "R1", 2);
+            pricingRuleService.replaceRules(rules);
+            BigDecimal base = BigDecimal.valueOf(random.nextInt(100_000), 2);
+            List<TaxRate> taxRates = List.of(new TaxRate("VAT", BigDecimal.valueOf(random.nextInt(4_000), 2)));
+
+            List<Passenger> passengers = new ArrayList<>();
+            for (Passenger.Type type : Passenger.Type.values()) {
+                passengers.add(Passenger.builder().type(type).luggageCount(random.nextInt(12)).build());
+            }
+            String route = "R" + random.nextInt(2);
+            DraftPriceRequest request = DraftPriceRequest.builder().route(route).passengers(passengers).build();
+
+            when(basePriceService.getBasePrice(route)).thenReturn(base);
+            when(taxRateService.getSnapshot(any())).thenReturn(TaxRateSnapshot.of(taxRates));
+
+            assertEquals(decimalEngine.calculateDraftPrice(request), priceCardEngine.calculateDraftPrice(request),
+                    "iteration " + i + ", rules " + rules);
+        }
+    }
+
+    @Test
+    void builds_cards_eagerly_and_rebuilds_them_when_inputs_change() {
+        TaxRateSnapshot vat21 = TaxRateSnapshot.of(List.of(new TaxRate("VAT", new BigDecimal("21"))));
+        TaxRateSnapshot vat9 = TaxRateSnapshot.of(List.of(new TaxRate("VAT", new BigDecimal("9"))));
+        BigDecimal base = new BigDecimal("10.00");
+        FareRules rules = pricingRuleService.getFareRules("R1");
+        when(repository.findAll()).thenReturn(List.of(BusTerminal.builder().terminalName("R1").basePrice(base).build()));
+        when(taxRateService.getSnapshot(any())).thenReturn(vat21);
+
+        priceCards.buildAll();
+        PriceCard card = priceCards.card("R1", base, vat21, rules);
+        assertEquals(new BigDecimal("12.10"), card.passenger(Passenger.Type.ADULT).price());
+        assertEquals(new BigDecimal("3.63"), card.luggage(1).price());
+        assertSame(card, priceCards.card("R1", base, vat21, rules));
+
+        // A newer base price than the card's is never served from it
+        assertEquals(new BigDecimal("24.20"), priceCards.card("R1", new BigDecimal("20.00"), vat21, rules)
+                .passenger(Passenger.Type.ADULT).price());
+
+        priceCards.onBusTerminalChanged(new BusTerminalChangedEvent("R1"));
+        assertNotSame(card, priceCards.card("R1", base, vat21, rules));
+
+        when(taxRateService.getSnapshot(any())).thenReturn(vat9);
+        priceCards.onTaxRatesChanged(new TaxRatesChangedEvent());
+        PriceCard rebuilt = priceCards.card("R1", base, vat9, rules);
+        assertEquals(new BigDecimal("10.90"), rebuilt.passenger(Passenger.Type.ADULT).price());
+        assertSame(rebuilt, priceCards.card("R1", base, vat9, rules));
+
+        pricingRuleService.replaceRules(new PricingRules(Map.of(),
+                List.of(new PricingRules.LuggageTier(1, new BigDecimal("40"))), null, List.of()));
+        FareRules replaced = pricingRuleService.getFareRules("R1");
+        assertEquals(new BigDecimal("4.36"), priceCards.card("R1", base, vat9, replaced).luggage(1).price());
+    }
+
+    @Test
+    void rebuilds_off_the_changing_thread_and_keeps_serving_current_cards_meanwhile() {
+        TaxRateSnapshot vat21 = TaxRateSnapshot.of(List.of(new TaxRate("VAT", new BigDecimal("21"))));
+        TaxRateSnapshot vat9 = TaxRateSnapshot.of(List.of(new TaxRate("VAT", new BigDecimal("9"))));
+        BigDecimal base = new BigDecimal("10.00");
+        FareRules rules = pricingRuleService.getFareRules("R1");
+        when(repository.findAll()).thenReturn(List.of(BusTerminal.builder().terminalName("R1").basePrice(base).build()));
+        when(taxRateService.getSnapshot(any())).thenReturn(vat21);
+        List<Runnable> queued = new ArrayList<>();
+        PriceCardStore store = new PriceCardStore(repository, taxRateService, pricingRuleService, descriptionFormatter,
+                new PriceCardProperties(3), queued::add);
+
+        store.buildAll();
+        PriceCard card = store.card("R1", base, vat21, rules);
+
+        when(taxRateService.getSnapshot(any())).thenReturn(vat9);
+        store.onTaxRatesChanged(new TaxRatesChangedEvent());
+        store.onPricingRulesChanged(new PricingRulesChangedEvent());
+        assertEquals(1, queued.size(), "a burst of changes queues one rebuild");
+        assertSame(card, store.card("R1", base, vat21, rules), "cards stay in place until the rebuild completes");
+        PriceCard builtOnDemand = store.card("R1", base, vat9, rules);
+
+        queued.remove(0).run();
+        assertSame(builtOnDemand, store.card("R1", base, vat9, rules), "the rebuild reuses a matching card");
+
+        store.onTaxRatesChanged(new TaxRatesChangedEvent());
+        assertEquals(1, queued.size(), "a change after the rebuild started queues another");
+    }
+}
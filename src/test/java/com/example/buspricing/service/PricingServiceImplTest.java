@@ -1,17 +1,30 @@
 package com.example.buspricing.service;
 
 import com.example.buspricing.controller.request.DraftPriceRequest;
+import com.example.buspricing.controller.request.DraftPriceView;
 import com.example.buspricing.controller.request.Passenger;
 import com.example.buspricing.controller.response.DraftPriceResponse;
+import com.example.buspricing.exception.ValidationErrorException;
+import com.example.buspricing.metrics.PricingMetrics;
 import com.example.buspricing.model.TaxRate;
+import com.example.buspricing.model.TaxRateSnapshot;
 import com.example.buspricing.util.PriceDescriptionFormatter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
@@ -19,12 +32,17 @@ import static org.mockito.Mockito.verify;
 
 class PricingServiceImplTest {
 
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PricingMetrics metrics = new PricingMetrics(meterRegistry);
+    private final RouteFareService routeFareService = mock(RouteFareService.class);
+    private final PricingRuleService pricingRuleService = TestPricingRules.standard();
+
     private PriceDescriptionFormatter stubFormatter() {
         PriceDescriptionFormatter formatter = mock(PriceDescriptionFormatter.class);
         when(formatter.passengerDescription(anyInt(), any())).thenReturn("Passenger desc");
-        when(formatter.passengerPriceDescription(any(), any(), any(), any())).thenReturn("Passenger price desc");
+        when(formatter.passengerPriceDescription(any(), any(), any(), any(), any())).thenReturn("Passenger price desc");
         when(formatter.luggageDescription(anyInt(), anyInt())).thenReturn("Luggage desc");
-        when(formatter.luggagePriceDescription(anyInt(), any(), any(), any())).thenReturn("Luggage price desc");
+        when(formatter.luggagePriceDescription(anyInt(), any(), any(), any(), any())).thenReturn("Luggage price desc");
         when(formatter.totalDescription(any())).thenReturn("Total price desc");
         return formatter;
     }
@@ -46,9 +64,9 @@ class PricingServiceImplTest {
                 .build();
 
         when(basePriceService.getBasePrice("R1")).thenReturn(new BigDecimal("100.00"));
-        when(taxRateService.getTaxRates()).thenReturn(List.of(new TaxRate("VAT", new BigDecimal("10"))));
+        when(taxRateService.getSnapshot(any())).thenReturn(TaxRateSnapshot.of(List.of(new TaxRate("VAT", new BigDecimal("10")))));
 
-        PricingServiceImpl service = new PricingServiceImpl(basePriceService, taxRateService, descriptionFormatter);
+        PricingServiceImpl service = new PricingServiceImpl(basePriceService, routeFareService, taxRateService, pricingRuleService, descriptionFormatter, metrics, QuoteCache.disabled(), Runnable::run);
 
         DraftPriceResponse response = service.calculateDraftPrice(request);
 
@@ -58,7 +76,67 @@ class PricingServiceImplTest {
         assertBigDecimalEquals(new BigDecimal("110.00"), response.getItems().get(0).getPrice());
 
         verify(basePriceService).getBasePrice("R1");
-        verify(taxRateService).getTaxRates();
+        verify(taxRateService).getSnapshot(any());
+    }
+
+    @Test
+    void prices_each_distinct_passenger_and_luggage_combination_once() {
+        BasePriceService basePriceService = mock(BasePriceService.class);
+        TaxRateService taxRateService = mock(TaxRateService.class);
+        PriceDescriptionFormatter descriptionFormatter = stubFormatter();
+
+        List<Passenger> passengers = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            passengers.add(Passenger.builder()
+                    .type(i % 3 == 0 ? Passenger.Type.CHILD : Passenger.Type.ADULT)
+                    .luggageCount(i % 2)
+                    .build());
+        }
+        DraftPriceRequest request = DraftPriceRequest.builder().route("R1").passengers(passengers).build();
+
+        when(basePriceService.getBasePrice("R1")).thenReturn(new BigDecimal("10.00"));
+        when(taxRateService.getSnapshot(any())).thenReturn(TaxRateSnapshot.of(List.of(new TaxRate("VAT", new BigDecimal("10")))));
+
+        PricingServiceImpl service = new PricingServiceImpl(basePriceService, routeFareService, taxRateService, pricingRuleService, descriptionFormatter, metrics, QuoteCache.disabled(), Runnable::run);
+
+        DraftPriceResponse response = service.calculateDraftPrice(request);
+
+        // 300 passenger items + 150 luggage items, in request order
+        assertEquals(450, response.getItems().size());
+        assertBigDecimalEquals(new BigDecimal("5.50"), response.getItems().get(0).getPrice());
+        assertBigDecimalEquals(new BigDecimal("11.00"), response.getItems().get(1).getPrice());
+        assertBigDecimalEquals(new BigDecimal("3.30"), response.getItems().get(2).getPrice());
+        // 100 children x 5.50 + 200 adults x 11.00 + 150 bags x 3.30
+        assertBigDecimalEquals(new BigDecimal("3245.00"), response.getTotalPrice());
+
+        verify(descriptionFormatter, times(2)).passengerPriceDescription(any(), any(), any(), any(), any());
+        verify(descriptionFormatter, times(1)).luggagePriceDescription(anyInt(), any(), any(), any(), any());
+        verify(descriptionFormatter, times(300)).passengerDescription(anyInt(), any());
+        verify(descriptionFormatter, times(150)).luggageDescription(anyInt(), anyInt());
+    }
+
+    @Test
+    void records_stage_timings_and_line_counts() {
+        BasePriceService basePriceService = mock(BasePriceService.class);
+        TaxRateService taxRateService = mock(TaxRateService.class);
+        DraftPriceRequest request = DraftPriceRequest.builder()
+                .route("R1")
+                .passengers(List.of(
+                        Passenger.builder().type(Passenger.Type.ADULT).luggageCount(2).build(),
+                        Passenger.builder().type(Passenger.Type.CHILD).luggageCount(0).build()))
+                .build();
+
+        when(basePriceService.getBasePrice("R1")).thenReturn(new BigDecimal("10.00"));
+        when(taxRateService.getSnapshot(any())).thenReturn(TaxRateSnapshot.of(List.of(new TaxRate("VAT", new BigDecimal("10")))));
+
+        new PricingServiceImpl(basePriceService, routeFareService, taxRateService, pricingRuleService, stubFormatter(), metrics, QuoteCache.disabled(), Runnable::run)
+                .calculateDraftPrice(request);
+
+        for (String stage : List.of("base_price", "tax_rates", "items", "descriptions")) {
+            assertEquals(1, meterRegistry.get(PricingMetrics.STAGE_TIMER).tag("stage", stage).timer().count(), stage);
+        }
+        assertEquals(2.0, meterRegistry.get(PricingMetrics.LINES_COUNTER).tag("type", "passenger").counter().count());
+        assertEquals(1.0, meterRegistry.get(PricingMetrics.LINES_COUNTER).tag("type", "luggage").counter().count());
     }
 
     @Test
@@ -74,9 +152,9 @@ class PricingServiceImplTest {
                 .build();
 
         when(basePriceService.getBasePrice("R2")).thenReturn(new BigDecimal("100.00"));
-        when(taxRateService.getTaxRates()).thenReturn(List.of(new TaxRate("VAT", new BigDecimal("20"))));
+        when(taxRateService.getSnapshot(any())).thenReturn(TaxRateSnapshot.of(List.of(new TaxRate("VAT", new BigDecimal("20")))));
 
-        PricingServiceImpl service = new PricingServiceImpl(basePriceService, taxRateService, descriptionFormatter);
+        PricingServiceImpl service = new PricingServiceImpl(basePriceService, routeFareService, taxRateService, pricingRuleService, descriptionFormatter, metrics, QuoteCache.disabled(), Runnable::run);
 
         DraftPriceResponse response = service.calculateDraftPrice(request);
 
@@ -102,9 +180,9 @@ class PricingServiceImplTest {
                 .build();
 
         when(basePriceService.getBasePrice("R4")).thenReturn(new BigDecimal("77.77"));
-        when(taxRateService.getTaxRates()).thenReturn(List.of(new TaxRate("Zero", BigDecimal.ZERO)));
+        when(taxRateService.getSnapshot(any())).thenReturn(TaxRateSnapshot.of(List.of(new TaxRate("Zero", BigDecimal.ZERO))));
 
-        PricingServiceImpl service = new PricingServiceImpl(basePriceService, taxRateService, descriptionFormatter);
+        PricingServiceImpl service = new PricingServiceImpl(basePriceService, routeFareService, taxRateService, pricingRuleService, descriptionFormatter, metrics, QuoteCache.disabled(), Runnable::run);
 
         DraftPriceResponse response = service.calculateDraftPrice(request);
 
@@ -129,12 +207,12 @@ class PricingServiceImplTest {
                 .build();
 
         when(basePriceService.getBasePrice("R5")).thenReturn(new BigDecimal("80.00"));
-        when(taxRateService.getTaxRates()).thenReturn(List.of(
+        when(taxRateService.getSnapshot(any())).thenReturn(TaxRateSnapshot.of(List.of(
                 new TaxRate("VAT", new BigDecimal("12")),
                 new TaxRate("City", new BigDecimal("3"))
-        ));
+        )));
 
-        PricingServiceImpl service = new PricingServiceImpl(basePriceService, taxRateService, descriptionFormatter);
+        PricingServiceImpl service = new PricingServiceImpl(basePriceService, routeFareService, taxRateService, pricingRuleService, descriptionFormatter, metrics, QuoteCache.disabled(), Runnable::run);
 
         DraftPriceResponse response = service.calculateDraftPrice(request);
 
@@ -153,6 +231,194 @@ class PricingServiceImplTest {
         assertEquals(new BigDecimal("55.20"), response.getItems().get(3).getPrice());  // child luggage
 
         verify(basePriceService).getBasePrice("R5");
-        verify(taxRateService).getTaxRates();
+        verify(taxRateService).getSnapshot(any());
+    }
+
+    @Test
+    void batch_resolves_each_route_and_tax_rates_once() {
+        BasePriceService basePriceService = mock(BasePriceService.class);
+        TaxRateService taxRateService = mock(TaxRateService.class);
+        PriceDescriptionFormatter descriptionFormatter = stubFormatter();
+
+        when(basePriceService.getBasePrice("R1")).thenReturn(new BigDecimal("100.00"));
+        when(basePriceService.getBasePrice("R2")).thenReturn(new BigDecimal("80.00"));
+        when(taxRateService.getSnapshot(any())).thenReturn(TaxRateSnapshot.of(List.of(new TaxRate("VAT", new BigDecimal("10")))));
+
+        List<DraftPriceRequest> requests = List.of(
+                DraftPriceRequest.builder().route("R1")
+                        .passengers(List.of(Passenger.builder().type(Passenger.Type.ADULT).luggageCount(0).build()))
+                        .build(),
+                DraftPriceRequest.builder().route("R2")
+                        .passengers(List.of(Passenger.builder().type(Passenger.Type.CHILD).luggageCount(0).build()))
+                        .build(),
+                DraftPriceRequest.builder().route("R1")
+                        .passengers(List.of(Passenger.builder().type(Passenger.Type.CHILD).luggageCount(1).build()))
+                        .build()
+        );
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            PricingServiceImpl service = new PricingServiceImpl(basePriceService, routeFareService, taxRateService, pricingRuleService, descriptionFormatter, metrics, QuoteCache.disabled(), executor);
+
+            List<DraftPriceResult> results = service.calculateDraftPrices(requests);
+
+            // R1 adult: 100 * 1.10 = 110.00
+            // R2 child: 80 * 0.50 * 1.10 = 44.00
+            // R1 child + 1 bag: 55.00 + 33.00 = 88.00
+            assertEquals(3, results.size());
+            assertBigDecimalEquals(new BigDecimal("110.00"), results.get(0).response().getTotalPrice());
+            assertBigDecimalEquals(new BigDecimal("44.00"), results.get(1).response().getTotalPrice());
+            assertBigDecimalEquals(new BigDecimal("88.00"), results.get(2).response().getTotalPrice());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verify(basePriceService, times(1)).getBasePrice("R1");
+        verify(basePriceService, times(1)).getBasePrice("R2");
+        verify(taxRateService, times(1)).getSnapshot(any());
+    }
+
+    @Test
+    void batch_reports_unknown_route_per_entry() {
+        BasePriceService basePriceService = mock(BasePriceService.class);
+        TaxRateService taxRateService = mock(TaxRateService.class);
+        PriceDescriptionFormatter descriptionFormatter = stubFormatter();
+
+        when(basePriceService.getBasePrice("R1")).thenReturn(new BigDecimal("100.00"));
+        when(basePriceService.getBasePrice("Unknown"))
+                .thenThrow(new ValidationErrorException("route", "route not found", "Unknown", org.springframework.http.HttpStatus.NOT_FOUND));
+        when(taxRateService.getSnapshot(any())).thenReturn(TaxRateSnapshot.of(List.of(new TaxRate("VAT", new BigDecimal("10")))));
+
+        List<Passenger> passengers = List.of(Passenger.builder().type(Passenger.Type.ADULT).luggageCount(0).build());
+        List<DraftPriceRequest> requests = List.of(
+                DraftPriceRequest.builder().route("Unknown").passengers(passengers).build(),
+                DraftPriceRequest.builder().route("R1").passengers(passengers).build(),
+                DraftPriceRequest.builder().route("Unknown").passengers(passengers).build()
+        );
+
+        PricingServiceImpl service = new PricingServiceImpl(basePriceService, routeFareService, taxRateService, pricingRuleService, descriptionFormatter, metrics, QuoteCache.disabled(), Runnable::run);
+
+        List<DraftPriceResult> results = service.calculateDraftPrices(requests);
+
+        assertFalse(results.get(0).isSuccess());
+        assertInstanceOf(ValidationErrorException.class, results.get(0).error());
+        assertTrue(results.get(1).isSuccess());
+        assertBigDecimalEquals(new BigDecimal("110.00"), results.get(1).response().getTotalPrice());
+        assertFalse(results.get(2).isSuccess());
+        verify(basePriceService, times(1)).getBasePrice("Unknown");
+    }
+
+    @Test
+    void prices_from_the_route_fare_when_a_destination_is_given() {
+        BasePriceService basePriceService = mock(BasePriceService.class);
+        TaxRateService taxRateService = mock(TaxRateService.class);
+        PriceDescriptionFormatter descriptionFormatter = stubFormatter();
+
+        when(basePriceService.getBasePrice("R1")).thenReturn(new BigDecimal("100.00"));
+        when(routeFareService.getFare("R1", "R2")).thenReturn(new BigDecimal("40.00"));
+        when(routeFareService.getFare("R1", "R3"))
+                .thenThrow(new ValidationErrorException("destination", "no fare from route to destination", "R3", org.springframework.http.HttpStatus.NOT_FOUND));
+        when(taxRateService.getSnapshot(any())).thenReturn(TaxRateSnapshot.of(List.of(new TaxRate("VAT", new BigDecimal("10")))));
+
+        List<Passenger> passengers = List.of(Passenger.builder().type(Passenger.Type.ADULT).luggageCount(1).build());
+        List<DraftPriceRequest> requests = List.of(
+                DraftPriceRequest.builder().route("R1").destination("R2").passengers(passengers).build(),
+                DraftPriceRequest.builder().route("R1").passengers(passengers).build(),
+                DraftPriceRequest.builder().route("R1").destination("R3").passengers(passengers).build()
+        );
+
+        PricingServiceImpl service = new PricingServiceImpl(basePriceService, routeFareService, taxRateService, pricingRuleService, descriptionFormatter, metrics, QuoteCache.disabled(), Runnable::run);
+
+        // Adult: 40 * 1.10 = 44.00, luggage: 40 * 0.30 * 1.10 = 13.20
+        assertBigDecimalEquals(new BigDecimal("57.20"), service.calculateDraftPrice(requests.get(0)).getTotalPrice());
+
+        List<DraftPriceResult> results = service.calculateDraftPrices(requests);
+
+        assertBigDecimalEquals(new BigDecimal("57.20"), results.get(0).response().getTotalPrice());
+        assertBigDecimalEquals(new BigDecimal("143.00"), results.get(1).response().getTotalPrice());
+        assertFalse(results.get(2).isSuccess());
+        assertInstanceOf(ValidationErrorException.class, results.get(2).error());
+        verify(basePriceService, times(1)).getBasePrice("R1");
+    }
+
+    @Test
+    void serves_repeated_requests_from_the_quote_cache_until_an_input_price_changes() {
+        BasePriceService basePriceService = mock(BasePriceService.class);
+        TaxRateService taxRateService = mock(TaxRateService.class);
+        PriceDescriptionFormatter descriptionFormatter = stubFormatter();
+
+        when(basePriceService.getBasePrice("R1")).thenReturn(new BigDecimal("10.00"));
+        when(taxRateService.getSnapshot(any())).thenReturn(TaxRateSnapshot.of(List.of(new TaxRate("VAT", new BigDecimal("10")))));
+
+        QuoteCache quoteCache = QuoteCache.bounded(1 << 20, Duration.ofMinutes(10));
+        quoteCache.bindTo(meterRegistry, "draftQuotes");
+        PricingServiceImpl service = new PricingServiceImpl(basePriceService, routeFareService, taxRateService, pricingRuleService, descriptionFormatter, metrics, quoteCache, Runnable::run);
+
+        List<Passenger> passengers = List.of(
+                Passenger.builder().type(Passenger.Type.ADULT).luggageCount(2).build(),
+                Passenger.builder().type(Passenger.Type.CHILD).luggageCount(0).build());
+        DraftPriceResponse first = service.calculateDraftPrice(DraftPriceRequest.builder().route("R1").passengers(passengers).build());
+        // Callers own what they get back: changing it must not leak into later hits
+        first.getItems().get(0).setPrice(BigDecimal.ZERO);
+
+        DraftPriceResponse second = service.calculateDraftPrice(DraftPriceRequest.builder()
+                .route("R1")
+                .passengers(List.of(
+                        Passenger.builder().type(Passenger.Type.ADULT).luggageCount(2).build(),
+                        Passenger.builder().type(Passenger.Type.CHILD).luggageCount(0).build()))
+                .build());
+
+        assertBigDecimalEquals(new BigDecimal("11.00"), second.getItems().get(0).getPrice());
+        assertBigDecimalEquals(new BigDecimal("23.10"), second.getTotalPrice());
+        verify(descriptionFormatter, times(1)).totalDescription(any());
+        assertEquals(0.5, meterRegistry.get(QuoteCache.HIT_RATIO_GAUGE).gauge().value());
+        assertTrue(meterRegistry.get(QuoteCache.MEMORY_GAUGE).gauge().value() > 0);
+        // The hit counts its lines but records no pricing stage
+        assertEquals(4.0, meterRegistry.get(PricingMetrics.LINES_COUNTER).tag("type", "passenger").counter().count());
+        assertEquals(2.0, meterRegistry.get(PricingMetrics.LINES_COUNTER).tag("type", "luggage").counter().count());
+        assertEquals(1, meterRegistry.get(PricingMetrics.STAGE_TIMER).tag("stage", "items").timer().count());
+
+        // Passenger order is part of the key
+        service.calculateDraftPrice(DraftPriceRequest.builder().route("R1").passengers(passengers.reversed()).build());
+        verify(descriptionFormatter, times(2)).totalDescription(any());
+
+        // A new base price is a different key
+        when(basePriceService.getBasePrice("R1")).thenReturn(new BigDecimal("20.00"));
+        DraftPriceResponse repriced = service.calculateDraftPrice(DraftPriceRequest.builder().route("R1").passengers(passengers).build());
+        assertBigDecimalEquals(new BigDecimal("46.20"), repriced.getTotalPrice());
+
+        // A cached full quote also answers the compact view, without its descriptions
+        DraftPriceResponse compact = service.calculateDraftPrice(
+                DraftPriceRequest.builder().route("R1").passengers(passengers).build(), DraftPriceView.COMPACT);
+        assertBigDecimalEquals(new BigDecimal("46.20"), compact.getTotalPrice());
+        assertNull(compact.getTotalPriceDescription());
+        verify(descriptionFormatter, times(3)).totalDescription(any());
+    }
+
+    @Test
+    void compact_view_returns_prices_without_rendering_descriptions() {
+        BasePriceService basePriceService = mock(BasePriceService.class);
+        TaxRateService taxRateService = mock(TaxRateService.class);
+        PriceDescriptionFormatter descriptionFormatter = mock(PriceDescriptionFormatter.class);
+
+        when(basePriceService.getBasePrice("R1")).thenReturn(new BigDecimal("10.00"));
+        when(taxRateService.getSnapshot(any())).thenReturn(TaxRateSnapshot.of(List.of(new TaxRate("VAT", new BigDecimal("10")))));
+
+        PricingServiceImpl service = new PricingServiceImpl(basePriceService, routeFareService, taxRateService, pricingRuleService, descriptionFormatter, metrics, QuoteCache.disabled(), Runnable::run);
+        DraftPriceRequest request = DraftPriceRequest.builder()
+                .route("R1")
+                .passengers(List.of(Passenger.builder().type(Passenger.Type.CHILD).luggageCount(1).build()))
+                .build();
+
+        DraftPriceResponse response = service.calculateDraftPrice(request, DraftPriceView.COMPACT);
+
+        assertEquals(2, response.getItems().size());
+        assertBigDecimalEquals(new BigDecimal("5.50"), response.getItems().get(0).getPrice());
+        assertBigDecimalEquals(new BigDecimal("3.30"), response.getItems().get(1).getPrice());
+        assertBigDecimalEquals(new BigDecimal("8.80"), response.getTotalPrice());
+        assertNull(response.getItems().get(0).getDescription());
+        assertNull(response.getItems().get(0).getPriceDescription());
+        assertNull(response.getTotalPriceDescription());
+        verifyNoInteractions(descriptionFormatter);
     }
-}
\ No newline at end of file
+}
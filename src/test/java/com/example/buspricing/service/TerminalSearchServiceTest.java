@@ -0,0 +1,60 @@
+package com.example.buspricing.service;
+
+import com.example.buspricing.event.BusTerminalChangedEvent;
+import com.example.buspricing.repository.BusTerminalRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TerminalSearchServiceTest {
+
+    private TerminalSearchService serviceWith(List<String> names) {
+        BusTerminalRepository repository = mock(BusTerminalRepository.class);
+        when(repository.findAllTerminalNames()).thenReturn(names);
+        TerminalSearchService service = new TerminalSearchService(repository);
+        service.loadIndex();
+        return service;
+    }
+
+    @Test
+    void matches_prefixes_ignoring_case_and_diacritics() {
+        TerminalSearchService service = serviceWith(List.of(
+                "Vilnius, Lithuania", "Šiauliai, Lithuania", "Łódź, Poland", "Riga, Latvia", "Viljandi, Estonia"));
+
+        assertEquals(List.of("Viljandi, Estonia", "Vilnius, Lithuania"), service.search("vil", 10));
+        assertEquals(List.of("Vilnius, Lithuania"), service.search("VILN", 10));
+        assertEquals(List.of("Šiauliai, Lithuania"), service.search("siau", 10));
+        assertEquals(List.of("Šiauliai, Lithuania"), service.search("Šiau", 10));
+        assertEquals(List.of("Łódź, Poland"), service.search("lodz", 10));
+        assertEquals(List.of(), service.search("tallinn", 10));
+    }
+
+    @Test
+    void returns_the_first_names_in_order_up_to_the_limit() {
+        List<String> names = new ArrayList<>();
+        for (int i = 999; i >= 0; i--) {
+            names.add(String.format("Stop %03d", i));
+        }
+        TerminalSearchService service = serviceWith(names);
+
+        assertEquals(List.of("Stop 000", "Stop 001", "Stop 002"), service.search("stop", 3));
+        assertEquals(List.of("Stop 120", "Stop 121"), service.search("stop 12", 2));
+        assertEquals(10, service.search("", 10).size());
+    }
+
+    @Test
+    void indexes_created_terminals() {
+        TerminalSearchService service = serviceWith(List.of("Riga, Latvia"));
+
+        service.onBusTerminalChanged(new BusTerminalChangedEvent("Rīga Airport, Latvia"));
+        // Re-publishing a terminal does not duplicate it
+        service.onBusTerminalChanged(new BusTerminalChangedEvent("Riga, Latvia"));
+
+        assertEquals(List.of("Rīga Airport, Latvia", "Riga, Latvia"), service.search("RIGA", 10));
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.buspricing.service;
+
+import com.example.buspricing.config.PricingRuleProperties;
+import com.example.buspricing.controller.request.Passenger;
+import com.example.buspricing.model.PricingRules;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * The pricing rules application.yml ships with: children pay half, each bag costs 30% of the base price.
+ */
+final class TestPricingRules {
+
+    static final PricingRules STANDARD = new PricingRules(
+            Map.of(Passenger.Type.CHILD, new BigDecimal("50")),
+            List.of(new PricingRules.LuggageTier(1, new BigDecimal("30"))),
+            null,
+            List.of());
+
+    private TestPricingRules() {
+    }
+
+    static PricingRuleService standard() {
+        return service(STANDARD);
+    }
+
+    static PricingRuleService service(PricingRules rules) {
+        return new InMemoryPricingRuleService(new PricingRuleProperties(rules.discountPercent(), rules.luggageTiers(),
+                rules.maxChargedBags(), rules.routes()), event -> {
+        });
+    }
+
+    /**
+     * Random valid rules, sometimes with an override for {@code route}; percentages have up to {@code maxScale} decimals.
+     */
+    static PricingRules random(Random random, String route, int maxScale) {
+        List<PricingRules.RouteRules> routes = random.nextBoolean()
+                ? List.of()
+                : List.of(new PricingRules.RouteRules(route, randomDiscounts(random, maxScale),
+                random.nextBoolean() ? null : randomTiers(random, maxScale), randomCap(random)));
+        return new PricingRules(randomDiscounts(random, maxScale), randomTiers(random, maxScale), randomCap(random), routes);
+    }
+
+    private static Map<Passenger.Type, BigDecimal> randomDiscounts(Random random, int maxScale) {
+        Map<Passenger.Type, BigDecimal> discounts = new EnumMap<>(Passenger.Type.class);
+        for (Passenger.Type type : Passenger.Type.values()) {
+            if (random.nextBoolean()) {
+                discounts.put(type, randomPercent(random, 100, maxScale));
+            }
+        }
+        return discounts;
+    }
+
+    private static List<PricingRules.LuggageTier> randomTiers(Random random, int maxScale) {
+        int count = random.nextInt(4);
+        List<PricingRules.LuggageTier> tiers = new ArrayList<>(count);
+        int fromBag = 0;
+        for (int i = 0; i < count; i++) {
+            fromBag += 1 + random.nextInt(5);
+            tiers.add(new PricingRules.LuggageTier(fromBag, randomPercent(random, 150, maxScale)));
+        }
+        return tiers;
+    }
+
+    private static Integer randomCap(Random random) {
+        return random.nextInt(3) == 0 ? random.nextInt(10) : null;
+    }
+
+    private static BigDecimal randomPercent(Random random, int max, int maxScale) {
+        int scale = random.nextInt(maxScale + 1);
+        return BigDecimal.valueOf(random.nextLong((long) max * (long) Math.pow(10, scale) + 1), scale);
+    }
+}
@@ -0,0 +1,202 @@
+package com.example.buspricing.util;
+
+import com.example.buspricing.controller.request.Passenger;
+import com.example.buspricing.model.FareRules;
+import com.example.buspricing.model.PricingRules;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.text.DecimalFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PriceDescriptionFormatterTest {
+
+    private static final Passenger ADULT = Passenger.builder().type(Passenger.Type.ADULT).luggageCount(0).build();
+    private static final Passenger CHILD = Passenger.builder().type(Passenger.Type.CHILD).luggageCount(0).build();
+
+    private static final FareRules STANDARD = FareRules.of(Map.of(Passenger.Type.CHILD, new BigDecimal("50")),
+            List.of(new PricingRules.LuggageTier(1, new BigDecimal("30"))), null);
+
+    private final PriceDescriptionFormatter formatter = new PriceDescriptionFormatter();
+
+    @Test
+    void renders_readme_examples() {
+        assertEquals("Passenger 1 (ADULT)", formatter.passengerDescription(1, ADULT));
+        assertEquals("Adult (10.00 EUR + 21%) = 12.10 EUR",
+                formatter.passengerPriceDescription(ADULT.getType(), STANDARD, new BigDecimal("10.00"), new BigDecimal("12.10"), "21"));
+        assertEquals("Child (10.00 EUR x 50% + 21%) = 6.05 EUR",
+                formatter.passengerPriceDescription(CHILD.getType(), STANDARD, new BigDecimal("10.00"), new BigDecimal("6.05"), "21"));
+        assertEquals("Luggage for passenger 1 (One bag)", formatter.luggageDescription(1, 1));
+        assertEquals("One bag (1 x 10.00 EUR x 30% + 21%) = 3.63 EUR",
+                formatter.luggagePriceDescription(1, STANDARD, new BigDecimal("10.00"), new BigDecimal("3.63"), "21"));
+        assertEquals("15.73 EUR", formatter.totalDescription(new BigDecimal("15.73")));
+    }
+
+    @Test
+    void renders_percentages_from_the_rules() {
+        FareRules rules = FareRules.of(Map.of(Passenger.Type.ADULT, new BigDecimal("12.5")),
+                List.of(new PricingRules.LuggageTier(2, new BigDecimal("25")), new PricingRules.LuggageTier(3, new BigDecimal("40"))), 3);
+        BigDecimal base = new BigDecimal("10.00");
+
+        assertEquals("Adult (10.00 EUR x 87.5% + 21%) = 10.59 EUR",
+                formatter.passengerPriceDescription(Passenger.Type.ADULT, rules, base, new BigDecimal("10.59"), "21"));
+        assertEquals("Child (10.00 EUR + 21%) = 12.10 EUR",
+                formatter.passengerPriceDescription(Passenger.Type.CHILD, rules, base, new BigDecimal("12.10"), "21"));
+        // The first bag is free and the fourth is over the cap, so no single per-bag rate applies
+        assertEquals("4 bags (10.00 EUR x 65% + 21%) = 7.87 EUR",
+                formatter.luggagePriceDescription(4, rules, base, new BigDecimal("7.87"), "21"));
+        assertEquals("One bag (1 x 10.00 EUR x 0% + 21%) = 0.00 EUR",
+                formatter.luggagePriceDescription(1, rules, base, new BigDecimal("0.00"), "21"));
+    }
+
+    @Test
+    void matches_legacy_formatting_for_edge_values() {
+        LegacyFormatter legacy = new LegacyFormatter();
+        List<String> values = List.of("0", "0.00", "0.005", "0.015", "0.025", "10.125", "10.135", "-0.001", "-1.5",
+                "1E+3", "12.5", "7", "0.1", "99999999999999.995", "123456789012345678901234.567");
+        List<String> taxes = List.of("21", "21.00", "12.50", "0", "-5", "0.01", "1E+1");
+        for (String value : values) {
+            for (String tax : taxes) {
+                BigDecimal amount = new BigDecimal(value);
+                BigDecimal percent = new BigDecimal(tax);
+                String display = percent.stripTrailingZeros().toPlainString();
+                assertEquals(legacy.passengerPriceDescription(ADULT, amount, amount, percent),
+                        formatter.passengerPriceDescription(ADULT.getType(), STANDARD, amount, amount, display));
+                assertEquals(legacy.passengerPriceDescription(CHILD, amount, amount, percent),
+                        formatter.passengerPriceDescription(CHILD.getType(), STANDARD, amount, amount, display));
+                assertEquals(legacy.luggagePriceDescription(3, amount, amount, percent),
+                        formatter.luggagePriceDescription(3, STANDARD, amount, amount, display));
+            }
+            assertEquals(legacy.totalDescription(new BigDecimal(value)), formatter.totalDescription(new BigDecimal(value)));
+        }
+        for (int count = 0; count <= 100; count++) {
+            assertEquals(legacy.luggageDescription(count + 1, count), formatter.luggageDescription(count + 1, count));
+            assertEquals(legacy.passengerDescription(count, CHILD), formatter.passengerDescription(count, CHILD));
+        }
+    }
+
+    @Test
+    void matches_legacy_formatting_in_other_locales() {
+        Locale original = Locale.getDefault(Locale.Category.FORMAT);
+        try {
+            for (Locale locale : List.of(Locale.GERMANY, Locale.forLanguageTag("lt-LT"), Locale.forLanguageTag("ar-SA"))) {
+                Locale.setDefault(Locale.Category.FORMAT, locale);
+                PriceDescriptionFormatter localized = new PriceDescriptionFormatter();
+                LegacyFormatter legacy = new LegacyFormatter();
+                BigDecimal amount = new BigDecimal("-1234.565");
+                assertEquals(legacy.luggagePriceDescription(12, amount, amount, BigDecimal.TEN),
+                        localized.luggagePriceDescription(12, STANDARD, amount, amount, "10"), locale.toString());
+                assertEquals(legacy.passengerDescription(42, ADULT), localized.passengerDescription(42, ADULT), locale.toString());
+                assertEquals(legacy.totalDescription(amount), localized.totalDescription(amount), locale.toString());
+            }
+        } finally {
+            Locale.setDefault(Locale.Category.FORMAT, original);
+        }
+    }
+
+    @Test
+    void compiles_templates_in_a_turkish_default_locale() {
+        Locale original = Locale.getDefault();
+        try {
+            // "i".toUpperCase() is a dotted capital I here, which no placeholder name matches
+            Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+            DescriptionTemplate template = DescriptionTemplate.compile(
+                    "{index} {type} {bags} {count} {base} {percent} {tax} {total}");
+
+            assertEquals(DescriptionTemplate.Slot.INDEX, template.slot(0));
+            assertEquals(DescriptionTemplate.Slot.TAX, template.slot(12));
+        } finally {
+            Locale.setDefault(original);
+        }
+    }
+
+    @Test
+    void produces_correct_output_under_concurrent_use() throws Exception {
+        int threads = 16;
+        int iterationsPerThread = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                long seed = t;
+                Callable<Integer> worker = () -> {
+                    LegacyFormatter legacy = new LegacyFormatter();
+                    Random random = new Random(seed);
+                    start.await();
+                    for (int i = 0; i < iterationsPerThread; i++) {
+                        BigDecimal base = BigDecimal.valueOf(random.nextInt(1_000_000), random.nextInt(4));
+                        BigDecimal withTax = BigDecimal.valueOf(random.nextInt(1_000_000), 2);
+                        BigDecimal tax = BigDecimal.valueOf(random.nextInt(3000), random.nextInt(3));
+                        String display = tax.stripTrailingZeros().toPlainString();
+                        int count = 1 + random.nextInt(100);
+                        Passenger passenger = random.nextBoolean() ? ADULT : CHILD;
+
+                        assertEquals(legacy.passengerPriceDescription(passenger, base, withTax, tax),
+                                formatter.passengerPriceDescription(passenger.getType(), STANDARD, base, withTax, display));
+                        assertEquals(legacy.luggagePriceDescription(count, base, withTax, tax),
+                                formatter.luggagePriceDescription(count, STANDARD, base, withTax, display));
+                        assertEquals(legacy.luggageDescription(i, count), formatter.luggageDescription(i, count));
+                        assertEquals(legacy.passengerDescription(i, passenger), formatter.passengerDescription(i, passenger));
+                        assertEquals(legacy.totalDescription(withTax), formatter.totalDescription(withTax));
+                    }
+                    return iterationsPerThread;
+                };
+                results.add(executor.submit(worker));
+            }
+            start.countDown();
+            for (Future<Integer> result : results) {
+                assertEquals(iterationsPerThread, result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * The String.format / DecimalFormat implementation the formatter replaced. Not shared between
+     * threads, since DecimalFormat is not thread-safe.
+     */
+    private static final class LegacyFormatter {
+
+        private final DecimalFormat decimalFormat = new DecimalFormat("0.00");
+
+        String passengerDescription(int index, Passenger passenger) {
+            return String.format("Passenger %d (%s)", index, passenger.getType().name());
+        }
+
+        String passengerPriceDescription(Passenger passenger, BigDecimal base, BigDecimal withTax, BigDecimal taxPercentSum) {
+            if (passenger.getType() == Passenger.Type.ADULT) {
+                return String.format("Adult (%s EUR + %s%%) = %s EUR",
+                        decimalFormat.format(base), taxPercentSum.stripTrailingZeros().toPlainString(), decimalFormat.format(withTax));
+            }
+            return String.format("Child (%s EUR x 50%% + %s%%) = %s EUR",
+                    decimalFormat.format(base), taxPercentSum.stripTrailingZeros().toPlainString(), decimalFormat.format(withTax));
+        }
+
+        String luggageDescription(int passengerIndex, int count) {
+            return String.format("Luggage for passenger %d (%s)", passengerIndex, LuggageDescriptionUtil.describe(count));
+        }
+
+        String luggagePriceDescription(int count, BigDecimal base, BigDecimal withTax, BigDecimal taxPercentSum) {
+            return String.format("%s (%d x %s EUR x 30%% + %s%%) = %s EUR",
+                    LuggageDescriptionUtil.describe(count), count, decimalFormat.format(base),
+                    taxPercentSum.stripTrailingZeros().toPlainString(), decimalFormat.format(withTax));
+        }
+
+        String totalDescription(BigDecimal total) {
+            return decimalFormat.format(total) + " EUR";
+        }
+    }
+}
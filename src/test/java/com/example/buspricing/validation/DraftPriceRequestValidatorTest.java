@@ -0,0 +1,98 @@
+package com.example.buspricing.validation;
+
+import com.example.buspricing.controller.request.DraftPriceRequest;
+import com.example.buspricing.controller.request.Passenger;
+import com.example.buspricing.controller.response.ApiError;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Differential test: the hand-written validator must report exactly what Bean Validation reports
+ * for the constraints declared on the request classes.
+ */
+class DraftPriceRequestValidatorTest {
+
+    private static final String[] ROUTES = {null, "", " ", "\t\n", "\u0001", "\u2003", " Vilnius ", "Vilnius, Lithuania"};
+
+    private final DraftPriceRequestValidator validator = new DraftPriceRequestValidator();
+    private final Validator beanValidator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Test
+    void reports_same_errors_as_bean_validation() {
+        Random random = new Random(42);
+        for (int i = 0; i < 5_000; i++) {
+            DraftPriceRequest request = randomRequest(random);
+            assertEquals(beanValidation(request), new HashSet<>(validator.validate(request)), request::toString);
+        }
+    }
+
+    @Test
+    void valid_request_has_no_errors() {
+        DraftPriceRequest request = DraftPriceRequest.builder()
+                .route("Vilnius, Lithuania")
+                .passengers(List.of(
+                        Passenger.builder().type(Passenger.Type.ADULT).luggageCount(0).build(),
+                        Passenger.builder().type(Passenger.Type.CHILD).luggageCount(100).build()))
+                .build();
+
+        assertTrue(validator.validate(request).isEmpty());
+    }
+
+    @Test
+    void reports_field_paths_and_messages() {
+        DraftPriceRequest request = DraftPriceRequest.builder()
+                .route(" ")
+                .passengers(List.of(
+                        Passenger.builder().type(Passenger.Type.ADULT).luggageCount(-1).build(),
+                        Passenger.builder().luggageCount(101).build()))
+                .build();
+
+        assertEquals(List.of(
+                new ApiError.FieldErrorItem("route", "Route must not be blank", " "),
+                new ApiError.FieldErrorItem("passengers[0].luggageCount", "Luggage count must be greater than or equal to 0", -1),
+                new ApiError.FieldErrorItem("passengers[1].type", "Passenger type is required", null),
+                new ApiError.FieldErrorItem("passengers[1].luggageCount", "Luggage count must be less than or equal to 100", 101)),
+                validator.validate(request));
+    }
+
+    @Test
+    void reports_null_request() {
+        assertEquals(List.of(new ApiError.FieldErrorItem("request", "request must not be null", null)),
+                validator.validate(null));
+    }
+
+        private Set<ApiError.FieldErrorItem> beanValidation(DraftPriceRequest request) {
+        Set<ApiError.FieldErrorItem> errors = new HashSet<>();
+        beanValidator.validate(request).forEach(violation -> errors.add(new ApiError.FieldErrorItem(
+                violation.getPropertyPath().toString(), violation.getMessage(), violation.getInvalidValue())));
+        return errors;
+    }
+
+    private static DraftPriceRequest randomRequest(Random random) {
+        List<Passenger> passengers = null;
+        int size = random.nextInt(6) - 1;
+        if (size >= 0) {
+            passengers = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                passengers.add(random.nextInt(20) == 0 ? null : Passenger.builder()
+                        .type(random.nextInt(5) == 0 ? null : Passenger.Type.values()[random.nextInt(2)])
+                        .luggageCount(random.nextInt(4) == 0 ? random.nextInt(220) - 110 : random.nextInt(3))
+                        .build());
+            }
+        }
+        return DraftPriceRequest.builder()
+                .route(ROUTES[random.nextInt(ROUTES.length)])
+                .passengers(passengers)
+                .build();
+    }
+}